@@ -0,0 +1,102 @@
+package com.identityx.api.benchmark;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import com.identityx.api.auth.constants.AuthConstants;
+import com.identityx.api.auth.filter.JWTTokenValidatorFilter;
+import com.identityx.api.auth.security.AuthenticationMode;
+import com.identityx.api.auth.security.IJwtTokenProvider;
+import com.identityx.api.auth.security.OpaqueTokenProvider;
+import com.identityx.api.auth.service.IAccessTokenRevocationService;
+import com.identityx.api.auth.web.dto.AppUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-request validation cost of the access-token formats, measured through
+ * {@link JWTTokenValidatorFilter} with claims-only authentication. {@code jwt} verifies the
+ * signature on every request, {@code jwt-cached} hits the verified-token cache and {@code opaque}
+ * resolves a handle through a table preloaded with {@value #LIVE_TOKENS} sessions. The cookie
+ * sizes are logged at setup.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AccessTokenFormatBenchmark {
+
+  private static final int LIVE_TOKENS = 100_000;
+
+  @Param({"jwt", "jwt-cached", "opaque"})
+  public String tokenFormat;
+
+  private JWTTokenValidatorFilter filter;
+  private Cookie tokenCookie;
+
+  @Setup
+  public void setUp() {
+    AppUserDetails appUserDetails = new AppUserDetails(BenchmarkFixtures.sampleUser());
+    IJwtTokenProvider tokenProvider = switch (tokenFormat) {
+      case "jwt" -> BenchmarkFixtures.newJwtTokenProvider(false);
+      case "jwt-cached" -> BenchmarkFixtures.newJwtTokenProvider(true);
+      case "opaque" -> {
+        OpaqueTokenProvider opaqueTokenProvider = BenchmarkFixtures.newOpaqueTokenProvider();
+        for (int i = 0; i < LIVE_TOKENS; i++) {
+          opaqueTokenProvider.generateJwtToken(appUserDetails);
+        }
+        yield opaqueTokenProvider;
+      }
+      default -> throw new IllegalArgumentException(tokenFormat);
+    };
+
+    filter = new JWTTokenValidatorFilter(tokenProvider, username -> appUserDetails,
+        AuthenticationMode.CLAIMS_ONLY, new IAccessTokenRevocationService() {
+
+          @Override
+          public void revoke(String tokenId, Instant expiresAt) {}
+
+          @Override
+          public boolean isRevoked(String tokenId) {
+            return false;
+          }
+        }, new SimpleMeterRegistry());
+    String token = tokenProvider.generateJwtToken(appUserDetails);
+    tokenCookie = new Cookie(AuthConstants.AUTHORIZATION_COOKIE, token);
+    log.info("{} cookie value: {} bytes", tokenFormat, token.length());
+  }
+
+  @Benchmark
+  public int doFilter() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/addresses");
+    request.setServletPath("/api/addresses");
+    request.setCookies(tokenCookie);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    try {
+      filter.doFilter(request, response, new MockFilterChain());
+      return response.getStatus();
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.identityx.api.benchmark;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+import com.identityx.api.address.model.Address;
+import com.identityx.api.address.model.AddressType;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.auth.security.JwtTokenProvider;
+import com.identityx.api.auth.security.OpaqueTokenProvider;
+import com.identityx.api.auth.security.SigningAlgorithm;
+import com.identityx.api.auth.security.SigningKeyMaterial;
+import com.identityx.api.auth.security.SigningKeyRing;
+import com.identityx.api.auth.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+final class BenchmarkFixtures {
+
+  static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+  static final long EXPIRATION_MS = 360_000L;
+
+  private BenchmarkFixtures() {}
+
+  static JwtTokenProvider newJwtTokenProvider(boolean cacheEnabled) {
+    return newJwtTokenProvider(SigningAlgorithm.HS256, cacheEnabled);
+  }
+
+  static JwtTokenProvider newJwtTokenProvider(SigningAlgorithm algorithm, boolean cacheEnabled) {
+    Clock clock = Clock.systemUTC();
+    SigningKeyRing signingKeyRing = new SigningKeyRing(algorithm, SECRET, "", clock);
+    if (algorithm.isAsymmetric()) {
+      signingKeyRing.install(List.of(SigningKeyMaterial.generate(algorithm, clock.instant())),
+          clock.instant());
+    }
+    VerifiedTokenCache verifiedTokenCache =
+        new VerifiedTokenCache(cacheEnabled, 10_000, clock, new SimpleMeterRegistry());
+    return new JwtTokenProvider(signingKeyRing, EXPIRATION_MS, false, clock, verifiedTokenCache,
+        new SimpleMeterRegistry());
+  }
+
+  static OpaqueTokenProvider newOpaqueTokenProvider() {
+    return new OpaqueTokenProvider(64, 1_000, 4_096, false, 10_000, 100_000, EXPIRATION_MS, null,
+        Clock.systemUTC(), new SimpleMeterRegistry());
+  }
+
+  static AppUser sampleUser() {
+    AppUser appUser = new AppUser();
+    appUser.setId(1L);
+    appUser.setUserId(UUID.randomUUID());
+    appUser.setUsername("benchmark.user");
+    appUser.setEmail("benchmark.user@identityx.dev");
+    appUser.setFirstName("Benchmark");
+    appUser.setLastName("User");
+    appUser.setPassword("{noop}password");
+    return appUser;
+  }
+
+  static Address sampleAddress(AppUser appUser) {
+    Address address = new Address();
+    address.setType(AddressType.HOME);
+    address.setStreet("1 Benchmark Street");
+    address.setCity("Pune");
+    address.setState("MH");
+    address.setPostalCode("411001");
+    address.setCountry("India");
+    address.setPhoneNumber("+910000000000");
+    address.setIsPrimary(true);
+    address.setAppUser(appUser);
+    return address;
+  }
+}
@@ -0,0 +1,114 @@
+package com.identityx.api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.identityx.api.IdentityXApiApplication;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Inserts users with two addresses each in one transaction, with JDBC batching off
+ * ({@code batch_size=1}) and on. Ids come from pooled sequences either way, so the difference is
+ * the number of statements sent. The statements and users of each iteration are reported as the
+ * {@code preparedStatements} and {@code users} secondary results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+  private static final int USERS_PER_INVOCATION = 1_000;
+  private static final int ADDRESSES_PER_USER = 2;
+
+  @Param({"1", "50"})
+  public int jdbcBatchSize;
+
+  private final AtomicLong sequence = new AtomicLong();
+  private ConfigurableApplicationContext context;
+  private AppUserRepository appUserRepository;
+  private TransactionTemplate transactionTemplate;
+  private Statistics statistics;
+
+  /** Summed per iteration; statements per user is {@code preparedStatements / users}. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class InsertCounters {
+
+    public long preparedStatements;
+    public long users;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      preparedStatements = 0;
+      users = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(IdentityXApiApplication.class)
+        .web(WebApplicationType.NONE).logStartupInfo(false)
+        .properties("jwt.secret.key=" + BenchmarkFixtures.SECRET, "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+            "spring.jpa.properties.hibernate.generate_statistics=true", "logging.level.root=WARN")
+        .run();
+    appUserRepository = context.getBean(AppUserRepository.class);
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+    statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+        .getStatistics();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int insertUsersWithAddresses(InsertCounters counters) {
+    List<AppUser> users = new ArrayList<>(USERS_PER_INVOCATION);
+    for (int i = 0; i < USERS_PER_INVOCATION; i++) {
+      long n = sequence.incrementAndGet();
+      AppUser appUser = BenchmarkFixtures.sampleUser();
+      appUser.setId(null);
+      appUser.setUserId(UUID.randomUUID());
+      appUser.setUsername("bulk.user" + n);
+      appUser.setEmail("bulk.user" + n + "@identityx.dev");
+      for (int j = 0; j < ADDRESSES_PER_USER; j++) {
+        appUser.getAddresses().add(BenchmarkFixtures.sampleAddress(appUser));
+      }
+      users.add(appUser);
+    }
+    long statementsBefore = statistics.getPrepareStatementCount();
+    int saved = transactionTemplate.execute(status -> appUserRepository.saveAll(users)).size();
+    counters.preparedStatements += statistics.getPrepareStatementCount() - statementsBefore;
+    counters.users += saved;
+    return saved;
+  }
+}
@@ -0,0 +1,101 @@
+package com.identityx.api.benchmark;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.server.authorization.client.InMemoryRegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import com.identityx.api.auth.security.IPasswordHasher;
+import com.identityx.api.auth.service.ClientCredentialsService;
+import com.identityx.api.auth.web.dto.TokenResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A client asking for a token on every call. With caching on, repeated calls are answered from
+ * the verified-secret and issued-token caches; with caching off, every call hashes the secret and
+ * signs a new token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ClientCredentialsBenchmark {
+
+  private static final String CLIENT_ID = "benchmark-client";
+  private static final String CLIENT_SECRET = "benchmark-client-secret";
+
+  @Param({"true", "false"})
+  public boolean cacheEnabled;
+
+  private ClientCredentialsService clientCredentialsService;
+
+  @Setup
+  public void setUp() {
+    BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
+    RegisteredClient client = RegisteredClient.withId(UUID.randomUUID().toString())
+        .clientId(CLIENT_ID).clientSecret(passwordEncoder.encode(CLIENT_SECRET))
+        .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS).scope("users.read")
+        .build();
+    StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+        Map.of("registeredClientRepository", new InMemoryRegisteredClientRepository(client)));
+
+    IPasswordHasher passwordHasher = new IPasswordHasher() {
+
+      @Override
+      public String encode(CharSequence rawPassword) {
+        return passwordEncoder.encode(rawPassword);
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordEncoder.matches(rawPassword, encodedPassword);
+      }
+
+      @Override
+      public CompletableFuture<String> encodeInBackground(CharSequence rawPassword) {
+        return CompletableFuture.completedFuture(passwordEncoder.encode(rawPassword));
+      }
+
+      @Override
+      public boolean upgradeEncoding(String encodedPassword) {
+        return false;
+      }
+    };
+
+    // A zero secret TTL and a reuse margin longer than the token lifetime disable both caches.
+    clientCredentialsService = new ClientCredentialsService(
+        beanFactory.getBeanProvider(RegisteredClientRepository.class), passwordHasher,
+        BenchmarkFixtures.newJwtTokenProvider(false), Clock.systemUTC(),
+        cacheEnabled ? 60_000 : 0, cacheEnabled ? 30_000 : Long.MAX_VALUE / 2, 1_000,
+        new SimpleMeterRegistry());
+  }
+
+  @Benchmark
+  public TokenResponse issueToken() {
+    return clientCredentialsService.issueToken("client_credentials", CLIENT_ID, CLIENT_SECRET,
+        ClientAuthenticationMethod.CLIENT_SECRET_BASIC, "users.read");
+  }
+}
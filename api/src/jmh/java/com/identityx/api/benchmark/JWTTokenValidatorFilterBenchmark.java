@@ -0,0 +1,99 @@
+package com.identityx.api.benchmark;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import com.identityx.api.auth.constants.AuthConstants;
+import com.identityx.api.auth.filter.JWTTokenValidatorFilter;
+import com.identityx.api.auth.security.AccessTokenDenylist;
+import com.identityx.api.auth.security.AuthenticationMode;
+import com.identityx.api.auth.security.JwtTokenProvider;
+import com.identityx.api.auth.service.IAccessTokenRevocationService;
+import com.identityx.api.auth.web.dto.AppUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * End-to-end cost of {@link JWTTokenValidatorFilter} for one authenticated request. The user
+ * lookup is an in-memory stub so the numbers exclude database time. The revocation check runs
+ * against a denylist already holding {@value #REVOKED_TOKENS} unrelated token ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTTokenValidatorFilterBenchmark {
+
+  private static final int REVOKED_TOKENS = 10_000;
+
+  @Param({"CLAIMS_ONLY", "USER_LOOKUP"})
+  public AuthenticationMode authenticationMode;
+
+  @Param({"true", "false"})
+  public boolean tokenCacheEnabled;
+
+  private JWTTokenValidatorFilter filter;
+  private Cookie tokenCookie;
+
+  @Setup
+  public void setUp() {
+    JwtTokenProvider jwtTokenProvider = BenchmarkFixtures.newJwtTokenProvider(tokenCacheEnabled);
+    AppUserDetails appUserDetails = new AppUserDetails(BenchmarkFixtures.sampleUser());
+    UserDetailsService userDetailsService = username -> appUserDetails;
+    filter = new JWTTokenValidatorFilter(jwtTokenProvider, userDetailsService, authenticationMode,
+        newRevocationService(), new SimpleMeterRegistry());
+    tokenCookie = new Cookie(AuthConstants.AUTHORIZATION_COOKIE,
+        jwtTokenProvider.generateJwtToken(appUserDetails));
+  }
+
+  private static IAccessTokenRevocationService newRevocationService() {
+    AccessTokenDenylist denylist = new AccessTokenDenylist(100_000, 0.01);
+    for (int i = 0; i < REVOKED_TOKENS; i++) {
+      denylist.add(UUID.randomUUID().toString(), Long.MAX_VALUE);
+    }
+    return new IAccessTokenRevocationService() {
+
+      @Override
+      public void revoke(String tokenId, Instant expiresAt) {
+        denylist.add(tokenId, expiresAt.toEpochMilli());
+      }
+
+      @Override
+      public boolean isRevoked(String tokenId) {
+        return denylist.contains(tokenId, System.currentTimeMillis());
+      }
+    };
+  }
+
+  @Benchmark
+  public int doFilter() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/addresses");
+    request.setServletPath("/api/addresses");
+    request.setCookies(tokenCookie);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    try {
+      filter.doFilter(request, response, new MockFilterChain());
+      return response.getStatus();
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.identityx.api.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import com.identityx.api.auth.security.JwtTokenProvider;
+import com.identityx.api.auth.web.dto.AppUserDetails;
+import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Compares the prebuilt key/parser pipeline in {@link JwtTokenProvider} with the previous
+ * implementation, which derived the key and rebuilt the parser on every call, and measures the
+ * verified-token cache hit path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class JwtTokenProviderBenchmark {
+
+  private JwtTokenProvider jwtTokenProvider;
+  private JwtTokenProvider cachingJwtTokenProvider;
+  private AppUserDetails appUserDetails;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtTokenProvider = BenchmarkFixtures.newJwtTokenProvider(false);
+    cachingJwtTokenProvider = BenchmarkFixtures.newJwtTokenProvider(true);
+    appUserDetails = new AppUserDetails(BenchmarkFixtures.sampleUser());
+    token = jwtTokenProvider.generateJwtToken(appUserDetails);
+  }
+
+  @Benchmark
+  public String generatePrebuilt() {
+    return jwtTokenProvider.generateJwtToken(appUserDetails);
+  }
+
+  @Benchmark
+  public ValidateJWTTokenResponse validatePrebuilt() {
+    return jwtTokenProvider.validateJwtToken(token);
+  }
+
+  @Benchmark
+  public ValidateJWTTokenResponse validateCached() {
+    return cachingJwtTokenProvider.validateJwtToken(token);
+  }
+
+  @Benchmark
+  public String generatePerCall() {
+    SecretKey secretKey =
+        Keys.hmacShaKeyFor(BenchmarkFixtures.SECRET.getBytes(StandardCharsets.UTF_8));
+    return Jwts.builder().issuer("IdentityX").subject(appUserDetails.getUserId().toString())
+        .claim("username", appUserDetails.getUsername()).claim("authorities", List.of())
+        .issuedAt(new Date())
+        .expiration(new Date(new Date().getTime() + BenchmarkFixtures.EXPIRATION_MS))
+        .signWith(secretKey).compact();
+  }
+
+  @Benchmark
+  public boolean validatePerCall() {
+    SecretKey secretKey =
+        Keys.hmacShaKeyFor(BenchmarkFixtures.SECRET.getBytes(StandardCharsets.UTF_8));
+    Claims claims =
+        Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+    return claims.getSubject() != null && claims.get("username") != null
+        && !claims.getExpiration().before(new Date()) && "IdentityX".equals(claims.getIssuer())
+        && claims.get("authorities") != null;
+  }
+}
@@ -0,0 +1,100 @@
+package com.identityx.api.benchmark;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.identityx.api.address.mapper.AddressMapper;
+import com.identityx.api.address.model.Address;
+import com.identityx.api.address.web.dto.AddressReqRes;
+import com.identityx.api.appuser.mapper.AppUserMapper;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.web.dto.AppUserInfoResponse;
+import com.identityx.api.appuser.web.dto.RegisterAppUser;
+import com.identityx.api.appuser.web.dto.RegisterAppUserRes;
+import com.identityx.api.auth.mapper.AuthMapper;
+import com.identityx.api.auth.web.dto.AppUserDetails;
+import com.identityx.api.auth.web.dto.LoginResponse;
+import com.identityx.api.auth.web.dto.RefreshTokenResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+  private AppUser appUser;
+  private RegisterAppUser registerAppUser;
+  private Address address;
+  private AddressReqRes addressReqRes;
+  private AppUserDetails appUserDetails;
+  private Instant refreshTokenExpiry;
+  private UUID sessionId;
+
+  @Setup
+  public void setUp() {
+    appUser = BenchmarkFixtures.sampleUser();
+    registerAppUser = new RegisterAppUser();
+    registerAppUser.setUsername(appUser.getUsername());
+    registerAppUser.setPassword("password");
+    registerAppUser.setEmail(appUser.getEmail());
+    registerAppUser.setFirstName(appUser.getFirstName());
+    registerAppUser.setLastName(appUser.getLastName());
+    address = BenchmarkFixtures.sampleAddress(appUser);
+    addressReqRes = AddressMapper.toAddressReqRes(address);
+    appUserDetails = new AppUserDetails(appUser);
+    refreshTokenExpiry = Instant.now();
+    sessionId = UUID.randomUUID();
+  }
+
+  @Benchmark
+  public AppUser mapToAppUser() {
+    return AppUserMapper.mapToAppUser(registerAppUser);
+  }
+
+  @Benchmark
+  public RegisterAppUserRes mapToRegisterAppUser() {
+    return AppUserMapper.mapToRegisterAppUser(appUser);
+  }
+
+  @Benchmark
+  public AppUserInfoResponse mapToAppUserInfoResponse() {
+    return AppUserMapper.mapToAppUserInfoResponse(appUser);
+  }
+
+  @Benchmark
+  public AddressReqRes toAddressReqRes() {
+    return AddressMapper.toAddressReqRes(address);
+  }
+
+  @Benchmark
+  public Address toAddress() {
+    Address target = new Address();
+    AddressMapper.toAddress(addressReqRes, target);
+    return target;
+  }
+
+  @Benchmark
+  public LoginResponse toLoginResponse() {
+    LoginResponse loginResponse = new LoginResponse();
+    AuthMapper.toLoginResponse(appUserDetails, loginResponse);
+    return loginResponse;
+  }
+
+  @Benchmark
+  public RefreshTokenResponse toRefreshTokenResponse() {
+    return AuthMapper.toRefreshTokenResponse("benchmark-refresh-token", sessionId,
+        refreshTokenExpiry);
+  }
+}
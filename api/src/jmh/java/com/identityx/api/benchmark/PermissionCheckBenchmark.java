@@ -0,0 +1,73 @@
+package com.identityx.api.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.identityx.api.auth.security.PermissionAuthority;
+import com.identityx.api.role.model.Permission;
+import com.identityx.api.role.model.PermissionSet;
+
+/**
+ * A permission check against the bitset authority, next to the same check over one string
+ * authority per permission. The claim benchmarks compare rebuilding each form from a token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+  private Collection<GrantedAuthority> bitsetAuthorities;
+  private Collection<GrantedAuthority> stringAuthorities;
+  private String encodedPermissions;
+  private List<String> permissionNames;
+
+  @Setup
+  public void setUp() {
+    PermissionSet permissions = PermissionSet.of(Permission.values());
+    bitsetAuthorities = List.of(new PermissionAuthority(permissions));
+    permissionNames = permissions.toPermissions().stream().map(Permission::name).toList();
+    stringAuthorities =
+        permissionNames.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    encodedPermissions = permissions.encode();
+  }
+
+  @Benchmark
+  public boolean checkBitset() {
+    return PermissionAuthority.permissionsOf(bitsetAuthorities).contains(Permission.ROLE_WRITE);
+  }
+
+  @Benchmark
+  public boolean checkStrings() {
+    for (GrantedAuthority authority : stringAuthorities) {
+      if (Permission.ROLE_WRITE.name().equals(authority.getAuthority())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Benchmark
+  public PermissionSet decodeBitsetClaim() {
+    return PermissionSet.decode(encodedPermissions);
+  }
+
+  @Benchmark
+  public List<GrantedAuthority> decodeStringClaim() {
+    return permissionNames.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+  }
+}
@@ -0,0 +1,50 @@
+package com.identityx.api.benchmark;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.identityx.api.auth.security.RefreshTokenProvider;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshTokenProviderBenchmark {
+
+  private RefreshTokenProvider refreshTokenProvider;
+
+  @Setup
+  public void setUp() {
+    refreshTokenProvider = new RefreshTokenProvider();
+    ReflectionTestUtils.setField(refreshTokenProvider, "refreshTokenDurationMs", 86_400_000L);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return refreshTokenProvider.generateToken();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String generateTokenContended() {
+    return refreshTokenProvider.generateToken();
+  }
+
+  @Benchmark
+  public Instant generateExpiryDate() {
+    return refreshTokenProvider.generateExpiryDate();
+  }
+}
@@ -0,0 +1,123 @@
+package com.identityx.api.benchmark;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.identityx.api.IdentityXApiApplication;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserRepository;
+import com.identityx.api.auth.security.TokenDigests;
+import com.identityx.api.auth.store.IRefreshTokenStore;
+import com.identityx.api.auth.store.RefreshTokenRecord;
+
+/**
+ * Throughput of the refresh-token store backends behind the same {@link IRefreshTokenStore}
+ * calls the refresh and login paths make. Each trial boots the application without a web server,
+ * so the JPA numbers include Hibernate and the embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RefreshTokenStoreBenchmark {
+
+  private static final int USERS = 1_000;
+  private static final int SESSIONS_PER_USER = 5;
+  // Leaves room for one in-flight login per benchmark thread, so no preloaded session is evicted.
+  private static final int SESSION_CAP = SESSIONS_PER_USER + 4;
+
+  @Param({"memory", "jpa"})
+  public String storeType;
+
+  private ConfigurableApplicationContext context;
+  private IRefreshTokenStore store;
+  private AppUser[] users;
+  private byte[][] tokenHashes;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(IdentityXApiApplication.class)
+        .web(WebApplicationType.NONE).logStartupInfo(false)
+        .properties("jwt.secret.key=" + BenchmarkFixtures.SECRET,
+            "jwt.refresh.store.type=" + storeType, "spring.jpa.show-sql=false",
+            "logging.level.root=WARN")
+        .run();
+    store = context.getBean(IRefreshTokenStore.class);
+    AppUserRepository appUserRepository = context.getBean(AppUserRepository.class);
+
+    users = new AppUser[USERS];
+    tokenHashes = new byte[USERS * SESSIONS_PER_USER][];
+    Instant expiryDate = Instant.now().plus(1, ChronoUnit.DAYS);
+    for (int i = 0; i < USERS; i++) {
+      AppUser appUser = BenchmarkFixtures.sampleUser();
+      appUser.setId(null);
+      appUser.setUsername("benchmark.user" + i);
+      appUser.setEmail("benchmark.user" + i + "@identityx.dev");
+      users[i] = appUserRepository.save(appUser);
+      for (int j = 0; j < SESSIONS_PER_USER; j++) {
+        byte[] tokenHash = TokenDigests.sha256(UUID.randomUUID().toString());
+        tokenHashes[i * SESSIONS_PER_USER + j] = tokenHash;
+        store.save(newRecord(users[i], tokenHash, expiryDate), SESSIONS_PER_USER);
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Optional<RefreshTokenRecord> findByTokenHash() {
+    return store.findByTokenHash(randomTokenHash());
+  }
+
+  @Benchmark
+  public void touch() {
+    store.touch(randomTokenHash(), Instant.now());
+  }
+
+  /** A login followed by a logout, which keeps the store at a steady size. */
+  @Benchmark
+  public void saveAndRevoke() {
+    AppUser appUser = users[ThreadLocalRandom.current().nextInt(USERS)];
+    byte[] tokenHash = TokenDigests.sha256(UUID.randomUUID().toString());
+    store.save(newRecord(appUser, tokenHash, Instant.now().plus(1, ChronoUnit.DAYS)),
+        SESSION_CAP);
+    store.revokeByTokenHash(tokenHash);
+  }
+
+  private byte[] randomTokenHash() {
+    return tokenHashes[ThreadLocalRandom.current().nextInt(tokenHashes.length)];
+  }
+
+  private static RefreshTokenRecord newRecord(AppUser appUser, byte[] tokenHash,
+      Instant expiryDate) {
+    return new RefreshTokenRecord(tokenHash, UUID.randomUUID(), appUser.getId(),
+        appUser.getUserId(), appUser.getUsername(), appUser.getEmail(), "benchmark",
+        LocalDateTime.now(), Instant.now(), expiryDate);
+  }
+}
@@ -0,0 +1,57 @@
+package com.identityx.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import com.identityx.api.auth.security.JwtTokenProvider;
+import com.identityx.api.auth.security.SigningAlgorithm;
+import com.identityx.api.auth.web.dto.AppUserDetails;
+import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
+
+/**
+ * Cost of issuing and verifying an access token with each {@code jwt.signing.algorithm}. The
+ * verified-token cache is off, so every validation checks the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class SigningAlgorithmBenchmark {
+
+  @Param({"HS256", "ES256", "EDDSA"})
+  public SigningAlgorithm algorithm;
+
+  private JwtTokenProvider jwtTokenProvider;
+  private AppUserDetails appUserDetails;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtTokenProvider = BenchmarkFixtures.newJwtTokenProvider(algorithm, false);
+    appUserDetails = new AppUserDetails(BenchmarkFixtures.sampleUser());
+    token = jwtTokenProvider.generateJwtToken(appUserDetails);
+  }
+
+  @Benchmark
+  public String sign() {
+    return jwtTokenProvider.generateJwtToken(appUserDetails);
+  }
+
+  @Benchmark
+  public ValidateJWTTokenResponse verify() {
+    return jwtTokenProvider.validateJwtToken(token);
+  }
+}
@@ -1,6 +1,7 @@
 package com.identityx.api.address.repo;
 
 import java.util.List;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import com.identityx.api.address.model.Address;
@@ -8,5 +9,5 @@ import com.identityx.api.address.model.Address;
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
 
-  List<Address> findByAppUserId(Long appUserId);
+  List<Address> findByAppUser_UserId(UUID userId);
 }
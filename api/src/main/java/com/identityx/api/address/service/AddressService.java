@@ -1,6 +1,7 @@
 package com.identityx.api.address.service;
 
 import java.util.List;
+import java.util.UUID;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import com.identityx.api.address.mapper.AddressMapper;
@@ -18,16 +19,16 @@ public class AddressService implements IAddressService {
   private final IAppUserService appUserService;
 
   @Override
-  public List<AddressReqRes> getAddressesByAppUserId(Long appUserId) {
-    List<Address> addresses = addressRepository.findByAppUserId(appUserId);
+  public List<AddressReqRes> getAddressesByUserId(UUID userId) {
+    List<Address> addresses = addressRepository.findByAppUser_UserId(userId);
     return addresses.stream().map(AddressMapper::toAddressReqRes).toList();
   }
 
   @Override
-  public AddressReqRes createAddress(@NonNull Long appUserId, AddressReqRes addressReqRes) {
+  public AddressReqRes createAddress(@NonNull UUID userId, AddressReqRes addressReqRes) {
     Address address = new Address();
     AddressMapper.toAddress(addressReqRes, address);
-    address.setAppUser(appUserService.getAppUserById(appUserId));
+    address.setAppUser(appUserService.getAppUserByUserId(userId));
     Address savedAddress = addressRepository.save(address);
     return AddressMapper.toAddressReqRes(savedAddress);
   }
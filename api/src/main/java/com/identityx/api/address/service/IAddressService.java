@@ -1,12 +1,13 @@
 package com.identityx.api.address.service;
 
 import java.util.List;
+import java.util.UUID;
 import org.springframework.lang.NonNull;
 import com.identityx.api.address.web.dto.AddressReqRes;
 
 public interface IAddressService {
 
-  List<AddressReqRes> getAddressesByAppUserId(Long appUserId);
+  List<AddressReqRes> getAddressesByUserId(UUID userId);
 
-  AddressReqRes createAddress(@NonNull Long appUserId, AddressReqRes addressReqRes);
+  AddressReqRes createAddress(@NonNull UUID userId, AddressReqRes addressReqRes);
 }
@@ -1,6 +1,7 @@
 package com.identityx.api.address.web;
 
 import java.util.List;
+import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -27,8 +28,8 @@ public class AddressController {
   public ResponseEntity<AppResponse<List<AddressReqRes>>> getAddresses(
       Authentication authentication) {
     AppUserDetails appUserDetails = (AppUserDetails) authentication.getPrincipal();
-    Long appUserId = appUserDetails.getId() == null ? 0L : appUserDetails.getId();
-    List<AddressReqRes> addresses = addressService.getAddressesByAppUserId(appUserId);
+    List<AddressReqRes> addresses =
+        addressService.getAddressesByUserId(appUserDetails.getUserId());
     AppResponse<List<AddressReqRes>> response =
         new AppResponse<>(HttpStatus.OK, addresses, "Addresses retrieved successfully");
     return ResponseEntity.status(HttpStatus.OK).body(response);
@@ -38,8 +39,8 @@ public class AddressController {
   public ResponseEntity<AppResponse<AddressReqRes>> createAddress(Authentication authentication,
       @RequestBody AddressReqRes addressReqRes) {
     AppUserDetails appUserDetails = (AppUserDetails) authentication.getPrincipal();
-    Long appUserId = appUserDetails.getId() == null ? 0L : appUserDetails.getId();
-    AddressReqRes createdAddress = addressService.createAddress(appUserId, addressReqRes);
+    UUID userId = appUserDetails.getUserId();
+    AddressReqRes createdAddress = addressService.createAddress(userId, addressReqRes);
     AppResponse<AddressReqRes> response =
         new AppResponse<>(HttpStatus.CREATED, createdAddress, "Address created successfully");
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
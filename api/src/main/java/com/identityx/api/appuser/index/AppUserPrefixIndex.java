@@ -0,0 +1,153 @@
+package com.identityx.api.appuser.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.identityx.api.common.bloom.BloomFilter;
+
+/**
+ * In-memory index of usernames and emails for availability checks and prefix search. Values are
+ * compared exactly, case included, the same way the {@code app_user} unique constraints and login
+ * lookups compare them.
+ *
+ * <p>
+ * Most entries live in two {@link PackedSortedStrings}. New entries go to small concurrent sets
+ * first and are merged into fresh packed arrays once there are {@code mergeThreshold} of them, or
+ * an eighth of the index if that is more, so inserts cost amortized copying rather than a rebuild.
+ * A bloom filter over both kinds of keys answers most "not taken" checks without a binary search;
+ * it is rebuilt on merge once the index outgrows it.
+ *
+ * <p>
+ * Readers look at the pending sets before the packed arrays. A merge publishes the new arrays
+ * before it removes their entries from the pending sets, so an entry is always visible in one of
+ * the two.
+ */
+public final class AppUserPrefixIndex {
+
+  private static final String USERNAME_KEY = "u:";
+  private static final String EMAIL_KEY = "e:";
+
+  private final long expectedInsertions;
+  private final double falsePositiveProbability;
+  private final int mergeThreshold;
+  private final NavigableSet<String> pendingUsernames = new ConcurrentSkipListSet<>();
+  private final NavigableSet<String> pendingEmails = new ConcurrentSkipListSet<>();
+  // ConcurrentSkipListSet.size() walks the whole set.
+  private final AtomicInteger pendingCount = new AtomicInteger();
+  private volatile PackedSortedStrings usernames = PackedSortedStrings.EMPTY;
+  private volatile PackedSortedStrings emails = PackedSortedStrings.EMPTY;
+  private volatile BloomFilter bloomFilter;
+  private long bloomCapacity;
+
+  public AppUserPrefixIndex(long expectedInsertions, double falsePositiveProbability,
+      int mergeThreshold) {
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveProbability = falsePositiveProbability;
+    this.mergeThreshold = mergeThreshold;
+    this.bloomCapacity = expectedInsertions;
+    this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+  }
+
+  public void add(String username, String email) {
+    boolean added = pendingUsernames.add(username);
+    pendingEmails.add(email);
+    bloomFilter.put(USERNAME_KEY + username);
+    bloomFilter.put(EMAIL_KEY + email);
+    if (added && pendingCount.incrementAndGet() >= Math.max(mergeThreshold,
+        usernames.size() >>> 3)) {
+      merge();
+    }
+  }
+
+  public boolean containsUsername(String username) {
+    return contains(USERNAME_KEY, username, pendingUsernames, usernames);
+  }
+
+  public boolean containsEmail(String email) {
+    return contains(EMAIL_KEY, email, pendingEmails, emails);
+  }
+
+  /** Returns up to {@code limit} indexed usernames starting with {@code prefix}, sorted. */
+  public List<String> usernamesStartingWith(String prefix, int limit) {
+    return startingWith(prefix, limit, pendingUsernames, usernames);
+  }
+
+  /** Returns up to {@code limit} indexed emails starting with {@code prefix}, sorted. */
+  public List<String> emailsStartingWith(String prefix, int limit) {
+    return startingWith(prefix, limit, pendingEmails, emails);
+  }
+
+  /** Moves pending entries into new packed arrays. */
+  public synchronized void merge() {
+    List<String> mergedUsernames = new ArrayList<>(pendingUsernames);
+    List<String> mergedEmails = new ArrayList<>(pendingEmails);
+    if (mergedUsernames.isEmpty() && mergedEmails.isEmpty()) {
+      return;
+    }
+
+    PackedSortedStrings newUsernames = usernames.merge(mergedUsernames);
+    PackedSortedStrings newEmails = emails.merge(mergedEmails);
+    usernames = newUsernames;
+    emails = newEmails;
+
+    long keys = (long) newUsernames.size() + newEmails.size();
+    if (keys > bloomCapacity) {
+      // The old filter holds every key until the swap, only with more false positives.
+      bloomCapacity = Math.max(expectedInsertions, keys * 2);
+      BloomFilter rebuilt = new BloomFilter(bloomCapacity, falsePositiveProbability);
+      newUsernames.forEach(username -> rebuilt.put(USERNAME_KEY + username));
+      newEmails.forEach(email -> rebuilt.put(EMAIL_KEY + email));
+      bloomFilter = rebuilt;
+      // Entries added while the new filter was being built.
+      pendingUsernames.forEach(username -> rebuilt.put(USERNAME_KEY + username));
+      pendingEmails.forEach(email -> rebuilt.put(EMAIL_KEY + email));
+    }
+    pendingUsernames.removeAll(mergedUsernames);
+    pendingEmails.removeAll(mergedEmails);
+    pendingCount.addAndGet(-mergedUsernames.size());
+  }
+
+  public int size() {
+    return usernames.size() + pendingCount.get();
+  }
+
+  /**
+   * Approximate heap held by the index. Pending entries are counted as a skip-list node plus a
+   * Latin-1 string each.
+   */
+  public long estimatedBytes() {
+    long pendingBytes = 0;
+    for (String value : pendingUsernames) {
+      pendingBytes += 96 + value.length();
+    }
+    for (String value : pendingEmails) {
+      pendingBytes += 96 + value.length();
+    }
+    return usernames.estimatedBytes() + emails.estimatedBytes() + pendingBytes
+        + bloomFilter.bitCount() / 8;
+  }
+
+  private boolean contains(String keyPrefix, String value, NavigableSet<String> pending,
+      PackedSortedStrings packed) {
+    if (!bloomFilter.mightContain(keyPrefix + value)) {
+      return false;
+    }
+    return pending.contains(value) || packed.contains(value);
+  }
+
+  private static List<String> startingWith(String prefix, int limit,
+      NavigableSet<String> pending, PackedSortedStrings packed) {
+    TreeSet<String> matches = new TreeSet<>();
+    for (String value : pending.tailSet(prefix, true)) {
+      if (!value.startsWith(prefix) || matches.size() == limit) {
+        break;
+      }
+      matches.add(value);
+    }
+    packed.collectWithPrefix(prefix, limit, matches);
+    return matches.stream().limit(limit).toList();
+  }
+}
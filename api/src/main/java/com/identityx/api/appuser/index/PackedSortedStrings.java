@@ -0,0 +1,126 @@
+package com.identityx.api.appuser.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable sorted set of strings packed into one UTF-8 byte array plus an offset table, so each
+ * entry costs its encoded length and four bytes instead of a {@code String} and its backing array.
+ * Entries are ordered by their unsigned UTF-8 bytes, which is code point order, and looked up by
+ * binary search.
+ */
+final class PackedSortedStrings {
+
+  static final PackedSortedStrings EMPTY = new PackedSortedStrings(new byte[0], new int[] {0});
+
+  private final byte[] data;
+  // offsets[i] is where entry i starts; offsets[size] is data.length.
+  private final int[] offsets;
+
+  private PackedSortedStrings(byte[] data, int[] offsets) {
+    this.data = data;
+    this.offsets = offsets;
+  }
+
+  int size() {
+    return offsets.length - 1;
+  }
+
+  boolean contains(String value) {
+    byte[] key = value.getBytes(StandardCharsets.UTF_8);
+    int index = lowerBound(key);
+    return index < size()
+        && Arrays.equals(data, offsets[index], offsets[index + 1], key, 0, key.length);
+  }
+
+  /** Adds up to {@code limit} entries starting with {@code prefix} to {@code out}, in order. */
+  void collectWithPrefix(String prefix, int limit, Collection<String> out) {
+    byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+    for (int i = lowerBound(key), found = 0; i < size() && found < limit; i++, found++) {
+      int start = offsets[i];
+      int length = offsets[i + 1] - start;
+      if (length < key.length || !Arrays.equals(data, start, start + key.length, key, 0,
+          key.length)) {
+        return;
+      }
+      out.add(new String(data, start, length, StandardCharsets.UTF_8));
+    }
+  }
+
+  void forEach(Consumer<String> action) {
+    for (int i = 0; i < size(); i++) {
+      action.accept(new String(data, offsets[i], offsets[i + 1] - offsets[i],
+          StandardCharsets.UTF_8));
+    }
+  }
+
+  /** Returns a new set holding these entries and {@code additions}, merged in one pass. */
+  PackedSortedStrings merge(Collection<String> additions) {
+    byte[][] added = additions.stream().map(value -> value.getBytes(StandardCharsets.UTF_8))
+        .sorted(Arrays::compareUnsigned).toArray(byte[][]::new);
+    int addedBytes = 0;
+    for (byte[] value : added) {
+      addedBytes += value.length;
+    }
+
+    byte[] mergedData = new byte[data.length + addedBytes];
+    int[] mergedOffsets = new int[size() + added.length + 1];
+    int count = 0;
+    int position = 0;
+    int i = 0;
+    int j = 0;
+    byte[] previous = null;
+    while (i < size() || j < added.length) {
+      int comparison = i == size() ? 1
+          : j == added.length ? -1
+              : Arrays.compareUnsigned(data, offsets[i], offsets[i + 1], added[j], 0,
+                  added[j].length);
+      if (comparison <= 0) {
+        int length = offsets[i + 1] - offsets[i];
+        System.arraycopy(data, offsets[i], mergedData, position, length);
+        mergedOffsets[count++] = position;
+        position += length;
+        previous = comparison == 0 ? added[j++] : null;
+        i++;
+      } else {
+        // Additions may repeat each other or an existing entry; keep the first copy only.
+        if (previous == null || !Arrays.equals(previous, added[j])) {
+          System.arraycopy(added[j], 0, mergedData, position, added[j].length);
+          mergedOffsets[count++] = position;
+          position += added[j].length;
+        }
+        previous = added[j];
+        j++;
+      }
+    }
+    mergedOffsets[count] = position;
+    return new PackedSortedStrings(Arrays.copyOf(mergedData, position),
+        Arrays.copyOf(mergedOffsets, count + 1));
+  }
+
+  static PackedSortedStrings of(List<String> values) {
+    return EMPTY.merge(values);
+  }
+
+  /** Heap used by the two arrays, including their 16-byte headers. */
+  long estimatedBytes() {
+    return 16L + data.length + 16L + 4L * offsets.length;
+  }
+
+  private int lowerBound(byte[] key) {
+    int low = 0;
+    int high = size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Arrays.compareUnsigned(data, offsets[mid], offsets[mid + 1], key, 0, key.length) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -2,6 +2,7 @@ package com.identityx.api.appuser.mapper;
 
 import java.util.UUID;
 import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserSearchRow;
 import com.identityx.api.appuser.web.dto.AppUserInfoResponse;
 import com.identityx.api.appuser.web.dto.RegisterAppUser;
 import com.identityx.api.appuser.web.dto.RegisterAppUserRes;
@@ -45,4 +46,16 @@ public final class AppUserMapper {
     return response;
   }
 
+  public static AppUserInfoResponse mapToAppUserInfoResponse(AppUserSearchRow row) {
+    AppUserInfoResponse response = new AppUserInfoResponse();
+
+    response.setUserId(row.userId());
+    response.setUsername(row.username());
+    response.setEmail(row.email());
+    response.setFirstName(row.firstName());
+    response.setLastName(row.lastName());
+    response.setMiddleName(row.middleName());
+    return response;
+  }
+
 }
@@ -6,9 +6,14 @@ import java.util.Set;
 import java.util.UUID;
 import com.identityx.api.address.model.Address;
 import com.identityx.api.common.model.BaseEntity;
+import com.identityx.api.role.model.Role;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -17,7 +22,11 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "app_user")
+// username and email are covered by their unique constraints.
+@Table(name = "app_user",
+    indexes = {@Index(name = "idx_app_user_first_name_id", columnList = "first_name, id"),
+        @Index(name = "idx_app_user_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_app_user_created_at", columnList = "created_at")})
 public class AppUser extends BaseEntity {
 
   @Column(name = "user_id", nullable = false, unique = true, length = 500)
@@ -43,4 +52,9 @@ public class AppUser extends BaseEntity {
 
   @OneToMany(mappedBy = "appUser", cascade = CascadeType.ALL)
   private Set<Address> addresses = new HashSet<>();
+
+  @ManyToMany
+  @JoinTable(name = "app_user_role", joinColumns = @JoinColumn(name = "app_user_id"),
+      inverseJoinColumns = @JoinColumn(name = "role_id"))
+  private Set<Role> roles = new HashSet<>();
 }
@@ -0,0 +1,15 @@
+package com.identityx.api.appuser.repo;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import com.identityx.api.address.model.AddressType;
+
+/**
+ * One row of the user export query: a user joined with one of its addresses, or with nulls in
+ * the address columns when it has none. Rows of the same user are adjacent.
+ */
+public record AppUserExportRow(Long id, UUID userId, String username, String email,
+    String firstName, String middleName, String lastName, LocalDateTime createdAt,
+    AddressType addressType, String street, String city, String state, String postalCode,
+    String country, String phoneNumber, Boolean isPrimary) {
+}
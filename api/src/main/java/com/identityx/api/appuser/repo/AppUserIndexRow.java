@@ -0,0 +1,5 @@
+package com.identityx.api.appuser.repo;
+
+/** The columns the in-memory username and email index is built from. */
+public record AppUserIndexRow(Long id, String username, String email) {
+}
@@ -1,18 +1,42 @@
 package com.identityx.api.appuser.repo;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.identityx.api.appuser.model.AppUser;
 
 
 @Repository
-public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+public interface AppUserRepository
+    extends JpaRepository<AppUser, Long>, AppUserSearchRepository {
 
   Optional<AppUser> findByUsername(String username);
 
   Optional<AppUser> findByUserId(UUID userId);
 
   Optional<AppUser> findByUsernameOrEmail(String username, String email);
+
+  List<AppUser> findAllByUsernameIn(Collection<String> usernames);
+
+  @Query("select u.username from AppUser u where u.username in :usernames")
+  Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+  @Query("select u.email from AppUser u where u.email in :emails")
+  Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  @Query("select new com.identityx.api.appuser.repo.AppUserIndexRow(u.id, u.username, u.email)"
+      + " from AppUser u where u.id > :afterId order by u.id")
+  List<AppUserIndexRow> findIndexRows(@Param("afterId") long afterId, Limit limit);
+
+  @Query("select new com.identityx.api.appuser.repo.AppUserIndexRow(u.id, u.username, u.email)"
+      + " from AppUser u where u.createdAt >= :since")
+  List<AppUserIndexRow> findIndexRowsCreatedSince(@Param("since") LocalDateTime since);
 }
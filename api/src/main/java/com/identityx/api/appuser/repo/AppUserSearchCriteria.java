@@ -0,0 +1,8 @@
+package com.identityx.api.appuser.repo;
+
+/**
+ * Prefix filters of the admin user search. Blank values are ignored; {@code name} matches the
+ * first or the last name.
+ */
+public record AppUserSearchCriteria(String username, String email, String name) {
+}
@@ -0,0 +1,12 @@
+package com.identityx.api.appuser.repo;
+
+import java.util.List;
+
+public interface AppUserSearchRepository {
+
+  /**
+   * Returns up to {@code limit} users matching {@code criteria} with an id greater than
+   * {@code afterId}, in id order. Pass {@code null} to start from the beginning.
+   */
+  List<AppUserSearchRow> search(AppUserSearchCriteria criteria, Long afterId, int limit);
+}
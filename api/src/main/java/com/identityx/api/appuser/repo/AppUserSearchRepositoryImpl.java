@@ -0,0 +1,82 @@
+package com.identityx.api.appuser.repo;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.identityx.api.appuser.model.AppUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Seek pagination over {@code app_user}: each page starts after the last id of the previous one
+ * instead of counting past an offset. Only the projected columns are selected.
+ *
+ * <p>
+ * Without filters a page is a primary-key range scan of {@code size} rows, wherever it starts.
+ * With a prefix filter the database reads the prefix's range of the matching {@code (column, id)}
+ * index instead, checks {@code id > after} from the index entries alone, and sorts what is left
+ * by id; a page then costs the number of rows sharing the prefix, not the page size. The name
+ * filter reads two such ranges, one per column. Filters are case-sensitive so {@code LIKE 'x%'}
+ * can use these indexes at all; short prefixes on large tables stay expensive.
+ */
+class AppUserSearchRepositoryImpl implements AppUserSearchRepository {
+
+  private static final char LIKE_ESCAPE = '\\';
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<AppUserSearchRow> search(AppUserSearchCriteria criteria, Long afterId,
+      int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<AppUserSearchRow> query = cb.createQuery(AppUserSearchRow.class);
+    Root<AppUser> appUser = query.from(AppUser.class);
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (afterId != null) {
+      predicates.add(cb.greaterThan(appUser.get("id"), afterId));
+    }
+    if (hasText(criteria.username())) {
+      predicates.add(startsWith(cb, appUser.get("username"), criteria.username()));
+    }
+    if (hasText(criteria.email())) {
+      predicates.add(startsWith(cb, appUser.get("email"), criteria.email()));
+    }
+    if (hasText(criteria.name())) {
+      predicates.add(cb.or(startsWith(cb, appUser.get("firstName"), criteria.name()),
+          startsWith(cb, appUser.get("lastName"), criteria.name())));
+    }
+
+    query.select(cb.construct(AppUserSearchRow.class, appUser.get("id"), appUser.get("userId"),
+        appUser.get("username"), appUser.get("email"), appUser.get("firstName"),
+        appUser.get("middleName"), appUser.get("lastName")))
+        .where(predicates.toArray(Predicate[]::new)).orderBy(cb.asc(appUser.get("id")));
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  private static Predicate startsWith(CriteriaBuilder cb, Expression<String> column,
+      String prefix) {
+    return cb.like(column, escapeLike(prefix.trim()) + "%", LIKE_ESCAPE);
+  }
+
+  private static String escapeLike(String value) {
+    StringBuilder escaped = new StringBuilder(value.length() + 4);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+        escaped.append(LIKE_ESCAPE);
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.isBlank();
+  }
+}
@@ -0,0 +1,8 @@
+package com.identityx.api.appuser.repo;
+
+import java.util.UUID;
+
+/** The columns of {@code AppUserInfoResponse}, plus the id the search pages on. */
+public record AppUserSearchRow(Long id, UUID userId, String username, String email,
+    String firstName, String middleName, String lastName) {
+}
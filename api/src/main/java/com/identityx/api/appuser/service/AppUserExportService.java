@@ -0,0 +1,111 @@
+package com.identityx.api.appuser.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.identityx.api.appuser.repo.AppUserExportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams the user base as NDJSON. Users and addresses are read with a single forward-only
+ * query into {@link AppUserExportRow} projections, fetched from the cursor
+ * {@code app-user.export.fetch-size} rows at a time. Projections never enter the persistence
+ * context, so there is nothing to detach, and each user is written to the output as soon as its
+ * last address row has been read. Heap use does not grow with the number of users.
+ */
+@Slf4j
+@Service
+public class AppUserExportService implements IAppUserExportService {
+
+  private static final String EXPORT_QUERY = """
+      select new com.identityx.api.appuser.repo.AppUserExportRow(u.id, u.userId, u.username,
+          u.email, u.firstName, u.middleName, u.lastName, u.createdAt, a.type, a.street, a.city,
+          a.state, a.postalCode, a.country, a.phoneNumber, a.isPrimary)
+      from AppUser u left join u.addresses a
+      order by u.id, a.id""";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final ObjectMapper objectMapper;
+  private final int fetchSize;
+
+  public AppUserExportService(ObjectMapper objectMapper,
+      @Value("${app-user.export.fetch-size:500}") int fetchSize) {
+    this.objectMapper = objectMapper;
+    this.fetchSize = fetchSize;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportUsers(OutputStream out) throws IOException {
+    long exported = 0;
+    try (Stream<AppUserExportRow> rows = entityManager
+        .createQuery(EXPORT_QUERY, AppUserExportRow.class)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(HibernateHints.HINT_READ_ONLY, true).getResultStream();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+      Iterator<AppUserExportRow> iterator = rows.iterator();
+      AppUserExportRow row = iterator.hasNext() ? iterator.next() : null;
+      while (row != null) {
+        Long userId = row.id();
+        writeUserStart(generator, row);
+        do {
+          if (row.addressType() != null || row.street() != null) {
+            writeAddress(generator, row);
+          }
+          row = iterator.hasNext() ? iterator.next() : null;
+        } while (row != null && userId.equals(row.id()));
+        generator.writeEndArray();
+        generator.writeEndObject();
+        exported++;
+      }
+      generator.writeRaw('\n');
+    }
+    log.info("Exported {} users", exported);
+  }
+
+  private static void writeUserStart(JsonGenerator generator, AppUserExportRow row)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("userId", row.userId().toString());
+    generator.writeStringField("username", row.username());
+    generator.writeStringField("email", row.email());
+    generator.writeStringField("firstName", row.firstName());
+    generator.writeStringField("middleName", row.middleName());
+    generator.writeStringField("lastName", row.lastName());
+    generator.writeStringField("createdAt",
+        row.createdAt() != null ? row.createdAt().toString() : null);
+    generator.writeArrayFieldStart("addresses");
+  }
+
+  private static void writeAddress(JsonGenerator generator, AppUserExportRow row)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("type",
+        row.addressType() != null ? row.addressType().name() : null);
+    generator.writeStringField("street", row.street());
+    generator.writeStringField("city", row.city());
+    generator.writeStringField("state", row.state());
+    generator.writeStringField("postalCode", row.postalCode());
+    generator.writeStringField("country", row.country());
+    generator.writeStringField("phoneNumber", row.phoneNumber());
+    if (row.isPrimary() != null) {
+      generator.writeBooleanField("isPrimary", row.isPrimary());
+    }
+    generator.writeEndObject();
+  }
+}
@@ -0,0 +1,311 @@
+package com.identityx.api.appuser.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.identityx.api.appuser.mapper.AppUserMapper;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserRepository;
+import com.identityx.api.appuser.web.dto.ImportRowError;
+import com.identityx.api.appuser.web.dto.ImportUsersResponse;
+import com.identityx.api.appuser.web.dto.RegisterAppUser;
+import com.identityx.api.role.service.IRoleService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers users in bulk from an NDJSON or CSV body. The body is read line by line, so memory
+ * is bounded by the chunk size and the maximum line length rather than the upload. Each chunk is
+ * checked for existing usernames and emails with two queries, its passwords are hashed in
+ * parallel, and it is saved in one transaction that Hibernate sends as JDBC batches. Duplicates
+ * within the upload are only looked for inside a chunk; a row repeating one from an earlier chunk
+ * fails the existence check, because that chunk has been committed by then.
+ *
+ * <p>Hashing runs on its own bounded pool instead of the login hashing pool, so an import slows
+ * logins down but never makes them fail with 503. When the pool is saturated the importing thread
+ * hashes too, which throttles the upload.
+ *
+ * <p>No invalidation is published: nothing caches users that did not exist yet.
+ */
+@Slf4j
+@Service
+public class AppUserImportService implements IAppUserImportService, DisposableBean {
+
+  private final AppUserRepository appUserRepository;
+  private final IRoleService roleService;
+  private final IAppUserIndexService appUserIndexService;
+  private final PasswordEncoder passwordEncoder;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+  private final ObjectReader rowReader;
+  private final ThreadPoolExecutor hashingExecutor;
+  private final int chunkSize;
+  private final int maxLineLength;
+  private final int maxReportedErrors;
+
+  public AppUserImportService(AppUserRepository appUserRepository, IRoleService roleService,
+      IAppUserIndexService appUserIndexService, PasswordEncoder passwordEncoder,
+      TransactionTemplate transactionTemplate, Validator validator, ObjectMapper objectMapper,
+      @Value("${app-user.import.hashing.threads:0}") int threads,
+      @Value("${app-user.import.chunk-size:500}") int chunkSize,
+      @Value("${app-user.import.max-line-length:8192}") int maxLineLength,
+      @Value("${app-user.import.max-reported-errors:1000}") int maxReportedErrors) {
+    this.appUserRepository = appUserRepository;
+    this.roleService = roleService;
+    this.appUserIndexService = appUserIndexService;
+    this.passwordEncoder = passwordEncoder;
+    this.transactionTemplate = transactionTemplate;
+    this.validator = validator;
+    this.rowReader = objectMapper.readerFor(RegisterAppUser.class);
+    this.chunkSize = chunkSize;
+    this.maxLineLength = maxLineLength;
+    this.maxReportedErrors = maxReportedErrors;
+
+    // Half the processors by default, leaving the rest for logins and request handling.
+    int poolSize =
+        threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger threadCount = new AtomicInteger();
+    this.hashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(chunkSize), runnable -> {
+          Thread thread =
+              new Thread(runnable, "user-import-hasher-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  @Override
+  public ImportUsersResponse importUsers(InputStream body, ImportFormat format)
+      throws IOException {
+    long startNanos = System.nanoTime();
+    ImportRun run = new ImportRun();
+    BoundedLineReader reader =
+        new BoundedLineReader(new InputStreamReader(body, StandardCharsets.UTF_8), maxLineLength);
+
+    List<String> header = null;
+    long lineNumber = 0;
+    if (format == ImportFormat.CSV) {
+      String headerLine = reader.readLine();
+      lineNumber++;
+      if (headerLine == null) {
+        return run.toResponse(startNanos);
+      }
+      if (reader.isOverlong()) {
+        throw new IllegalStateException(
+            "CSV header is longer than " + maxLineLength + " characters");
+      }
+      header = CsvRecords.parseLine(headerLine.strip()).stream()
+          .map(name -> name.strip().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    List<PendingRow> chunk = new ArrayList<>(chunkSize);
+    Set<String> chunkUsernames = new HashSet<>();
+    Set<String> chunkEmails = new HashSet<>();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      run.received++;
+      if (reader.isOverlong()) {
+        run.fail(lineNumber, null, "Row is longer than " + maxLineLength + " characters");
+        continue;
+      }
+
+      RegisterAppUser row;
+      try {
+        row = header == null ? rowReader.readValue(line) : fromCsv(header, line);
+      } catch (IOException | IllegalArgumentException e) {
+        run.fail(lineNumber, null, "Row could not be parsed: " + e.getMessage());
+        continue;
+      }
+
+      String error = validate(row);
+      if (error == null && chunkUsernames.contains(row.getUsername())) {
+        error = "Username " + row.getUsername() + " appears earlier in the import";
+      } else if (error == null && chunkEmails.contains(row.getEmail())) {
+        error = "Email " + row.getEmail() + " appears earlier in the import";
+      }
+      if (error != null) {
+        run.fail(lineNumber, row.getUsername(), error);
+        continue;
+      }
+      chunkUsernames.add(row.getUsername());
+      chunkEmails.add(row.getEmail());
+
+      chunk.add(new PendingRow(lineNumber, row));
+      if (chunk.size() == chunkSize) {
+        importChunk(chunk, run);
+        chunk.clear();
+        chunkUsernames.clear();
+        chunkEmails.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      importChunk(chunk, run);
+    }
+
+    ImportUsersResponse response = run.toResponse(startNanos);
+    log.info("Imported {} of {} users in {} ms", response.getImported(), response.getReceived(),
+        response.getDurationMs());
+    return response;
+  }
+
+  @Override
+  public void destroy() {
+    hashingExecutor.shutdownNow();
+  }
+
+  private void importChunk(List<PendingRow> chunk, ImportRun run) {
+    Set<String> existingUsernames = appUserRepository.findExistingUsernames(
+        chunk.stream().map(row -> row.user().getUsername()).toList());
+    Set<String> existingEmails = appUserRepository
+        .findExistingEmails(chunk.stream().map(row -> row.user().getEmail()).toList());
+
+    List<PendingRow> accepted = new ArrayList<>(chunk.size());
+    for (PendingRow row : chunk) {
+      if (existingUsernames.contains(row.user().getUsername())) {
+        run.fail(row.line(), row.user().getUsername(),
+            "User with username " + row.user().getUsername() + " already exists");
+      } else if (existingEmails.contains(row.user().getEmail())) {
+        run.fail(row.line(), row.user().getUsername(),
+            "User with email " + row.user().getEmail() + " already exists");
+      } else {
+        accepted.add(row);
+      }
+    }
+    if (accepted.isEmpty()) {
+      return;
+    }
+
+    List<CompletableFuture<String>> hashes = accepted.stream()
+        .map(row -> CompletableFuture.supplyAsync(
+            () -> passwordEncoder.encode(row.user().getPassword()), hashingExecutor))
+        .toList();
+    List<PendingRow> hashed = new ArrayList<>(accepted.size());
+    List<AppUser> appUsers = new ArrayList<>(accepted.size());
+    for (int i = 0; i < accepted.size(); i++) {
+      PendingRow row = accepted.get(i);
+      String passwordHash;
+      try {
+        passwordHash = hashes.get(i).join();
+      } catch (CompletionException e) {
+        log.error("Failed to hash the password on import line {}", row.line(), e.getCause());
+        run.fail(row.line(), row.user().getUsername(), "Password could not be hashed");
+        continue;
+      }
+      AppUser appUser = AppUserMapper.mapToAppUser(row.user());
+      appUser.setPassword(passwordHash);
+      hashed.add(row);
+      appUsers.add(appUser);
+    }
+    if (appUsers.isEmpty()) {
+      return;
+    }
+    roleService.applyDefaultRoles(appUsers);
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> appUserRepository.saveAll(appUsers));
+      appUserIndexService.addAll(appUsers);
+      run.imported += appUsers.size();
+    } catch (DataIntegrityViolationException e) {
+      // Someone registered one of these users since the check; find it one row at a time.
+      for (int i = 0; i < appUsers.size(); i++) {
+        AppUser appUser = appUsers.get(i);
+        appUser.setId(null);
+        try {
+          transactionTemplate.executeWithoutResult(status -> appUserRepository.save(appUser));
+          appUserIndexService.addAll(List.of(appUser));
+          run.imported++;
+        } catch (DataIntegrityViolationException rowException) {
+          run.fail(hashed.get(i).line(), appUser.getUsername(),
+              "Username or email already exists");
+        }
+      }
+    }
+  }
+
+  private String validate(RegisterAppUser row) {
+    Set<ConstraintViolation<RegisterAppUser>> violations = validator.validate(row);
+    return violations.isEmpty() ? null
+        : violations.stream().map(ConstraintViolation::getMessage).sorted()
+            .collect(Collectors.joining("; "));
+  }
+
+  private static RegisterAppUser fromCsv(List<String> header, String line) {
+    List<String> fields = CsvRecords.parseLine(line);
+    if (fields.size() != header.size()) {
+      throw new IllegalArgumentException(
+          "expected " + header.size() + " fields but found " + fields.size());
+    }
+    RegisterAppUser row = new RegisterAppUser();
+    for (int i = 0; i < fields.size(); i++) {
+      String value = fields.get(i).isEmpty() ? null : fields.get(i);
+      switch (header.get(i)) {
+        case "username" -> row.setUsername(value);
+        case "password" -> row.setPassword(value);
+        case "email" -> row.setEmail(value);
+        case "firstname" -> row.setFirstName(value);
+        case "lastname" -> row.setLastName(value);
+        default -> {
+          // Unknown columns are ignored, like unknown JSON fields.
+        }
+      }
+    }
+    return row;
+  }
+
+  private record PendingRow(long line, RegisterAppUser user) {}
+
+  private final class ImportRun {
+
+    final List<ImportRowError> errors = new ArrayList<>();
+    long received;
+    long imported;
+    long failed;
+
+    void fail(long line, String username, String message) {
+      failed++;
+      if (errors.size() < maxReportedErrors) {
+        errors.add(new ImportRowError(line, username, message));
+      }
+    }
+
+    ImportUsersResponse toResponse(long startNanos) {
+      long elapsedNanos = System.nanoTime() - startNanos;
+      ImportUsersResponse response = new ImportUsersResponse();
+      response.setReceived(received);
+      response.setImported(imported);
+      response.setFailed(failed);
+      response.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+      response.setRowsPerSecond(
+          elapsedNanos == 0 ? 0 : received * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+      response.setErrors(errors);
+      response.setErrorsTruncated(failed > errors.size());
+      return response;
+    }
+  }
+}
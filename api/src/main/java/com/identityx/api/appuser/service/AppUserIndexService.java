@@ -0,0 +1,127 @@
+package com.identityx.api.appuser.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.identityx.api.appuser.index.AppUserPrefixIndex;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserIndexRow;
+import com.identityx.api.appuser.repo.AppUserRepository;
+import com.identityx.api.appuser.web.dto.AutocompleteResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves username and email availability and typeahead from an {@link AppUserPrefixIndex}, so
+ * neither touches {@code app_user} per keystroke. The index is loaded page by page at startup.
+ * Users saved on this node are added once their transaction commits; users saved on other nodes are
+ * picked up
+ * by a periodic query for recently created users, so answers may lag by one refresh interval.
+ * Registration itself still relies on the unique constraints.
+ */
+@Slf4j
+@Service
+public class AppUserIndexService implements IAppUserIndexService, InitializingBean {
+
+  // Users created in a transaction that commits after a refresh started are caught by the next.
+  private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+  private final AppUserRepository appUserRepository;
+  // createdAt is stamped by JPA auditing in the system time zone.
+  private final Clock auditClock;
+  private final AppUserPrefixIndex index;
+  private final int pageSize;
+  private volatile LocalDateTime refreshedAt;
+
+  public AppUserIndexService(AppUserRepository appUserRepository, Clock clock,
+      @Value("${app-user.index.bloom.expected-insertions:100000}") long expectedInsertions,
+      @Value("${app-user.index.bloom.false-positive-probability:0.01}")
+      double falsePositiveProbability,
+      @Value("${app-user.index.merge-threshold:1024}") int mergeThreshold,
+      @Value("${app-user.index.page-size:10000}") int pageSize, MeterRegistry meterRegistry) {
+    this.appUserRepository = appUserRepository;
+    this.auditClock = clock.withZone(ZoneId.systemDefault());
+    this.index =
+        new AppUserPrefixIndex(expectedInsertions, falsePositiveProbability, mergeThreshold);
+    this.pageSize = pageSize;
+    Gauge.builder("identityx.user-index.entries", index, AppUserPrefixIndex::size)
+        .register(meterRegistry);
+    Gauge.builder("identityx.user-index.memory", index, AppUserPrefixIndex::estimatedBytes)
+        .baseUnit(BaseUnits.BYTES).register(meterRegistry);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    LocalDateTime startedAt = LocalDateTime.now(auditClock);
+    long afterId = 0;
+    List<AppUserIndexRow> rows;
+    do {
+      rows = appUserRepository.findIndexRows(afterId, Limit.of(pageSize));
+      rows.forEach(row -> index.add(row.username(), row.email()));
+      if (!rows.isEmpty()) {
+        afterId = rows.get(rows.size() - 1).id();
+      }
+    } while (rows.size() == pageSize);
+    index.merge();
+    refreshedAt = startedAt;
+    log.info("Indexed {} users using {} bytes", index.size(), index.estimatedBytes());
+  }
+
+  @Scheduled(fixedDelayString = "${app-user.index.refresh-interval-ms:60000}",
+      initialDelayString = "${app-user.index.refresh-interval-ms:60000}")
+  public void refresh() {
+    LocalDateTime startedAt = LocalDateTime.now(auditClock);
+    List<AppUserIndexRow> rows =
+        appUserRepository.findIndexRowsCreatedSince(refreshedAt.minus(REFRESH_OVERLAP));
+    rows.forEach(row -> index.add(row.username(), row.email()));
+    refreshedAt = startedAt;
+    log.debug("Refreshed user index with {} recent users; {} users using {} bytes", rows.size(),
+        index.size(), index.estimatedBytes());
+  }
+
+  @Override
+  public boolean isUsernameAvailable(String username) {
+    return !index.containsUsername(username);
+  }
+
+  @Override
+  public boolean isEmailAvailable(String email) {
+    return !index.containsEmail(email);
+  }
+
+  @Override
+  public AutocompleteResponse autocomplete(String prefix, int limit) {
+    AutocompleteResponse response = new AutocompleteResponse();
+    response.setUsernames(index.usernamesStartingWith(prefix, limit));
+    response.setEmails(index.emailsStartingWith(prefix, limit));
+    return response;
+  }
+
+  @Override
+  public void addAll(Collection<AppUser> appUsers) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      appUsers.forEach(appUser -> index.add(appUser.getUsername(), appUser.getEmail()));
+      return;
+    }
+    // A rolled-back user would otherwise stay "taken" until restart.
+    List<AppUser> added = List.copyOf(appUsers);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        added.forEach(appUser -> index.add(appUser.getUsername(), appUser.getEmail()));
+      }
+    });
+  }
+}
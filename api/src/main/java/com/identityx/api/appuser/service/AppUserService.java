@@ -1,18 +1,28 @@
 package com.identityx.api.appuser.service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.identityx.api.appuser.mapper.AppUserMapper;
 import com.identityx.api.appuser.model.AppUser;
 import com.identityx.api.appuser.repo.AppUserRepository;
+import com.identityx.api.appuser.repo.AppUserSearchCriteria;
+import com.identityx.api.appuser.repo.AppUserSearchRow;
 import com.identityx.api.appuser.web.dto.AppUserInfoResponse;
 import com.identityx.api.appuser.web.dto.RegisterAppUser;
 import com.identityx.api.appuser.web.dto.RegisterAppUserRes;
+import com.identityx.api.auth.security.IPasswordHasher;
+import com.identityx.api.common.dto.KeysetPage;
 import com.identityx.api.common.exception.UserAlreadyExistsException;
+import com.identityx.api.common.invalidation.InvalidationBus;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.role.service.IRoleService;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -20,7 +30,10 @@ import lombok.RequiredArgsConstructor;
 public class AppUserService implements IAppUserService {
 
   private final AppUserRepository appUserRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final IPasswordHasher passwordHasher;
+  private final InvalidationBus invalidationBus;
+  private final IRoleService roleService;
+  private final IAppUserIndexService appUserIndexService;
 
   @Override
   public RegisterAppUserRes registerAppUser(RegisterAppUser registerAppUser) {
@@ -42,9 +55,12 @@ public class AppUserService implements IAppUserService {
     }
 
     AppUser appUser = AppUserMapper.mapToAppUser(registerAppUser);
-    String encodedPassword = passwordEncoder.encode(registerAppUser.getPassword());
+    String encodedPassword = passwordHasher.encode(registerAppUser.getPassword());
     appUser.setPassword(encodedPassword);
+    roleService.applyDefaultRoles(List.of(appUser));
     AppUser savedAppUser = appUserRepository.save(appUser);
+    appUserIndexService.addAll(List.of(savedAppUser));
+    invalidationBus.publish(InvalidationEvent.userChanged(savedAppUser.getUsername()));
     return AppUserMapper.mapToRegisterAppUser(savedAppUser);
 
   }
@@ -76,4 +92,43 @@ public class AppUserService implements IAppUserService {
     Optional<AppUser> appUserOptional = appUserRepository.findById(id);
     return appUserOptional.orElseThrow(() -> new UsernameNotFoundException("User not found"));
   }
+
+  /**
+   * Returns a lazy reference for use as a foreign key; no select is issued.
+   */
+  @Override
+  public AppUser getAppUserReference(@NonNull Long id) {
+    return appUserRepository.getReferenceById(id);
+  }
+
+  @Override
+  @Transactional
+  public int updatePasswordHashes(List<PasswordHashUpdate> updates) {
+    Map<String, PasswordHashUpdate> updatesByUsername = updates.stream()
+        .collect(Collectors.toMap(PasswordHashUpdate::username, update -> update));
+
+    int updated = 0;
+    for (AppUser appUser : appUserRepository.findAllByUsernameIn(updatesByUsername.keySet())) {
+      PasswordHashUpdate update = updatesByUsername.get(appUser.getUsername());
+      if (update != null && update.expectedHash().equals(appUser.getPassword())) {
+        appUser.setPassword(update.newHash());
+        invalidationBus.publish(InvalidationEvent.userChanged(appUser.getUsername()));
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public KeysetPage<AppUserInfoResponse> searchAppUsers(AppUserSearchCriteria criteria,
+      Long after, int size) {
+    // One extra row tells whether another page follows without a count query.
+    List<AppUserSearchRow> rows = appUserRepository.search(criteria, after, size + 1);
+    boolean hasMore = rows.size() > size;
+    List<AppUserSearchRow> page = hasMore ? rows.subList(0, size) : rows;
+    Long nextAfter = hasMore ? page.get(page.size() - 1).id() : null;
+    return new KeysetPage<>(
+        page.stream().map(AppUserMapper::mapToAppUserInfoResponse).toList(), nextAfter);
+  }
 }
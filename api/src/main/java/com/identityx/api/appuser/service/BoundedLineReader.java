@@ -0,0 +1,79 @@
+package com.identityx.api.appuser.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads {@code \n} or {@code \r\n} terminated lines, keeping at most {@code maxLength} characters
+ * of each. The rest of a longer line is read and thrown away, so one huge line cannot grow the
+ * buffer the way {@link java.io.BufferedReader#readLine()} would; {@link #isOverlong()} reports it.
+ */
+final class BoundedLineReader {
+
+  private final Reader reader;
+  private final int maxLength;
+  private final char[] buffer = new char[8192];
+  private final StringBuilder line = new StringBuilder();
+  private int position;
+  private int limit;
+  private boolean overlong;
+
+  BoundedLineReader(Reader reader, int maxLength) {
+    this.reader = reader;
+    this.maxLength = maxLength;
+  }
+
+  /** Returns the next line without its terminator, or {@code null} at the end of the input. */
+  String readLine() throws IOException {
+    line.setLength(0);
+    overlong = false;
+    boolean read = false;
+    while (true) {
+      if (position == limit) {
+        limit = reader.read(buffer);
+        position = 0;
+        if (limit <= 0) {
+          limit = 0;
+          return read ? finish() : null;
+        }
+      }
+      read = true;
+      int start = position;
+      while (position < limit && buffer[position] != '\n') {
+        position++;
+      }
+      append(start, position);
+      if (position < limit) {
+        position++;
+        return finish();
+      }
+    }
+  }
+
+  /** Whether the last line returned was cut short at {@code maxLength} characters. */
+  boolean isOverlong() {
+    return overlong;
+  }
+
+  private void append(int start, int end) {
+    int room = maxLength + 1 - line.length();
+    int length = Math.min(end - start, Math.max(room, 0));
+    line.append(buffer, start, length);
+    if (length < end - start) {
+      overlong = true;
+    }
+  }
+
+  private String finish() {
+    // One extra character is kept so a trailing '\r' does not make a full-length line overlong.
+    int length = line.length();
+    if (length > 0 && line.charAt(length - 1) == '\r' && !overlong) {
+      line.setLength(--length);
+    }
+    if (length > maxLength) {
+      overlong = true;
+      line.setLength(maxLength);
+    }
+    return line.toString();
+  }
+}
@@ -0,0 +1,44 @@
+package com.identityx.api.appuser.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits one CSV line into fields. Fields may be quoted, with {@code ""} for a literal quote;
+ * quoted line breaks are not supported, so every record is a single line.
+ */
+final class CsvRecords {
+
+  private CsvRecords() {}
+
+  static List<String> parseLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
@@ -0,0 +1,10 @@
+package com.identityx.api.appuser.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IAppUserExportService {
+
+  /** Writes every user with its addresses to {@code out} as NDJSON, one user per line. */
+  void exportUsers(OutputStream out) throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.identityx.api.appuser.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import com.identityx.api.appuser.web.dto.ImportUsersResponse;
+
+public interface IAppUserImportService {
+
+  ImportUsersResponse importUsers(InputStream body, ImportFormat format) throws IOException;
+}
@@ -0,0 +1,17 @@
+package com.identityx.api.appuser.service;
+
+import java.util.Collection;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.web.dto.AutocompleteResponse;
+
+public interface IAppUserIndexService {
+
+  boolean isUsernameAvailable(String username);
+
+  boolean isEmailAvailable(String email);
+
+  AutocompleteResponse autocomplete(String prefix, int limit);
+
+  /** Indexes users saved on this node; users saved elsewhere are picked up by the refresh. */
+  void addAll(Collection<AppUser> appUsers);
+}
@@ -1,11 +1,14 @@
 package com.identityx.api.appuser.service;
 
+import java.util.List;
 import java.util.UUID;
 import org.springframework.lang.NonNull;
 import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserSearchCriteria;
 import com.identityx.api.appuser.web.dto.AppUserInfoResponse;
 import com.identityx.api.appuser.web.dto.RegisterAppUser;
 import com.identityx.api.appuser.web.dto.RegisterAppUserRes;
+import com.identityx.api.common.dto.KeysetPage;
 
 public interface IAppUserService {
 
@@ -19,4 +22,11 @@ public interface IAppUserService {
 
   AppUser getAppUserById(@NonNull Long id);
 
+  AppUser getAppUserReference(@NonNull Long id);
+
+  int updatePasswordHashes(List<PasswordHashUpdate> updates);
+
+  KeysetPage<AppUserInfoResponse> searchAppUsers(AppUserSearchCriteria criteria, Long after,
+      int size);
+
 }
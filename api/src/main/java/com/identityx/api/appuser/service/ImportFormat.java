@@ -0,0 +1,11 @@
+package com.identityx.api.appuser.service;
+
+/** Body formats accepted by the bulk user import. */
+public enum ImportFormat {
+
+  /** One JSON object per line, with the fields of a registration request. */
+  NDJSON,
+
+  /** A header line naming the registration fields, then one user per line. */
+  CSV
+}
@@ -0,0 +1,7 @@
+package com.identityx.api.appuser.service;
+
+/**
+ * Replaces {@code expectedHash} with {@code newHash}; skipped if the stored hash changed meanwhile.
+ */
+public record PasswordHashUpdate(String username, String expectedHash, String newHash) {
+}
@@ -0,0 +1,64 @@
+package com.identityx.api.appuser.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.identityx.api.appuser.service.IAppUserExportService;
+import com.identityx.api.appuser.service.IAppUserImportService;
+import com.identityx.api.appuser.service.ImportFormat;
+import com.identityx.api.appuser.web.dto.ImportUsersResponse;
+import com.identityx.api.common.dto.AppResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bulk user administration. The import needs {@code USER_IMPORT} and the export
+ * {@code USER_EXPORT}, both enforced in {@code SecurityConfig}.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/users")
+public class AppUserAdminController {
+
+  public static final String IMPORT_PATH = "/api/admin/users/import";
+  public static final String EXPORT_PATH = "/api/admin/users/export";
+  private static final String TEXT_CSV_VALUE = "text/csv";
+
+  private final IAppUserImportService appUserImportService;
+  private final IAppUserExportService appUserExportService;
+
+  @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<AppResponse<ImportUsersResponse>> importNdjson(InputStream body)
+      throws IOException {
+    return importUsers(body, ImportFormat.NDJSON);
+  }
+
+  @PostMapping(path = "/import", consumes = TEXT_CSV_VALUE)
+  public ResponseEntity<AppResponse<ImportUsersResponse>> importCsv(InputStream body)
+      throws IOException {
+    return importUsers(body, ImportFormat.CSV);
+  }
+
+  @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportUsers() {
+    StreamingResponseBody body = appUserExportService::exportUsers;
+    return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON)
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+        .body(body);
+  }
+
+  private ResponseEntity<AppResponse<ImportUsersResponse>> importUsers(InputStream body,
+      ImportFormat format) throws IOException {
+    ImportUsersResponse importUsersResponse = appUserImportService.importUsers(body, format);
+    AppResponse<ImportUsersResponse> response =
+        new AppResponse<>(HttpStatus.OK, importUsersResponse, "Users imported");
+    return ResponseEntity.status(HttpStatus.OK).body(response);
+  }
+}
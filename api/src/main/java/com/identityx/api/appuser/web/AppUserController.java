@@ -9,13 +9,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import com.identityx.api.appuser.repo.AppUserSearchCriteria;
+import com.identityx.api.appuser.service.IAppUserIndexService;
 import com.identityx.api.appuser.service.IAppUserService;
 import com.identityx.api.appuser.web.dto.AppUserInfoResponse;
+import com.identityx.api.appuser.web.dto.AutocompleteResponse;
+import com.identityx.api.appuser.web.dto.AvailabilityResponse;
 import com.identityx.api.appuser.web.dto.RegisterAppUser;
 import com.identityx.api.appuser.web.dto.RegisterAppUserRes;
 import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.common.dto.AppResponse;
+import com.identityx.api.common.dto.KeysetPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -26,7 +32,14 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/user")
 public class AppUserController {
 
+  public static final String SEARCH_PATH = "/api/user/search";
+  public static final String AVAILABILITY_PATH = "/api/user/availability";
+  public static final String AUTOCOMPLETE_PATH = "/api/user/autocomplete";
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final int MAX_SUGGESTIONS = 50;
+
   private final IAppUserService appUserService;
+  private final IAppUserIndexService appUserIndexService;
 
   @GetMapping("/me")
   public ResponseEntity<AppResponse<AppUserInfoResponse>> getAppUserInfo(
@@ -41,6 +54,54 @@ public class AppUserController {
     return ResponseEntity.status(HttpStatus.OK).body(response);
   }
 
+  /**
+   * Prefix search over users, paged by id. Pass the returned {@code nextAfter} as {@code after}
+   * to get the next page; {@code size} is capped at 100. Needs {@code USER_READ}, enforced in
+   * {@code SecurityConfig}.
+   */
+  @GetMapping("/search")
+  public ResponseEntity<AppResponse<KeysetPage<AppUserInfoResponse>>> searchUsers(
+      @RequestParam(required = false) String username,
+      @RequestParam(required = false) String email, @RequestParam(required = false) String name,
+      @RequestParam(required = false) Long after, @RequestParam(defaultValue = "20") int size) {
+    KeysetPage<AppUserInfoResponse> page =
+        appUserService.searchAppUsers(new AppUserSearchCriteria(username, email, name), after,
+            Math.clamp(size, 1, MAX_PAGE_SIZE));
+    AppResponse<KeysetPage<AppUserInfoResponse>> response =
+        new AppResponse<>(HttpStatus.OK, page, "Users fetched successfully");
+    return ResponseEntity.status(HttpStatus.OK).body(response);
+  }
+
+  /**
+   * Tells the registration form whether a username and/or email is free. Values are matched
+   * exactly, case and spaces included, as registration's unique constraints compare them.
+   */
+  @GetMapping("/availability")
+  public ResponseEntity<AppResponse<AvailabilityResponse>> checkAvailability(
+      @RequestParam(required = false) String username,
+      @RequestParam(required = false) String email) {
+    AvailabilityResponse availabilityResponse = new AvailabilityResponse();
+    if (username != null) {
+      availabilityResponse.setUsernameAvailable(appUserIndexService.isUsernameAvailable(username));
+    }
+    if (email != null) {
+      availabilityResponse.setEmailAvailable(appUserIndexService.isEmailAvailable(email));
+    }
+    AppResponse<AvailabilityResponse> response =
+        new AppResponse<>(HttpStatus.OK, availabilityResponse, "Availability checked");
+    return ResponseEntity.status(HttpStatus.OK).body(response);
+  }
+
+  /** Username and email typeahead; {@code limit} is capped at 50. Needs {@code USER_READ}. */
+  @GetMapping("/autocomplete")
+  public ResponseEntity<AppResponse<AutocompleteResponse>> autocomplete(
+      @RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+    AutocompleteResponse autocompleteResponse =
+        appUserIndexService.autocomplete(prefix, Math.clamp(limit, 1, MAX_SUGGESTIONS));
+    AppResponse<AutocompleteResponse> response =
+        new AppResponse<>(HttpStatus.OK, autocompleteResponse, "Suggestions fetched successfully");
+    return ResponseEntity.status(HttpStatus.OK).body(response);
+  }
 
   @PostMapping("/register")
   public ResponseEntity<AppResponse<RegisterAppUserRes>> registerUser(
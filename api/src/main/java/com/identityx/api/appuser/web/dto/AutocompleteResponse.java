@@ -0,0 +1,14 @@
+package com.identityx.api.appuser.web.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AutocompleteResponse {
+
+  private List<String> usernames;
+  private List<String> emails;
+
+}
@@ -0,0 +1,14 @@
+package com.identityx.api.appuser.web.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** Each field is {@code null} when the caller did not ask about it. */
+@Getter
+@Setter
+public class AvailabilityResponse {
+
+  private Boolean usernameAvailable;
+  private Boolean emailAvailable;
+
+}
@@ -0,0 +1,5 @@
+package com.identityx.api.appuser.web.dto;
+
+/** A row the import skipped. {@code line} is 1-based and counts the CSV header. */
+public record ImportRowError(long line, String username, String message) {
+}
@@ -0,0 +1,20 @@
+package com.identityx.api.appuser.web.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ImportUsersResponse {
+
+  private long received;
+  private long imported;
+  private long failed;
+  private long durationMs;
+  private double rowsPerSecond;
+  private List<ImportRowError> errors;
+
+  /** Set when more rows failed than {@code app-user.import.max-reported-errors}. */
+  private boolean errorsTruncated;
+}
@@ -6,4 +6,10 @@ public final class AuthConstants {
 
   public static final String AUTHORIZATION_COOKIE = "jwt_token";
   public static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+
+  public static final String ACCESS_TOKEN_TYPE = "access_token";
+  public static final String REFRESH_TOKEN_TYPE = "refresh_token";
+
+  /** Marks principals authenticated with a client_credentials token; they have no user. */
+  public static final String CLIENT_AUTHORITY = "CLIENT";
 }
@@ -3,6 +3,9 @@ package com.identityx.api.auth.filter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -12,40 +15,89 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.identityx.api.auth.constants.AuthConstants;
+import com.identityx.api.auth.security.AuthenticationMode;
 import com.identityx.api.auth.security.IJwtTokenProvider;
+import com.identityx.api.auth.service.IAccessTokenRevocationService;
+import com.identityx.api.auth.web.JwksController;
+import com.identityx.api.auth.web.OAuth2Controller;
+import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
+/**
+ * Authenticates requests from the access token in the {@code jwt_token} cookie or a bearer header.
+ * The filter's own work, excluding the rest of the chain, is timed as
+ * {@code identityx.auth.filter} and tagged with whether the request was authenticated, rejected
+ * or carried no token.
+ */
 public class JWTTokenValidatorFilter extends OncePerRequestFilter {
 
   private static final Set<String> EXCLUDED_PATHS =
-      Set.of("/api/auth/login", "/api/user/register", "/api/auth/refresh-token");
+      Set.of("/api/auth/login", "/api/user/register", "/api/auth/refresh-token",
+          JwksController.JWKS_PATH, OAuth2Controller.TOKEN_PATH);
+
+  private static final String BEARER_PREFIX = "Bearer ";
+  private static final String METRIC_NAME = "identityx.auth.filter";
 
   private final IJwtTokenProvider jwtTokenProvider;
   private final UserDetailsService userDetailsService;
+  private final AuthenticationMode authenticationMode;
+  private final IAccessTokenRevocationService accessTokenRevocationService;
+  private final Timer authenticatedTimer;
+  private final Timer rejectedTimer;
+  private final Timer anonymousTimer;
+
+  public JWTTokenValidatorFilter(IJwtTokenProvider jwtTokenProvider,
+      UserDetailsService userDetailsService, AuthenticationMode authenticationMode,
+      IAccessTokenRevocationService accessTokenRevocationService, MeterRegistry meterRegistry) {
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.userDetailsService = userDetailsService;
+    this.authenticationMode = authenticationMode;
+    this.accessTokenRevocationService = accessTokenRevocationService;
+    this.authenticatedTimer = newTimer("authenticated", meterRegistry);
+    this.rejectedTimer = newTimer("rejected", meterRegistry);
+    this.anonymousTimer = newTimer("anonymous", meterRegistry);
+  }
 
   @Override
   protected void doFilterInternal(@NonNull HttpServletRequest request,
       @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
       throws ServletException, IOException {
 
+    long startNanos = System.nanoTime();
+    Timer timer = anonymousTimer;
     String accessToken = extractJwtFromCookies(request);
+    if (accessToken == null) {
+      accessToken = extractBearerToken(request);
+    }
     if (accessToken != null && !accessToken.isBlank()) {
       ValidateJWTTokenResponse validationResponse = jwtTokenProvider.validateJwtToken(accessToken);
-      if (validationResponse.isValid()) {
-        String username = validationResponse.getUsername();
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+      // The bloom filter inside the revocation service keeps this a few bit reads per request.
+      if (validationResponse.isValid()
+          && !accessTokenRevocationService.isRevoked(validationResponse.getTokenId())) {
+        // Client tokens have no user behind them, so they are always taken from their claims.
+        UserDetails userDetails = validationResponse.getClientId() != null
+            ? AppUserDetails.forClient(validationResponse.getClientId(),
+                validationResponse.getAuthorities())
+            : switch (authenticationMode) {
+              case CLAIMS_ONLY -> AppUserDetails.fromClaims(
+                  UUID.fromString(validationResponse.getSubject()),
+                  validationResponse.getUsername(), validationResponse.getAuthorities());
+              case USER_LOOKUP ->
+                  userDetailsService.loadUserByUsername(validationResponse.getUsername());
+            };
 
         Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null,
             userDetails.getAuthorities());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        timer = authenticatedTimer;
       } else {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType("application/json;charset=UTF-8");
@@ -55,10 +107,12 @@ public class JWTTokenValidatorFilter extends OncePerRequestFilter {
             "{\"apiPath\": \"%s\", \"errorCode\": \"%s\", \"errorMessage\": \"%s\", \"errorTime\": \"%s\"}",
             path, String.valueOf(HttpStatus.UNAUTHORIZED), message, LocalDateTime.now());
         response.getWriter().write(jsonResponse);
+        rejectedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
         return;
       }
     }
 
+    timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
     filterChain.doFilter(request, response);
   }
 
@@ -75,6 +129,21 @@ public class JWTTokenValidatorFilter extends OncePerRequestFilter {
     return null;
   }
 
+  /** Service-to-service callers send their token as {@code Authorization: Bearer <token>}. */
+  private String extractBearerToken(HttpServletRequest request) {
+    String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (authorization == null
+        || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+      return null;
+    }
+    return authorization.substring(BEARER_PREFIX.length()).trim();
+  }
+
+  private static Timer newTimer(String outcome, MeterRegistry meterRegistry) {
+    return Timer.builder(METRIC_NAME).tag("outcome", outcome).publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
   @Override
   protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
     return EXCLUDED_PATHS.contains(request.getServletPath());
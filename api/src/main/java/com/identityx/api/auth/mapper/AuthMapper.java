@@ -1,9 +1,13 @@
 package com.identityx.api.auth.mapper;
 
-import com.identityx.api.auth.model.RefreshToken;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import com.identityx.api.auth.store.RefreshTokenRecord;
 import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.auth.web.dto.LoginResponse;
 import com.identityx.api.auth.web.dto.RefreshTokenResponse;
+import com.identityx.api.auth.web.dto.SessionResponse;
 
 public final class AuthMapper {
 
@@ -15,11 +19,26 @@ public final class AuthMapper {
     loginResponse.setUserId(appUserDetails.getUserId());
   }
 
-  public static RefreshTokenResponse toRefreshTokenResponse(RefreshToken refreshToken) {
+  public static RefreshTokenResponse toRefreshTokenResponse(String refreshToken, UUID sessionId,
+      Instant expiryDate) {
     RefreshTokenResponse refreshTokenResponse = new RefreshTokenResponse();
-    refreshTokenResponse.setRefreshToken(refreshToken.getToken());
-    refreshTokenResponse.setExpiryDate(refreshToken.getExpiryDate());
+    refreshTokenResponse.setRefreshToken(refreshToken);
+    refreshTokenResponse.setSessionId(sessionId);
+    refreshTokenResponse.setExpiryDate(expiryDate);
     return refreshTokenResponse;
   }
 
+  public static SessionResponse toSessionResponse(RefreshTokenRecord session,
+      byte[] currentTokenHash) {
+    SessionResponse sessionResponse = new SessionResponse();
+    sessionResponse.setSessionId(session.sessionId());
+    sessionResponse.setDeviceLabel(session.deviceLabel());
+    sessionResponse.setCreatedAt(session.createdAt());
+    sessionResponse.setLastUsedAt(session.lastUsedAt());
+    sessionResponse.setExpiryDate(session.expiryDate());
+    sessionResponse.setCurrent(
+        currentTokenHash != null && Arrays.equals(currentTokenHash, session.tokenHash()));
+    return sessionResponse;
+  }
+
 }
@@ -0,0 +1,50 @@
+package com.identityx.api.auth.model;
+
+import java.time.Instant;
+import com.identityx.api.common.model.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Write-through copy of an opaque access token, so a handle issued by one node resolves on the
+ * others. Only the SHA-256 digest of the handle is stored.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "opaque_access_token",
+    uniqueConstraints = @UniqueConstraint(name = "uk_opaque_access_token_token_hash",
+        columnNames = "token_hash"),
+    indexes = @Index(name = "idx_opaque_access_token_expires_at", columnList = "expires_at"))
+public class OpaqueAccessToken extends BaseEntity {
+
+  @Column(name = "token_hash", nullable = false, length = 32, updatable = false)
+  private byte[] tokenHash;
+
+  @Column(name = "token_id", nullable = false, length = 64, updatable = false)
+  private String tokenId;
+
+  @Column(nullable = false, updatable = false)
+  private String subject;
+
+  @Column(nullable = false, updatable = false)
+  private String username;
+
+  /** The encoded permission set, as in the JWT {@code authorities} claim. */
+  @Column(nullable = false, length = 16, updatable = false)
+  private String authorities;
+
+  @Column(name = "client_id", updatable = false)
+  private String clientId;
+
+  @Column(length = 1024, updatable = false)
+  private String scope;
+
+  @Column(name = "expires_at", nullable = false, updatable = false)
+  private Instant expiresAt;
+}
@@ -1,29 +1,53 @@
 package com.identityx.api.auth.model;
 
 import java.time.Instant;
+import java.util.UUID;
 import com.identityx.api.appuser.model.AppUser;
 import com.identityx.api.common.model.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * One refresh token per signed-in device. A user may hold several sessions at once.
+ */
 @Getter
 @Setter
 @Entity
-@Table(name = "refresh_token")
+@Table(name = "refresh_token",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_token_token_hash", columnNames = "token_hash"),
+        @UniqueConstraint(name = "uk_refresh_token_session_id", columnNames = "session_id")},
+    indexes = {@Index(name = "idx_refresh_token_expiry_date", columnList = "expiry_date"),
+        @Index(name = "idx_refresh_token_app_user_created_at",
+            columnList = "app_user_id, created_at")})
 public class RefreshToken extends BaseEntity {
 
-  @Column(nullable = false, unique = true)
-  private String token;
+  /** SHA-256 digest of the token handed to the client; the raw token is never stored. */
+  @Column(name = "token_hash", nullable = false, length = 32)
+  private byte[] tokenHash;
 
-  @OneToOne
-  @JoinColumn(name = "app_user_id", referencedColumnName = "id", unique = false)
+  /** Public identifier of the session, safe to expose in the session list. */
+  @Column(name = "session_id", nullable = false, updatable = false)
+  private UUID sessionId;
+
+  @Column(name = "device_label")
+  private String deviceLabel;
+
+  @Column(name = "last_used_at", nullable = false)
+  private Instant lastUsedAt;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "app_user_id", referencedColumnName = "id", nullable = false)
   private AppUser appUser;
 
-  @Column(nullable = false)
+  @Column(name = "expiry_date", nullable = false)
   private Instant expiryDate;
 }
@@ -0,0 +1,31 @@
+package com.identityx.api.auth.model;
+
+import java.time.Instant;
+import com.identityx.api.common.model.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * An access token revoked before its {@code exp}, identified by its {@code jti}. Rows are only
+ * needed until the token would have expired anyway.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "revoked_access_token",
+    uniqueConstraints = @UniqueConstraint(name = "uk_revoked_access_token_token_id",
+        columnNames = "token_id"),
+    indexes = @Index(name = "idx_revoked_access_token_expires_at", columnList = "expires_at"))
+public class RevokedAccessToken extends BaseEntity {
+
+  @Column(name = "token_id", nullable = false, length = 64)
+  private String tokenId;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+}
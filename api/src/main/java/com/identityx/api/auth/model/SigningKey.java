@@ -0,0 +1,44 @@
+package com.identityx.api.auth.model;
+
+import java.time.Instant;
+import com.identityx.api.auth.security.SigningAlgorithm;
+import com.identityx.api.common.model.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * An asymmetric access-token signing key, shared by every node through the database. Rows are
+ * never updated: a key stops signing when a newer one activates and is deleted once the tokens it
+ * signed have expired.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "signing_key",
+    uniqueConstraints = @UniqueConstraint(name = "uk_signing_key_key_id", columnNames = "key_id"),
+    indexes = @Index(name = "idx_signing_key_activates_at", columnList = "activates_at"))
+public class SigningKey extends BaseEntity {
+
+  @Column(name = "key_id", nullable = false, length = 64, updatable = false)
+  private String keyId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16, updatable = false)
+  private SigningAlgorithm algorithm;
+
+  @Column(name = "public_key", nullable = false, length = 512, updatable = false)
+  private byte[] publicKey;
+
+  @Column(name = "private_key", nullable = false, length = 512, updatable = false)
+  private byte[] privateKey;
+
+  @Column(name = "activates_at", nullable = false, updatable = false)
+  private Instant activatesAt;
+}
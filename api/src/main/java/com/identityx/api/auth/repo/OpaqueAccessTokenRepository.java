@@ -0,0 +1,27 @@
+package com.identityx.api.auth.repo;
+
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.identityx.api.auth.model.OpaqueAccessToken;
+
+@Repository
+public interface OpaqueAccessTokenRepository extends JpaRepository<OpaqueAccessToken, Long> {
+
+  Optional<OpaqueAccessToken> findByTokenHash(byte[] tokenHash);
+
+  @Transactional
+  @Modifying
+  @Query("delete from OpaqueAccessToken t where t.tokenHash = :tokenHash")
+  int deleteByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+  @Transactional
+  @Modifying
+  @Query("delete from OpaqueAccessToken t where t.expiresAt < :now")
+  int deleteExpired(@Param("now") Instant now);
+}
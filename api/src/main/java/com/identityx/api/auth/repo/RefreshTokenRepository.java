@@ -1,20 +1,98 @@
 package com.identityx.api.auth.repo;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import com.identityx.api.appuser.model.AppUser;
 import com.identityx.api.auth.model.RefreshToken;
+import com.identityx.api.auth.store.RefreshTokenRecord;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-  Optional<RefreshToken> findByToken(String token);
+
+  @Query("""
+      select new com.identityx.api.auth.store.RefreshTokenRecord(
+          rt.tokenHash, rt.sessionId, u.id, u.userId, u.username, u.email, rt.deviceLabel,
+          rt.createdAt, rt.lastUsedAt, rt.expiryDate)
+      from RefreshToken rt join rt.appUser u
+      where rt.tokenHash = :tokenHash""")
+  Optional<RefreshTokenRecord> findRecordByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+  @Query("""
+      select new com.identityx.api.auth.store.RefreshTokenRecord(
+          rt.tokenHash, rt.sessionId, u.id, u.userId, u.username, u.email, rt.deviceLabel,
+          rt.createdAt, rt.lastUsedAt, rt.expiryDate)
+      from RefreshToken rt join rt.appUser u
+      where rt.tokenHash in :tokenHashes""")
+  List<RefreshTokenRecord> findRecordsByTokenHashIn(
+      @Param("tokenHashes") Collection<byte[]> tokenHashes);
+
+  @Query("""
+      select new com.identityx.api.auth.store.RefreshTokenRecord(
+          rt.tokenHash, rt.sessionId, u.id, u.userId, u.username, u.email, rt.deviceLabel,
+          rt.createdAt, rt.lastUsedAt, rt.expiryDate)
+      from RefreshToken rt join rt.appUser u
+      where u.userId = :userId
+      order by rt.lastUsedAt desc""")
+  List<RefreshTokenRecord> findRecordsByUserId(@Param("userId") UUID userId);
+
+  /**
+   * Swaps the token hash in place. Matching on the current hash makes concurrent rotations of the
+   * same token race-free: only one of them updates a row.
+   */
+  @Modifying
+  @Query("""
+      update RefreshToken rt
+      set rt.tokenHash = :newTokenHash, rt.expiryDate = :expiryDate, rt.lastUsedAt = :now
+      where rt.tokenHash = :currentTokenHash""")
+  int rotate(@Param("currentTokenHash") byte[] currentTokenHash,
+      @Param("newTokenHash") byte[] newTokenHash, @Param("expiryDate") Instant expiryDate,
+      @Param("now") Instant now);
+
+  @Modifying
+  @Query("update RefreshToken rt set rt.lastUsedAt = :now where rt.tokenHash = :tokenHash")
+  int touch(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+  @Query("select count(rt) from RefreshToken rt where rt.appUser.id = :appUserId")
+  long countByAppUserId(@Param("appUserId") Long appUserId);
+
+  /** Oldest sessions of the user first; ids only break ties, as they are allocated per node. */
+  @Query("""
+      select rt.id from RefreshToken rt
+      where rt.appUser.id = :appUserId
+      order by rt.createdAt, rt.id""")
+  List<Long> findOldestSessionIds(@Param("appUserId") Long appUserId, Limit limit);
+
+  @Modifying
+  @Query("""
+      delete from RefreshToken rt
+      where rt.sessionId = :sessionId
+        and rt.appUser.id in (select u.id from AppUser u where u.userId = :userId)""")
+  int deleteSession(@Param("userId") UUID userId, @Param("sessionId") UUID sessionId);
 
   @Modifying
-  void deleteByAppUser(AppUser appUser);
+  @Query("delete from RefreshToken rt where rt.tokenHash = :tokenHash")
+  int deleteByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+  @Modifying
+  @Query("""
+      delete from RefreshToken rt
+      where rt.appUser.id in (select u.id from AppUser u where u.userId = :userId)""")
+  int deleteAllByUserId(@Param("userId") UUID userId);
+
+  @Query("select rt.id from RefreshToken rt where rt.expiryDate < :now order by rt.expiryDate")
+  List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
 
   @Modifying
-  void deleteByAppUser_id(Long appUserId);
+  @Query("delete from RefreshToken rt where rt.id in :ids and rt.expiryDate < :now")
+  int deleteExpiredByIds(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 
 }
@@ -0,0 +1,29 @@
+package com.identityx.api.auth.repo;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.identityx.api.auth.model.RevokedAccessToken;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, Long> {
+
+  /** Must be consumed and closed inside a transaction. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("select r.tokenId as tokenId, r.expiresAt as expiresAt from RevokedAccessToken r "
+      + "where r.expiresAt > :now")
+  Stream<RevokedAccessTokenView> streamLive(@Param("now") Instant now);
+
+  @Transactional
+  @Modifying
+  @Query("delete from RevokedAccessToken r where r.expiresAt < :now")
+  int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,11 @@
+package com.identityx.api.auth.repo;
+
+import java.time.Instant;
+
+/** The two columns the access token denylist is rebuilt from. */
+public interface RevokedAccessTokenView {
+
+  String getTokenId();
+
+  Instant getExpiresAt();
+}
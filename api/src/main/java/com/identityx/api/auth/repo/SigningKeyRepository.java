@@ -0,0 +1,12 @@
+package com.identityx.api.auth.repo;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import com.identityx.api.auth.model.SigningKey;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, Long> {
+
+  List<SigningKey> findAllByOrderByActivatesAtAsc();
+}
@@ -0,0 +1,63 @@
+package com.identityx.api.auth.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import com.identityx.api.common.bloom.BloomFilter;
+
+/**
+ * In-memory set of revoked access-token ids, each kept until its token expires.
+ *
+ * <p>
+ * A bloom filter answers the common "not revoked" case with a few bit reads; only a filter hit
+ * consults the exact map. Because a bloom filter cannot forget values, {@link #rebuild} replaces
+ * it with one built from the live entries.
+ */
+public final class AccessTokenDenylist {
+
+  private final long expectedInsertions;
+  private final double falsePositiveProbability;
+  private final Map<String, Long> expiresAtByTokenId = new ConcurrentHashMap<>();
+  private volatile BloomFilter bloomFilter;
+
+  public AccessTokenDenylist(long expectedInsertions, double falsePositiveProbability) {
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveProbability = falsePositiveProbability;
+    this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+  }
+
+  /** Returns {@code true} if the id was not listed yet. */
+  public boolean add(String tokenId, long expiresAtMillis) {
+    if (expiresAtByTokenId.putIfAbsent(tokenId, expiresAtMillis) != null) {
+      return false;
+    }
+    bloomFilter.put(tokenId);
+    return true;
+  }
+
+  public boolean contains(String tokenId, long nowMillis) {
+    if (!bloomFilter.mightContain(tokenId)) {
+      return false;
+    }
+    Long expiresAtMillis = expiresAtByTokenId.get(tokenId);
+    return expiresAtMillis != null && expiresAtMillis > nowMillis;
+  }
+
+  /**
+   * Merges {@code entries}, drops expired ids and swaps in a freshly built bloom filter. Ids added
+   * while the new filter is being built are copied into it after the swap.
+   */
+  public void rebuild(Map<String, Long> entries, long nowMillis) {
+    entries.forEach(expiresAtByTokenId::putIfAbsent);
+    expiresAtByTokenId.values().removeIf(expiresAtMillis -> expiresAtMillis <= nowMillis);
+
+    BloomFilter rebuilt = new BloomFilter(
+        Math.max(expectedInsertions, expiresAtByTokenId.size() * 2L), falsePositiveProbability);
+    expiresAtByTokenId.keySet().forEach(rebuilt::put);
+    bloomFilter = rebuilt;
+    expiresAtByTokenId.keySet().forEach(rebuilt::put);
+  }
+
+  public int size() {
+    return expiresAtByTokenId.size();
+  }
+}
@@ -0,0 +1,50 @@
+package com.identityx.api.auth.security;
+
+import java.util.function.Supplier;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import com.identityx.api.auth.constants.AuthConstants;
+
+/**
+ * Grants a request to an authenticated user. Client_credentials principals are refused: they
+ * have no user id, and routes meant for them are guarded by scope instead.
+ */
+public final class AppUserAuthorizationManager
+    implements AuthorizationManager<RequestAuthorizationContext> {
+
+  private static final AppUserAuthorizationManager INSTANCE = new AppUserAuthorizationManager();
+  private static final AuthenticationTrustResolver TRUST_RESOLVER =
+      new AuthenticationTrustResolverImpl();
+
+  private AppUserAuthorizationManager() {}
+
+  public static AppUserAuthorizationManager appUser() {
+    return INSTANCE;
+  }
+
+  @Override
+  public AuthorizationResult authorize(Supplier<Authentication> authentication,
+      RequestAuthorizationContext context) {
+    return decide(authentication.get());
+  }
+
+  @Override
+  @Deprecated
+  public AuthorizationDecision check(Supplier<Authentication> authentication,
+      RequestAuthorizationContext context) {
+    return decide(authentication.get());
+  }
+
+  private static AuthorizationDecision decide(Authentication authentication) {
+    boolean granted = TRUST_RESOLVER.isAuthenticated(authentication)
+        && authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority)
+            .noneMatch(AuthConstants.CLIENT_AUTHORITY::equals);
+    return new AuthorizationDecision(granted);
+  }
+}
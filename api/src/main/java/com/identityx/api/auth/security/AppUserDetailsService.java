@@ -1,23 +1,67 @@
 package com.identityx.api.auth.security;
 
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.identityx.api.appuser.model.AppUser;
 import com.identityx.api.appuser.service.IAppUserService;
 import com.identityx.api.auth.web.dto.AppUserDetails;
-import lombok.RequiredArgsConstructor;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.common.invalidation.InvalidationType;
+import com.identityx.api.role.model.PermissionSet;
+import com.identityx.api.role.service.IRoleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+/**
+ * Serves immutable {@link AppUserDetails} snapshots from a TTL and size bounded cache. Concurrent
+ * misses for the same username share a single database load. Each snapshot carries the user's
+ * permissions, resolved from their roles once per load.
+ */
 @Service
-@RequiredArgsConstructor
 public class AppUserDetailsService implements UserDetailsService {
 
   private final IAppUserService appUserService;
+  private final IRoleService roleService;
+  private final Cache<String, AppUserDetails> userCache;
+
+  public AppUserDetailsService(IAppUserService appUserService, IRoleService roleService,
+      @Value("${app-user.cache.max-size:10000}") long maxSize,
+      @Value("${app-user.cache.ttl-ms:300000}") long ttlMs, MeterRegistry meterRegistry) {
+    this.appUserService = appUserService;
+    this.roleService = roleService;
+    this.userCache = Caffeine.newBuilder().maximumSize(maxSize)
+        .expireAfterWrite(Duration.ofMillis(ttlMs)).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, userCache, "app-user.details");
+  }
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    return userCache.get(username, this::loadSnapshot);
+  }
+
+  /** Fires after commit on this node and on every other node that cached the user. */
+  @EventListener
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationType.USER_CHANGED) {
+      userCache.invalidate(event.key());
+    } else if (event.type() == InvalidationType.ROLE_CHANGED) {
+      // Which users hold the role is not known here; role changes are rare enough to start over.
+      userCache.invalidateAll();
+    }
+  }
+
+  private AppUserDetails loadSnapshot(String username) {
     AppUser appUser = appUserService.getAppUserByUsername(username);
-    return new AppUserDetails(appUser);
+    PermissionSet permissions = roleService.resolvePermissions(appUser.getId());
+    return new AppUserDetails(appUser.getId(), appUser.getUserId(), appUser.getUsername(),
+        appUser.getEmail(), appUser.getPassword(), List.of(new PermissionAuthority(permissions)));
   }
 }
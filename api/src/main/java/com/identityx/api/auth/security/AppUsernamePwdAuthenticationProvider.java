@@ -7,7 +7,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
 
@@ -16,7 +15,8 @@ import lombok.RequiredArgsConstructor;
 public class AppUsernamePwdAuthenticationProvider implements AuthenticationProvider {
 
   private final UserDetailsService userDetailsService;
-  private final PasswordEncoder passwordEncoder;
+  private final IPasswordHasher passwordHasher;
+  private final PasswordUpgradeQueue passwordUpgradeQueue;
 
   @Override
   public Authentication authenticate(Authentication authentication) throws AuthenticationException {
@@ -24,7 +24,10 @@ public class AppUsernamePwdAuthenticationProvider implements AuthenticationProvi
     String password = authentication.getCredentials().toString();
     UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-    if (passwordEncoder.matches(password, userDetails.getPassword())) {
+    if (passwordHasher.matches(password, userDetails.getPassword())) {
+      if (passwordHasher.upgradeEncoding(userDetails.getPassword())) {
+        passwordUpgradeQueue.enqueue(username, password, userDetails.getPassword());
+      }
       return new UsernamePasswordAuthenticationToken(userDetails, password,
           userDetails.getAuthorities());
     } else {
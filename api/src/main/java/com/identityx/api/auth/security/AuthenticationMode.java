@@ -0,0 +1,8 @@
+package com.identityx.api.auth.security;
+
+public enum AuthenticationMode {
+  /** Load the user from the database on every authenticated request. */
+  USER_LOOKUP,
+  /** Build the principal from the verified token claims without touching the database. */
+  CLAIMS_ONLY
+}
@@ -1,5 +1,7 @@
 package com.identityx.api.auth.security;
 
+import java.time.Instant;
+import java.util.Collection;
 import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
 
@@ -7,5 +9,14 @@ public interface IJwtTokenProvider {
 
   String generateJwtToken(AppUserDetails appUserDetails);
 
+  /** Issues an access token to a client acting on its own behalf, with no user behind it. */
+  String generateClientToken(String clientId, Collection<String> scopes, Instant expiresAt);
+
   ValidateJWTTokenResponse validateJwtToken(String accessToken);
+
+  /** Whether {@code token} has the shape of an access token issued by this provider. */
+  boolean isAccessTokenFormat(String token);
+
+  /** Drops any server-side state held for the token, e.g. on logout. */
+  void invalidate(String accessToken);
 }
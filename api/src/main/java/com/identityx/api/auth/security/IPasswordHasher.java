@@ -0,0 +1,18 @@
+package com.identityx.api.auth.security;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface IPasswordHasher {
+
+  String encode(CharSequence rawPassword);
+
+  boolean matches(CharSequence rawPassword, String encodedPassword);
+
+  /**
+   * Queues an encode without waiting for it. Background work only takes the first half of the
+   * hashing queue, so it never fills the slots logins and registrations wait on.
+   */
+  CompletableFuture<String> encodeInBackground(CharSequence rawPassword);
+
+  boolean upgradeEncoding(String encodedPassword);
+}
@@ -1,116 +1,288 @@
 package com.identityx.api.auth.security;
 
-import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
-import java.util.stream.Collectors;
-import javax.crypto.SecretKey;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
+import com.identityx.api.role.model.Permission;
+import com.identityx.api.role.model.PermissionSet;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.InvalidClaimException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Issues and validates access tokens. The parser is built once at construction and resolves
+ * verification keys from the {@link SigningKeyRing} by {@code kid}, so key rotation never
+ * rebuilds it.
+ *
+ * <p>A user token carries its permissions as a compact bitset in {@code perms}, so the cookie
+ * stays small as permissions are added. Resource servers that need readable names can have them
+ * added to the standard {@code authorities} list with {@code jwt.claims.permission-names}.
+ * Tokens issued before {@code perms} existed carry only the list and are still accepted until
+ * they expire.
+ *
+ * <p>Signing and verification are timed as {@code identityx.jwt}, tagged by operation and, for
+ * verification, by outcome, so cache hits and each kind of rejection show up separately.
+ */
 @Slf4j
 @Component
 public class JwtTokenProvider implements IJwtTokenProvider {
 
-  @Value("${jwt.secret.key}")
-  private String jwtSecretKey;
+  public static final String ISSUER = "IdentityX";
+  public static final String SCOPE_AUTHORITY_PREFIX = "SCOPE_";
+  static final String USERNAME_CLAIM = "username";
+  static final String AUTHORITIES_CLAIM = "authorities";
+  static final String PERMISSIONS_CLAIM = "perms";
+  static final String CLIENT_ID_CLAIM = "client_id";
+  static final String SCOPE_CLAIM = "scope";
+  private static final String METRIC_NAME = "identityx.jwt";
 
-  @Value("${jwt.expiration.ms}")
-  private Long jwtExpirationMs;
+  private final SigningKeyRing signingKeyRing;
+  private final JwtParser jwtParser;
+  private final Clock clock;
+  private final long jwtExpirationMs;
+  private final boolean includePermissionNames;
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final Timer signTimer;
+  private final Map<VerifyOutcome, Timer> verifyTimers = new EnumMap<>(VerifyOutcome.class);
+
+  public JwtTokenProvider(SigningKeyRing signingKeyRing,
+      @Value("${jwt.expiration.ms}") long jwtExpirationMs,
+      @Value("${jwt.claims.permission-names:false}") boolean includePermissionNames, Clock clock,
+      VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
+    this.signingKeyRing = signingKeyRing;
+    this.clock = clock;
+    this.jwtExpirationMs = jwtExpirationMs;
+    this.includePermissionNames = includePermissionNames;
+    this.verifiedTokenCache = verifiedTokenCache;
+    // jjwt's Clock hands out a Date, so every parse allocates one, as jjwt's own DefaultClock
+    // does; the adapter is here so expiry follows the shared Clock bean, not to save that Date.
+    this.jwtParser = Jwts.parser().keyLocator(signingKeyRing::locate).requireIssuer(ISSUER)
+        .clock(() -> new Date(clock.millis())).build();
+    this.signTimer = Timer.builder(METRIC_NAME).tag("operation", "sign")
+        .tag("outcome", "success").publishPercentileHistogram().register(meterRegistry);
+    for (VerifyOutcome outcome : VerifyOutcome.values()) {
+      verifyTimers.put(outcome, Timer.builder(METRIC_NAME).tag("operation", "verify")
+          .tag("outcome", outcome.tagValue).publishPercentileHistogram().register(meterRegistry));
+    }
+  }
 
   @Override
   public String generateJwtToken(AppUserDetails appUserDetails) {
+    long now = clock.millis();
+    PermissionSet permissions = PermissionAuthority.permissionsOf(appUserDetails.getAuthorities());
 
-    SecretKey secretKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    JwtBuilder builder = Jwts.builder().id(UUID.randomUUID().toString()).issuer(ISSUER)
+        .subject(appUserDetails.getUserId().toString())
+        .claim(USERNAME_CLAIM, appUserDetails.getUsername())
+        .claim(PERMISSIONS_CLAIM, permissions.encode())
+        .issuedAt(new Date(now)).expiration(new Date(now + jwtExpirationMs));
+    if (includePermissionNames) {
+      builder.claim(AUTHORITIES_CLAIM,
+          permissions.toPermissions().stream().map(Permission::name).toList());
+    }
+    return sign(builder);
+  }
 
-    return Jwts.builder().issuer("IdentityX").subject(appUserDetails.getUserId().toString())
-        .claim("username", appUserDetails.getUsername())
-        .claim("authorities",
-            appUserDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList()))
-        .issuedAt(new Date()).expiration(new Date(new Date().getTime() + jwtExpirationMs))
-        .signWith(secretKey).compact();
+  @Override
+  public String generateClientToken(String clientId, Collection<String> scopes,
+      Instant expiresAt) {
+    return sign(Jwts.builder().id(UUID.randomUUID().toString()).issuer(ISSUER)
+        .subject(clientId).claim(USERNAME_CLAIM, clientId).claim(CLIENT_ID_CLAIM, clientId)
+        .claim(SCOPE_CLAIM, String.join(" ", scopes))
+        .claim(AUTHORITIES_CLAIM,
+            scopes.stream().map(scope -> SCOPE_AUTHORITY_PREFIX + scope).toList())
+        .claim(PERMISSIONS_CLAIM, PermissionSet.EMPTY.encode())
+        .issuedAt(new Date(clock.millis())).expiration(Date.from(expiresAt)));
   }
 
   @Override
   public ValidateJWTTokenResponse validateJwtToken(String accessToken) {
     ValidateJWTTokenResponse response = new ValidateJWTTokenResponse();
+    response.setValid(false);
+
+    if (accessToken == null || accessToken.isBlank()) {
+      log.error("JWT token is null or empty");
+      return response;
+    }
+
+    long startNanos = System.nanoTime();
+    VerifyOutcome outcome = VerifyOutcome.INVALID;
     try {
-      if (accessToken == null || accessToken.trim().isEmpty()) {
-        log.error("JWT token is null or empty");
-        response.setValid(false);
+      VerifiedToken cached = verifiedTokenCache.get(accessToken);
+      if (cached != null) {
+        outcome = VerifyOutcome.CACHED;
+        return toValidResponse(cached);
       }
 
-      SecretKey secretKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+      // Signature, issuer and expiry are enforced by the parser itself.
+      Claims claims = jwtParser.parseSignedClaims(accessToken).getPayload();
 
-      Claims claims =
-          Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(accessToken).getPayload();
-
-      if (claims.getSubject() == null || claims.getSubject().isEmpty()) {
-        log.error("JWT token subject is missing");
-        response.setValid(false);
+      String tokenId = claims.getId();
+      if (tokenId == null || tokenId.isEmpty()) {
+        log.error("JWT token id is missing");
         return response;
       }
 
-      if (claims.get("username") == null) {
-        log.error("JWT token username claim is missing");
-        response.setValid(false);
+      String subject = claims.getSubject();
+      if (subject == null || subject.isEmpty()) {
+        log.error("JWT token subject is missing");
         return response;
       }
 
-      if (claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
-        log.error("JWT token is expired");
-        response.setValid(false);
+      Object username = claims.get(USERNAME_CLAIM);
+      if (!(username instanceof String)) {
+        log.error("JWT token username claim is missing");
         return response;
       }
 
-      if (!"IdentityX".equals(claims.getIssuer())) {
-        log.error("JWT token has invalid issuer: {}", claims.getIssuer());
-        response.setValid(false);
+      PermissionSet permissions = permissionsOf(claims);
+      if (permissions == null) {
+        log.error("JWT token authorities claim is missing");
         return response;
       }
 
-      if (claims.get("authorities") == null) {
-        log.error("JWT token authorities claim is missing");
-        response.setValid(false);
+      Date expiration = claims.getExpiration();
+      if (expiration == null) {
+        log.error("JWT token expiration is missing");
         return response;
       }
 
-      log.debug("JWT token validated successfully for user: {}", claims.get("username"));
-      response.setValid(true);
-      response.setUsername(claims.get("username", String.class));
+      log.debug("JWT token validated successfully for user: {}", username);
+      VerifiedToken verifiedToken = new VerifiedToken(tokenId, subject, (String) username,
+          permissions, expiration.getTime(),
+          claims.get(CLIENT_ID_CLAIM, String.class), claims.get(SCOPE_CLAIM, String.class));
+      verifiedTokenCache.put(accessToken, verifiedToken);
+      outcome = VerifyOutcome.VALID;
+      return toValidResponse(verifiedToken);
 
     } catch (SignatureException e) {
+      outcome = VerifyOutcome.BAD_SIGNATURE;
       log.error("Invalid JWT signature: {}", e.getMessage());
-      response.setValid(false);
     } catch (MalformedJwtException e) {
+      outcome = VerifyOutcome.MALFORMED;
       log.error("Invalid JWT token format: {}", e.getMessage());
-      response.setValid(false);
     } catch (ExpiredJwtException e) {
+      outcome = VerifyOutcome.EXPIRED;
       log.error("JWT token is expired: {}", e.getMessage());
-      response.setValid(false);
+    } catch (InvalidClaimException e) {
+      log.error("JWT token has invalid issuer: {}", e.getMessage());
     } catch (UnsupportedJwtException e) {
+      outcome = VerifyOutcome.UNSUPPORTED;
       log.error("JWT token is unsupported: {}", e.getMessage());
-      response.setValid(false);
     } catch (IllegalArgumentException e) {
+      outcome = VerifyOutcome.MALFORMED;
       log.error("JWT claims string is empty or invalid: {}", e.getMessage());
-      response.setValid(false);
     } catch (Exception e) {
+      outcome = VerifyOutcome.ERROR;
       log.error("Unexpected error during JWT validation: {}", e.getMessage(), e);
-      response.setValid(false);
+    } finally {
+      verifyTimers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    return response;
+  }
+
+  @Override
+  public boolean isAccessTokenFormat(String token) {
+    int firstDot = token.indexOf('.');
+    return firstDot > 0 && token.indexOf('.', firstDot + 1) > firstDot;
+  }
+
+  /** JWTs hold no server-side state; revoking one goes through the denylist. */
+  @Override
+  public void invalidate(String accessToken) {}
+
+  /**
+   * Decodes {@code perms}, or falls back to the names in a legacy {@code authorities} list;
+   * returns {@code null} when neither is present.
+   */
+  private static PermissionSet permissionsOf(Claims claims) {
+    if (claims.get(PERMISSIONS_CLAIM) instanceof String encoded) {
+      return PermissionSet.decode(encoded);
+    }
+    if (!(claims.get(AUTHORITIES_CLAIM) instanceof List<?> authorities)) {
+      return null;
     }
+    List<Permission> permissions = new ArrayList<>();
+    for (Object authority : authorities) {
+      for (Permission permission : Permission.values()) {
+        if (permission.name().equals(authority)) {
+          permissions.add(permission);
+        }
+      }
+    }
+    return PermissionSet.of(permissions);
+  }
+
+  private String sign(JwtBuilder builder) {
+    long startNanos = System.nanoTime();
+    String token = signingKeyRing.signWith(builder).compact();
+    signTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    return token;
+  }
 
+  static ValidateJWTTokenResponse toValidResponse(VerifiedToken verifiedToken) {
+    ValidateJWTTokenResponse response = new ValidateJWTTokenResponse();
+    response.setValid(true);
+    response.setTokenId(verifiedToken.tokenId());
+    response.setSubject(verifiedToken.subject());
+    response.setUsername(verifiedToken.username());
+    response.setAuthorities(toAuthorities(verifiedToken));
+    response.setExpiresAt(Instant.ofEpochMilli(verifiedToken.expiresAtMillis()));
+    response.setClientId(verifiedToken.clientId());
+    response.setScope(verifiedToken.scope());
     return response;
   }
 
+  /** The permission set, plus one {@code SCOPE_} authority per granted scope of a client. */
+  private static List<GrantedAuthority> toAuthorities(VerifiedToken verifiedToken) {
+    List<GrantedAuthority> authorities = new ArrayList<>();
+    authorities.add(new PermissionAuthority(verifiedToken.permissions()));
+    if (verifiedToken.scope() != null && !verifiedToken.scope().isEmpty()) {
+      for (String scope : verifiedToken.scope().split(" ")) {
+        authorities.add(new SimpleGrantedAuthority(SCOPE_AUTHORITY_PREFIX + scope));
+      }
+    }
+    return List.copyOf(authorities);
+  }
+
+  private enum VerifyOutcome {
+
+    VALID("valid"),
+    CACHED("cached"),
+    EXPIRED("expired"),
+    BAD_SIGNATURE("bad-signature"),
+    MALFORMED("malformed"),
+    UNSUPPORTED("unsupported"),
+    INVALID("invalid-claims"),
+    ERROR("error");
+
+    private final String tagValue;
+
+    VerifyOutcome(String tagValue) {
+      this.tagValue = tagValue;
+    }
+  }
 }
@@ -0,0 +1,95 @@
+package com.identityx.api.auth.security;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.identityx.api.common.exception.TooManyRequestsException;
+import com.identityx.api.common.ratelimit.KeyedRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Throttles login attempts per client IP and failed logins per username. Both are checked before
+ * any user lookup or password hash takes place, but only a failed attempt is charged to the
+ * username, so a user signing in successfully never uses up their own allowance.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+  private static final String METRIC_PREFIX = "identityx.login.throttle";
+
+  private final boolean enabled;
+  private final KeyedRateLimiter usernameLimiter;
+  private final KeyedRateLimiter clientIpLimiter;
+  private final Counter usernameThrottledCounter;
+  private final Counter clientIpThrottledCounter;
+
+  public LoginRateLimiter(@Value("${auth.login.throttle.enabled:true}") boolean enabled,
+      @Value("${auth.login.throttle.username.capacity:5}") int usernameCapacity,
+      @Value("${auth.login.throttle.username.period-ms:60000}") long usernamePeriodMs,
+      @Value("${auth.login.throttle.ip.capacity:30}") int clientIpCapacity,
+      @Value("${auth.login.throttle.ip.period-ms:60000}") long clientIpPeriodMs,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.usernameLimiter = new KeyedRateLimiter(usernameCapacity, usernamePeriodMs);
+    this.clientIpLimiter = new KeyedRateLimiter(clientIpCapacity, clientIpPeriodMs);
+
+    this.usernameThrottledCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+        .tag("key", "username").register(meterRegistry);
+    this.clientIpThrottledCounter =
+        Counter.builder(METRIC_PREFIX + ".rejected").tag("key", "ip").register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".keys", usernameLimiter, KeyedRateLimiter::size)
+        .tag("key", "username").register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".keys", clientIpLimiter, KeyedRateLimiter::size)
+        .tag("key", "ip").register(meterRegistry);
+  }
+
+  public void checkAllowed(String username, String clientIp) {
+    if (!enabled) {
+      return;
+    }
+
+    long waitNanos = clientIpLimiter.tryAcquire(clientIp == null ? "" : clientIp);
+    if (waitNanos > 0) {
+      clientIpThrottledCounter.increment();
+      log.warn("Login throttled for client {}", clientIp);
+      throw throttled(waitNanos);
+    }
+
+    String normalizedUsername = normalize(username);
+    waitNanos = usernameLimiter.waitTime(normalizedUsername);
+    if (waitNanos > 0) {
+      usernameThrottledCounter.increment();
+      log.warn("Login throttled for username {}", normalizedUsername);
+      throw throttled(waitNanos);
+    }
+  }
+
+  /** Charges a failed attempt to {@code username}. */
+  public void recordFailure(String username) {
+    if (enabled) {
+      usernameLimiter.tryAcquire(normalize(username));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${auth.login.throttle.sweep-interval-ms:60000}")
+  public void evictIdle() {
+    usernameLimiter.evictIdle();
+    clientIpLimiter.evictIdle();
+  }
+
+  private static String normalize(String username) {
+    return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private TooManyRequestsException throttled(long waitNanos) {
+    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    return new TooManyRequestsException("Too many login attempts, please retry later",
+        retryAfterSeconds);
+  }
+}
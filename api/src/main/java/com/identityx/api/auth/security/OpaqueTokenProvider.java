@@ -0,0 +1,217 @@
+package com.identityx.api.auth.security;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.identityx.api.auth.model.OpaqueAccessToken;
+import com.identityx.api.auth.repo.OpaqueAccessTokenRepository;
+import com.identityx.api.auth.web.dto.AppUserDetails;
+import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
+import com.identityx.api.role.model.PermissionSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opaque access tokens, enabled with {@code jwt.access-token.format=opaque}. The token is a short
+ * random handle that resolves through an {@link OpaqueTokenTable}; it carries no claims, so
+ * cookies shrink from several hundred bytes to 25, and dropping the handle revokes it at once.
+ *
+ * <p>
+ * Handles are only known to the node that issued them unless {@code jwt.opaque.write-through} is
+ * on. In that case every handle is also stored by digest in {@code opaque_access_token}, and a
+ * node that misses in memory loads it from there. Handles that were not found are remembered for
+ * a few seconds, so replaying a made-up handle does not reach the database every time; a handle
+ * cannot be looked up before it is issued, so this never hides a real one.
+ *
+ * <p>
+ * The expiry wheel ticks on its own thread rather than the shared scheduler, whose other jobs run
+ * for much longer than one tick.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "jwt.access-token.format", havingValue = "opaque")
+public class OpaqueTokenProvider implements IJwtTokenProvider, InitializingBean,
+    DisposableBean {
+
+  static final String HANDLE_PREFIX = "ot_";
+  private static final int HANDLE_BYTES = 16;
+  private static final int HANDLE_LENGTH = HANDLE_PREFIX.length() + (HANDLE_BYTES * 8 + 5) / 6;
+
+  private final OpaqueTokenTable table;
+  private final OpaqueAccessTokenRepository opaqueAccessTokenRepository;
+  private final boolean writeThrough;
+  private final Clock clock;
+  private final long jwtExpirationMs;
+  private final long tickMillis;
+  private final Cache<String, Boolean> unknownHandles;
+  private final ScheduledExecutorService wheel;
+  private final SecureRandom secureRandom = new SecureRandom();
+  private final Base64.Encoder base64Encoder = Base64.getUrlEncoder().withoutPadding();
+
+  public OpaqueTokenProvider(@Value("${jwt.opaque.shards:64}") int shardCount,
+      @Value("${jwt.opaque.wheel.tick-ms:1000}") long tickMillis,
+      @Value("${jwt.opaque.wheel.size:4096}") int wheelSize,
+      @Value("${jwt.opaque.write-through:false}") boolean writeThrough,
+      @Value("${jwt.opaque.miss-cache.ttl-ms:10000}") long missCacheTtlMs,
+      @Value("${jwt.opaque.miss-cache.max-size:100000}") long missCacheMaxSize,
+      @Value("${jwt.expiration.ms}") long jwtExpirationMs,
+      OpaqueAccessTokenRepository opaqueAccessTokenRepository, Clock clock,
+      MeterRegistry meterRegistry) {
+    this.table = new OpaqueTokenTable(shardCount, tickMillis, wheelSize, clock.millis());
+    this.opaqueAccessTokenRepository = opaqueAccessTokenRepository;
+    this.writeThrough = writeThrough;
+    this.clock = clock;
+    this.jwtExpirationMs = jwtExpirationMs;
+    this.tickMillis = tickMillis;
+    this.unknownHandles = Caffeine.newBuilder().maximumSize(missCacheMaxSize)
+        .expireAfterWrite(missCacheTtlMs, TimeUnit.MILLISECONDS).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, unknownHandles, "opaque.token.misses");
+    this.wheel = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "opaque-token-wheel");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    wheel.scheduleWithFixedDelay(() -> {
+      try {
+        expireTokens();
+      } catch (RuntimeException e) {
+        // An exception would cancel every later tick.
+        log.error("Failed to expire opaque tokens: {}", e.getMessage());
+      }
+    }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    wheel.shutdownNow();
+  }
+
+  @Override
+  public String generateJwtToken(AppUserDetails appUserDetails) {
+    return issue(new VerifiedToken(UUID.randomUUID().toString(),
+        appUserDetails.getUserId().toString(), appUserDetails.getUsername(),
+        PermissionAuthority.permissionsOf(appUserDetails.getAuthorities()),
+        clock.millis() + jwtExpirationMs, null, null));
+  }
+
+  @Override
+  public String generateClientToken(String clientId, Collection<String> scopes,
+      Instant expiresAt) {
+    return issue(new VerifiedToken(UUID.randomUUID().toString(), clientId, clientId,
+        PermissionSet.EMPTY, expiresAt.toEpochMilli(), clientId, String.join(" ", scopes)));
+  }
+
+  @Override
+  public ValidateJWTTokenResponse validateJwtToken(String accessToken) {
+    if (accessToken == null || accessToken.length() != HANDLE_LENGTH
+        || !isAccessTokenFormat(accessToken)) {
+      log.debug("Opaque token is missing or malformed");
+      return invalid();
+    }
+
+    long now = clock.millis();
+    VerifiedToken token = table.get(accessToken, now);
+    if (token == null && writeThrough) {
+      token = load(accessToken, now);
+    }
+    if (token == null) {
+      log.debug("Opaque token is unknown or expired");
+      return invalid();
+    }
+    return JwtTokenProvider.toValidResponse(token);
+  }
+
+  @Override
+  public boolean isAccessTokenFormat(String token) {
+    return token.startsWith(HANDLE_PREFIX);
+  }
+
+  @Override
+  public void invalidate(String accessToken) {
+    table.remove(accessToken);
+    if (writeThrough) {
+      opaqueAccessTokenRepository.deleteByTokenHash(TokenDigests.sha256(accessToken));
+    }
+  }
+
+  public int size() {
+    return table.size();
+  }
+
+  public void expireTokens() {
+    table.expire(clock.millis());
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.opaque.purge-interval-ms:60000}")
+  public void purgeExpiredTokens() {
+    if (writeThrough) {
+      int purged = opaqueAccessTokenRepository.deleteExpired(clock.instant());
+      log.debug("Purged {} expired opaque access tokens", purged);
+    }
+  }
+
+  private String issue(VerifiedToken token) {
+    byte[] randomBytes = new byte[HANDLE_BYTES];
+    secureRandom.nextBytes(randomBytes);
+    String handle = HANDLE_PREFIX + base64Encoder.encodeToString(randomBytes);
+
+    if (writeThrough) {
+      OpaqueAccessToken entity = new OpaqueAccessToken();
+      entity.setTokenHash(TokenDigests.sha256(handle));
+      entity.setTokenId(token.tokenId());
+      entity.setSubject(token.subject());
+      entity.setUsername(token.username());
+      entity.setAuthorities(token.permissions().encode());
+      entity.setClientId(token.clientId());
+      entity.setScope(token.scope());
+      entity.setExpiresAt(Instant.ofEpochMilli(token.expiresAtMillis()));
+      opaqueAccessTokenRepository.save(entity);
+    }
+    table.put(handle, token);
+    return handle;
+  }
+
+  private VerifiedToken load(String handle, long now) {
+    if (unknownHandles.getIfPresent(handle) != null) {
+      return null;
+    }
+    OpaqueAccessToken entity =
+        opaqueAccessTokenRepository.findByTokenHash(TokenDigests.sha256(handle)).orElse(null);
+    if (entity == null || entity.getExpiresAt().toEpochMilli() <= now) {
+      unknownHandles.put(handle, Boolean.TRUE);
+      return null;
+    }
+    VerifiedToken token = new VerifiedToken(entity.getTokenId(), entity.getSubject(),
+        entity.getUsername(), PermissionSet.decode(entity.getAuthorities()),
+        entity.getExpiresAt().toEpochMilli(), entity.getClientId(), entity.getScope());
+    table.put(handle, token);
+    return token;
+  }
+
+  private static ValidateJWTTokenResponse invalid() {
+    ValidateJWTTokenResponse response = new ValidateJWTTokenResponse();
+    response.setValid(false);
+    return response;
+  }
+}
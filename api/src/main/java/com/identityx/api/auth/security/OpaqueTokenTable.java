@@ -0,0 +1,134 @@
+package com.identityx.api.auth.security;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * In-memory session table behind opaque access tokens. Handles map to their {@link VerifiedToken}
+ * in a fixed number of shards, each guarded by its own monitor, so a lookup is one hash probe
+ * under an uncontended lock.
+ *
+ * <p>
+ * Expiry is tracked with a hashed timing wheel per shard: a handle is queued in the bucket of the
+ * tick its token expires in, and {@link #expire} drains only the buckets of ticks that have fully
+ * elapsed. Tokens living longer than one turn of the wheel stay queued until their round comes
+ * up. Lookups check the expiry themselves, so the wheel only bounds memory.
+ */
+final class OpaqueTokenTable {
+
+  private final Shard[] shards;
+  private final int shardMask;
+  private final long tickMillis;
+  private final int wheelMask;
+
+  OpaqueTokenTable(int shardCount, long tickMillis, int wheelSize, long nowMillis) {
+    int size = powerOfTwo(shardCount);
+    this.shards = new Shard[size];
+    this.shardMask = size - 1;
+    this.tickMillis = tickMillis;
+    this.wheelMask = powerOfTwo(wheelSize) - 1;
+    for (int i = 0; i < size; i++) {
+      shards[i] = new Shard(wheelMask + 1, nowMillis / tickMillis);
+    }
+  }
+
+  void put(String handle, VerifiedToken token) {
+    Shard shard = shardFor(handle);
+    synchronized (shard) {
+      shard.tokens.put(handle, token);
+      long tick = Math.max(token.expiresAtMillis() / tickMillis, shard.cursorTick);
+      shard.wheel[(int) (tick & wheelMask)].add(handle);
+    }
+  }
+
+  VerifiedToken get(String handle, long nowMillis) {
+    Shard shard = shardFor(handle);
+    synchronized (shard) {
+      VerifiedToken token = shard.tokens.get(handle);
+      if (token != null && token.expiresAtMillis() <= nowMillis) {
+        shard.tokens.remove(handle);
+        return null;
+      }
+      return token;
+    }
+  }
+
+  VerifiedToken remove(String handle) {
+    Shard shard = shardFor(handle);
+    synchronized (shard) {
+      // The wheel entry is left behind and dropped when its bucket is drained.
+      return shard.tokens.remove(handle);
+    }
+  }
+
+  /** Advances every shard's wheel to {@code nowMillis}; returns how many tokens were dropped. */
+  int expire(long nowMillis) {
+    long nowTick = nowMillis / tickMillis;
+    int expired = 0;
+    for (Shard shard : shards) {
+      synchronized (shard) {
+        expired += shard.advance(nowTick, nowMillis, wheelMask);
+      }
+    }
+    return expired;
+  }
+
+  int size() {
+    int size = 0;
+    for (Shard shard : shards) {
+      synchronized (shard) {
+        size += shard.tokens.size();
+      }
+    }
+    return size;
+  }
+
+  private Shard shardFor(String handle) {
+    int hash = handle.hashCode();
+    return shards[(hash ^ (hash >>> 16)) & shardMask];
+  }
+
+  private static int powerOfTwo(int value) {
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+  }
+
+  private static final class Shard {
+
+    final Map<String, VerifiedToken> tokens = new HashMap<>();
+    final ArrayDeque<String>[] wheel;
+    long cursorTick;
+
+    @SuppressWarnings("unchecked")
+    Shard(int wheelSize, long startTick) {
+      this.wheel = new ArrayDeque[wheelSize];
+      for (int i = 0; i < wheelSize; i++) {
+        wheel[i] = new ArrayDeque<>();
+      }
+      this.cursorTick = startTick;
+    }
+
+    int advance(long nowTick, long nowMillis, int wheelMask) {
+      // After a long pause each bucket only needs to be visited once.
+      long from = Math.max(cursorTick, nowTick - wheelMask - 1);
+      int expired = 0;
+      for (long tick = from; tick < nowTick; tick++) {
+        Iterator<String> bucket = wheel[(int) (tick & wheelMask)].iterator();
+        while (bucket.hasNext()) {
+          String handle = bucket.next();
+          VerifiedToken token = tokens.get(handle);
+          if (token == null) {
+            bucket.remove();
+          } else if (token.expiresAtMillis() <= nowMillis) {
+            tokens.remove(handle);
+            bucket.remove();
+            expired++;
+          }
+        }
+      }
+      cursorTick = Math.max(cursorTick, nowTick);
+      return expired;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.identityx.api.auth.security;
+
+import java.time.Duration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the BCrypt work factor for the current hardware: the highest strength whose single hash
+ * still fits in the configured target time.
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+  private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+  private PasswordHashCalibrator() {}
+
+  public static int calibrateBCryptStrength(Duration target, int minStrength, int maxStrength) {
+    // Warm up the JIT so the first measured round is not inflated.
+    new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+    int chosen = minStrength;
+    for (int strength = minStrength; strength <= maxStrength; strength++) {
+      long start = System.nanoTime();
+      new BCryptPasswordEncoder(strength).encode(SAMPLE_PASSWORD);
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+      log.info("BCrypt strength {} took {} ms", strength, elapsed.toMillis());
+      if (elapsed.compareTo(target) > 0) {
+        break;
+      }
+      chosen = strength;
+    }
+    log.info("Using BCrypt strength {} for a target of {} ms", chosen, target.toMillis());
+    return chosen;
+  }
+}
@@ -0,0 +1,168 @@
+package com.identityx.api.auth.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import com.identityx.api.common.exception.PasswordHashingException;
+import com.identityx.api.common.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs password hashing on a dedicated pool sized to the CPU count with a bounded queue, so a
+ * burst of logins or registrations cannot occupy every servlet thread with BCrypt work.
+ *
+ * <p>A caller waits at most {@code timeout-ms} for its hash. It is turned away with
+ * {@link ServiceOverloadedException} up front when the queue is full, or when the queue ahead of
+ * it would take longer than that to drain at the recent average hash time, so a backlog sheds
+ * load instead of pinning request threads until the timeout.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements IPasswordHasher, DisposableBean {
+
+  private static final String METRIC_PREFIX = "identityx.password.hash";
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  private final int backgroundQueueLimit;
+  private final long timeoutMs;
+  private final int poolSize;
+  // Moving average of recent hash times; 0 until the first hash completes.
+  private volatile long averageHashNanos;
+  private final long retryAfterSeconds;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejectedCounter;
+
+  public PasswordHasher(PasswordEncoder passwordEncoder,
+      @Value("${security.password.hashing.threads:0}") int threads,
+      @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${security.password.hashing.timeout-ms:1500}") long timeoutMs,
+      @Value("${security.password.hashing.retry-after-seconds:1}") long retryAfterSeconds,
+      MeterRegistry meterRegistry) {
+    this.passwordEncoder = passwordEncoder;
+    this.backgroundQueueLimit = queueCapacity / 2;
+    this.timeoutMs = timeoutMs;
+    this.retryAfterSeconds = retryAfterSeconds;
+
+    this.poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+    this.encodeTimer = Timer.builder(METRIC_PREFIX).tag("operation", "encode")
+        .publishPercentileHistogram().register(meterRegistry);
+    this.matchesTimer = Timer.builder(METRIC_PREFIX).tag("operation", "matches")
+        .publishPercentileHistogram().register(meterRegistry);
+    this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected").register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, e -> e.getQueue().size())
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    Boolean matches = submit(
+        () -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    return Boolean.TRUE.equals(matches);
+  }
+
+  @Override
+  public CompletableFuture<String> encodeInBackground(CharSequence rawPassword) {
+    if (executor.getQueue().size() >= backgroundQueueLimit) {
+      rejectedCounter.increment();
+      throw new ServiceOverloadedException("Password hashing queue is busy", retryAfterSeconds);
+    }
+    try {
+      return CompletableFuture.supplyAsync(
+          () -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)), executor);
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new ServiceOverloadedException("Password hashing queue is busy", retryAfterSeconds);
+    }
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return passwordEncoder.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T submit(Callable<T> task) {
+    long expectedWaitNanos = (executor.getQueue().size() / poolSize + 1) * averageHashNanos;
+    if (expectedWaitNanos > TimeUnit.MILLISECONDS.toNanos(timeoutMs)) {
+      rejectedCounter.increment();
+      throw overloaded();
+    }
+
+    Future<T> future;
+    try {
+      future = executor.submit(() -> timed(task));
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw overloaded();
+    }
+
+    try {
+      return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejectedCounter.increment();
+      throw overloaded();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw overloaded();
+    } catch (ExecutionException e) {
+      log.error("Password hashing failed", e.getCause());
+      throw new PasswordHashingException("Password hashing failed", e.getCause());
+    }
+  }
+
+  private <T> T timed(Callable<T> task) throws Exception {
+    long startNanos = System.nanoTime();
+    try {
+      return task.call();
+    } finally {
+      long elapsedNanos = System.nanoTime() - startNanos;
+      long average = averageHashNanos;
+      // Racing updates may lose a sample, which an estimate can afford.
+      averageHashNanos = average == 0 ? elapsedNanos : average + (elapsedNanos - average) / 8;
+    }
+  }
+
+  private ServiceOverloadedException overloaded() {
+    log.warn("Password hashing capacity exhausted (queued: {})", executor.getQueue().size());
+    return new ServiceOverloadedException("Server is busy, please retry shortly",
+        retryAfterSeconds);
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
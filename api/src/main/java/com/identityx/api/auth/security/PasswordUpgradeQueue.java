@@ -0,0 +1,99 @@
+package com.identityx.api.auth.security;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.identityx.api.appuser.service.IAppUserService;
+import com.identityx.api.appuser.service.PasswordHashUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-encodes passwords whose stored hash is outdated after a successful login and writes the new
+ * hashes in batches instead of inline with the login. The re-encode is handed to the
+ * {@link IPasswordHasher} pool as background work, so the login does not wait for a second hash;
+ * the raw password lives only in that bounded pool queue, only hashes reach this queue, and the
+ * scheduled flush does nothing but the database write.
+ *
+ * <p>An upgrade that cannot be hashed or queued is dropped and counted. The old hash still works,
+ * so it is simply retried on the user's next login.
+ */
+@Slf4j
+@Component
+public class PasswordUpgradeQueue {
+
+  private final BlockingQueue<PendingUpgrade> pendingUpgrades;
+  private final IPasswordHasher passwordHasher;
+  private final IAppUserService appUserService;
+  private final int batchSize;
+  private final Counter upgradedCounter;
+  private final Counter droppedCounter;
+
+  public PasswordUpgradeQueue(IPasswordHasher passwordHasher, IAppUserService appUserService,
+      @Value("${security.password.upgrade.queue-capacity:1000}") int queueCapacity,
+      @Value("${security.password.upgrade.batch-size:100}") int batchSize,
+      MeterRegistry meterRegistry) {
+    this.pendingUpgrades = new LinkedBlockingQueue<>(queueCapacity);
+    this.passwordHasher = passwordHasher;
+    this.appUserService = appUserService;
+    this.batchSize = batchSize;
+    this.upgradedCounter =
+        Counter.builder("identityx.password.upgrade").tag("outcome", "upgraded")
+            .register(meterRegistry);
+    this.droppedCounter =
+        Counter.builder("identityx.password.upgrade").tag("outcome", "dropped")
+            .register(meterRegistry);
+  }
+
+  public void enqueue(String username, String rawPassword, String currentHash) {
+    if (pendingUpgrades.remainingCapacity() == 0) {
+      droppedCounter.increment();
+      return;
+    }
+    try {
+      passwordHasher.encodeInBackground(rawPassword).whenComplete((newHash, failure) -> {
+        if (failure != null) {
+          log.warn("Dropped password upgrade for {}: {}", username, failure.getMessage());
+          droppedCounter.increment();
+        } else if (!pendingUpgrades.offer(new PendingUpgrade(username, currentHash, newHash))) {
+          droppedCounter.increment();
+        }
+      });
+    } catch (RuntimeException e) {
+      // Never fail the login over an upgrade.
+      log.debug("Dropped password upgrade for {}: {}", username, e.getMessage());
+      droppedCounter.increment();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${security.password.upgrade.flush-interval-ms:5000}")
+  public void flush() {
+    List<PendingUpgrade> batch = new ArrayList<>(batchSize);
+    while (pendingUpgrades.drainTo(batch, batchSize) > 0) {
+      Map<String, PendingUpgrade> latestByUsername = new LinkedHashMap<>();
+      batch.forEach(pending -> latestByUsername.put(pending.username(), pending));
+      batch.clear();
+
+      List<PasswordHashUpdate> updates = latestByUsername.values().stream()
+          .map(pending -> new PasswordHashUpdate(pending.username(), pending.currentHash(),
+              pending.newHash()))
+          .toList();
+      try {
+        upgradedCounter.increment(appUserService.updatePasswordHashes(updates));
+      } catch (RuntimeException e) {
+        log.error("Failed to write {} upgraded password hashes: {}", updates.size(),
+            e.getMessage());
+      }
+    }
+  }
+
+  private record PendingUpgrade(String username, String currentHash, String newHash) {
+  }
+}
@@ -0,0 +1,29 @@
+package com.identityx.api.auth.security;
+
+import java.util.Collection;
+import org.springframework.security.core.GrantedAuthority;
+import com.identityx.api.role.model.PermissionSet;
+
+/**
+ * Carries a user's whole {@link PermissionSet} as a single granted authority, so checks are bit
+ * tests instead of string comparisons over a list. {@link #getAuthority()} is the encoded set,
+ * the same value as the token's {@code perms} claim.
+ */
+public record PermissionAuthority(PermissionSet permissions) implements GrantedAuthority {
+
+  /** Union of every {@link PermissionAuthority} in {@code authorities}. */
+  public static PermissionSet permissionsOf(Collection<? extends GrantedAuthority> authorities) {
+    PermissionSet permissions = PermissionSet.EMPTY;
+    for (GrantedAuthority authority : authorities) {
+      if (authority instanceof PermissionAuthority permissionAuthority) {
+        permissions = permissions.union(permissionAuthority.permissions());
+      }
+    }
+    return permissions;
+  }
+
+  @Override
+  public String getAuthority() {
+    return permissions.encode();
+  }
+}
@@ -0,0 +1,43 @@
+package com.identityx.api.auth.security;
+
+import java.util.function.Supplier;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import com.identityx.api.role.model.Permission;
+
+/** Grants a request when the caller's {@link PermissionAuthority} contains the permission. */
+public final class PermissionAuthorizationManager
+    implements AuthorizationManager<RequestAuthorizationContext> {
+
+  private final Permission permission;
+
+  private PermissionAuthorizationManager(Permission permission) {
+    this.permission = permission;
+  }
+
+  public static PermissionAuthorizationManager hasPermission(Permission permission) {
+    return new PermissionAuthorizationManager(permission);
+  }
+
+  @Override
+  public AuthorizationResult authorize(Supplier<Authentication> authentication,
+      RequestAuthorizationContext context) {
+    return decide(authentication.get());
+  }
+
+  @Override
+  @Deprecated
+  public AuthorizationDecision check(Supplier<Authentication> authentication,
+      RequestAuthorizationContext context) {
+    return decide(authentication.get());
+  }
+
+  private AuthorizationDecision decide(Authentication authentication) {
+    boolean granted = authentication != null && authentication.isAuthenticated()
+        && PermissionAuthority.permissionsOf(authentication.getAuthorities()).contains(permission);
+    return new AuthorizationDecision(granted);
+  }
+}
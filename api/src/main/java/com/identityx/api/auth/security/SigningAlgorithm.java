@@ -0,0 +1,87 @@
+package com.identityx.api.auth.security;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+/**
+ * Access-token signing algorithms, selected with {@code jwt.signing.algorithm}. HS256 signs with
+ * the shared {@code jwt.secret.key}; the asymmetric algorithms sign with rotating key pairs whose
+ * public halves are published as a JWK set.
+ */
+public enum SigningAlgorithm {
+
+  HS256(null, null),
+  ES256("EC", "ES256"),
+  EDDSA("Ed25519", "EdDSA");
+
+  private final String keyAlgorithm;
+  private final String jwsName;
+
+  SigningAlgorithm(String keyAlgorithm, String jwsName) {
+    this.keyAlgorithm = keyAlgorithm;
+    this.jwsName = jwsName;
+  }
+
+  public boolean isAsymmetric() {
+    return keyAlgorithm != null;
+  }
+
+  /** The {@code alg} value used in JWS headers and JWKs. */
+  public String jwsName() {
+    return jwsName;
+  }
+
+  SignatureAlgorithm signatureAlgorithm() {
+    return switch (this) {
+      case ES256 -> Jwts.SIG.ES256;
+      case EDDSA -> Jwts.SIG.EdDSA;
+      case HS256 -> throw new IllegalStateException("HS256 has no key pair");
+    };
+  }
+
+  public KeyPair generateKeyPair() {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance(requireKeyAlgorithm());
+      if (this == ES256) {
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+      }
+      return generator.generateKeyPair();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Cannot generate " + this + " key pair", e);
+    }
+  }
+
+  public PublicKey decodePublicKey(byte[] encoded) {
+    try {
+      return KeyFactory.getInstance(requireKeyAlgorithm())
+          .generatePublic(new X509EncodedKeySpec(encoded));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Cannot decode " + this + " public key", e);
+    }
+  }
+
+  public PrivateKey decodePrivateKey(byte[] encoded) {
+    try {
+      return KeyFactory.getInstance(requireKeyAlgorithm())
+          .generatePrivate(new PKCS8EncodedKeySpec(encoded));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Cannot decode " + this + " private key", e);
+    }
+  }
+
+  private String requireKeyAlgorithm() {
+    if (keyAlgorithm == null) {
+      throw new IllegalStateException(this + " has no key pair");
+    }
+    return keyAlgorithm;
+  }
+}
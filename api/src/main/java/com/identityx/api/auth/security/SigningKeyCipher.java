@@ -0,0 +1,94 @@
+package com.identityx.api.auth.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps signing private keys with AES-256-GCM before they reach the {@code signing_key} table.
+ * The key-encryption key comes from {@code jwt.signing.key-encryption-key} (base64, 32 bytes) and
+ * never touches the database; the row's {@code key_id} is bound in as associated data, so a
+ * wrapped key cannot be moved to another row.
+ *
+ * <p>Asymmetric signing refuses to start without a key-encryption key unless
+ * {@code jwt.signing.allow-plaintext-keys} is set. Rows written before wrapping existed are still
+ * read, so they can age out through normal rotation.
+ */
+@Component
+public class SigningKeyCipher {
+
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  // A DER-encoded PKCS#8 key always starts with a SEQUENCE tag (0x30), so it can never be
+  // mistaken for this version byte.
+  private static final byte WRAPPED_V1 = 1;
+  private static final int KEY_LENGTH = 32;
+  private static final int IV_LENGTH = 12;
+  private static final int TAG_BITS = 128;
+
+  private final SecretKey keyEncryptionKey;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public SigningKeyCipher(@Value("${jwt.signing.algorithm:HS256}") SigningAlgorithm algorithm,
+      @Value("${jwt.signing.key-encryption-key:}") String keyEncryptionKey,
+      @Value("${jwt.signing.allow-plaintext-keys:false}") boolean allowPlaintextKeys) {
+    this.keyEncryptionKey = keyEncryptionKey.isEmpty() ? null : decodeKey(keyEncryptionKey);
+    if (algorithm.isAsymmetric() && this.keyEncryptionKey == null && !allowPlaintextKeys) {
+      throw new IllegalStateException("jwt.signing.key-encryption-key is required for "
+          + algorithm + " signing; set jwt.signing.allow-plaintext-keys=true to store keys as-is");
+    }
+  }
+
+  public byte[] wrap(String keyId, byte[] privateKey) {
+    if (keyEncryptionKey == null) {
+      return privateKey;
+    }
+    byte[] iv = new byte[IV_LENGTH];
+    secureRandom.nextBytes(iv);
+    byte[] ciphertext = crypt(Cipher.ENCRYPT_MODE, keyId, iv, privateKey, 0, privateKey.length);
+    return ByteBuffer.allocate(1 + IV_LENGTH + ciphertext.length).put(WRAPPED_V1).put(iv)
+        .put(ciphertext).array();
+  }
+
+  public byte[] unwrap(String keyId, byte[] stored) {
+    if (stored.length == 0 || stored[0] != WRAPPED_V1) {
+      return stored;
+    }
+    if (keyEncryptionKey == null) {
+      throw new IllegalStateException(
+          "Signing key " + keyId + " is encrypted but jwt.signing.key-encryption-key is not set");
+    }
+    byte[] iv = Arrays.copyOfRange(stored, 1, 1 + IV_LENGTH);
+    return crypt(Cipher.DECRYPT_MODE, keyId, iv, stored, 1 + IV_LENGTH,
+        stored.length - 1 - IV_LENGTH);
+  }
+
+  private byte[] crypt(int mode, String keyId, byte[] iv, byte[] input, int offset, int length) {
+    try {
+      Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(mode, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+      cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+      return cipher.doFinal(input, offset, length);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Signing key " + keyId + " could not be "
+          + (mode == Cipher.ENCRYPT_MODE ? "encrypted" : "decrypted"), e);
+    }
+  }
+
+  private static SecretKey decodeKey(String encoded) {
+    byte[] key = Base64.getDecoder().decode(encoded);
+    if (key.length != KEY_LENGTH) {
+      throw new IllegalStateException(
+          "jwt.signing.key-encryption-key must be " + KEY_LENGTH + " bytes, base64-encoded");
+    }
+    return new SecretKeySpec(key, "AES");
+  }
+}
@@ -0,0 +1,21 @@
+package com.identityx.api.auth.security;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One asymmetric signing key. It signs new tokens from {@code activatesAt} until a newer key
+ * activates, and verifies tokens until {@code retiresAt} ({@code null} while it is the newest).
+ */
+public record SigningKeyMaterial(String keyId, SigningAlgorithm algorithm, PrivateKey privateKey,
+    PublicKey publicKey, Instant activatesAt, Instant retiresAt) {
+
+  public static SigningKeyMaterial generate(SigningAlgorithm algorithm, Instant activatesAt) {
+    KeyPair keyPair = algorithm.generateKeyPair();
+    return new SigningKeyMaterial(UUID.randomUUID().toString(), algorithm, keyPair.getPrivate(),
+        keyPair.getPublic(), activatesAt, null);
+  }
+}
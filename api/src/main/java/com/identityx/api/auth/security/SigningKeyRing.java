@@ -0,0 +1,202 @@
+package com.identityx.api.auth.security;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * The keys access tokens are signed and verified with. With HS256 this is just the shared secret.
+ * With ES256 or EdDSA the ring holds every key that may still verify a live token; tokens carry
+ * the signing key's {@code kid}, so verification is a single map lookup. Keys are swapped in as
+ * one immutable snapshot by {@link #install}, so readers never see a half-updated ring.
+ *
+ * <p>After a switch away from HS256 the shared secret no longer verifies anything unless
+ * {@code jwt.signing.legacy-hs256-until} is set, and then only until that instant. Every service
+ * that held the secret could mint tokens with it, so the window should be the switch time plus
+ * one token lifetime; a forged {@code iat} cannot extend it.
+ */
+@Component
+public class SigningKeyRing {
+
+  private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+  private static final int ED25519_KEY_LENGTH = 32;
+  private static final int P256_COORDINATE_LENGTH = 32;
+
+  private final SigningAlgorithm algorithm;
+  private final SecretKey secretKey;
+  // When the secret stops verifying tokens without a kid; null if it never does.
+  private final Instant secretVerifiesUntil;
+  private final Clock clock;
+  private volatile Snapshot snapshot;
+
+  public SigningKeyRing(@Value("${jwt.signing.algorithm:HS256}") SigningAlgorithm algorithm,
+      @Value("${jwt.secret.key:}") String jwtSecretKey,
+      @Value("${jwt.signing.legacy-hs256-until:}") String legacyHs256Until, Clock clock) {
+    this.algorithm = algorithm;
+    this.clock = clock;
+    this.secretKey = jwtSecretKey.isEmpty() ? null
+        : Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    if (!algorithm.isAsymmetric()) {
+      if (secretKey == null) {
+        throw new IllegalStateException("jwt.secret.key is required for HS256 signing");
+      }
+      this.secretVerifiesUntil = Instant.MAX;
+    } else if (legacyHs256Until.isEmpty()) {
+      this.secretVerifiesUntil = null;
+    } else {
+      if (secretKey == null) {
+        throw new IllegalStateException(
+            "jwt.signing.legacy-hs256-until needs the old jwt.secret.key");
+      }
+      this.secretVerifiesUntil = Instant.parse(legacyHs256Until);
+    }
+    this.snapshot = Snapshot.of(null, Map.of());
+  }
+
+  public SigningAlgorithm getAlgorithm() {
+    return algorithm;
+  }
+
+  /**
+   * Replaces the key set. The newest key of the configured algorithm that has activated signs new
+   * tokens; every key not yet retired verifies them and is published in the JWK set.
+   */
+  public void install(Collection<SigningKeyMaterial> keys, Instant now) {
+    Map<String, SigningKeyMaterial> byKeyId = new HashMap<>();
+    SigningKeyMaterial current = null;
+    for (SigningKeyMaterial key : keys) {
+      if (key.retiresAt() != null && !key.retiresAt().isAfter(now)) {
+        continue;
+      }
+      byKeyId.put(key.keyId(), key);
+      if (key.algorithm() == algorithm && !key.activatesAt().isAfter(now)
+          && (current == null || key.activatesAt().isAfter(current.activatesAt()))) {
+        current = key;
+      }
+    }
+    this.snapshot = Snapshot.of(current, Map.copyOf(byKeyId));
+  }
+
+  /** Signs the token with the current key, adding its {@code kid} header. */
+  public JwtBuilder signWith(JwtBuilder builder) {
+    if (!algorithm.isAsymmetric()) {
+      return builder.signWith(secretKey);
+    }
+    SigningKeyMaterial current = snapshot.current();
+    if (current == null) {
+      throw new IllegalStateException("No " + algorithm + " signing key is active");
+    }
+    return builder.header().keyId(current.keyId()).and().signWith(current.privateKey(),
+        current.algorithm().signatureAlgorithm());
+  }
+
+  /**
+   * Resolves the verification key for a token header. Tokens without a {@code kid} were signed
+   * with the shared secret, which is accepted under HS256 and, after a switch, only within the
+   * {@code jwt.signing.legacy-hs256-until} window.
+   */
+  public Key locate(Header header) {
+    String keyId = header instanceof ProtectedHeader protectedHeader
+        ? protectedHeader.getKeyId()
+        : null;
+    if (keyId == null) {
+      if (secretVerifiesUntil == null || !clock.instant().isBefore(secretVerifiesUntil)) {
+        throw new UnsupportedJwtException("JWT token has no key id");
+      }
+      return secretKey;
+    }
+    SigningKeyMaterial key = snapshot.byKeyId().get(keyId);
+    if (key == null) {
+      throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+    }
+    return key.publicKey();
+  }
+
+  /** The public keys as a JWK set document (RFC 7517). */
+  public String getJwks() {
+    return snapshot.jwks();
+  }
+
+  /** A strong validator for {@link #getJwks()}; it changes only when the key set does. */
+  public String getJwksEtag() {
+    return snapshot.jwksEtag();
+  }
+
+  private record Snapshot(SigningKeyMaterial current, Map<String, SigningKeyMaterial> byKeyId,
+      String jwks, String jwksEtag) {
+
+    static Snapshot of(SigningKeyMaterial current, Map<String, SigningKeyMaterial> byKeyId) {
+      String jwks = toJwks(byKeyId.values());
+      return new Snapshot(current, byKeyId, jwks, etagOf(jwks));
+    }
+  }
+
+  private static String toJwks(Collection<SigningKeyMaterial> keys) {
+    StringBuilder json = new StringBuilder("{\"keys\":[");
+    String separator = "";
+    for (SigningKeyMaterial key : keys.stream()
+        .sorted(Comparator.comparing(SigningKeyMaterial::activatesAt)).toList()) {
+      json.append(separator).append(toJwk(key));
+      separator = ",";
+    }
+    return json.append("]}").toString();
+  }
+
+  private static String toJwk(SigningKeyMaterial key) {
+    String parameters = switch (key.algorithm()) {
+      case ES256 -> {
+        ECPublicKey publicKey = (ECPublicKey) key.publicKey();
+        yield "\"kty\":\"EC\",\"crv\":\"P-256\",\"x\":\""
+            + base64Url(publicKey.getW().getAffineX(), P256_COORDINATE_LENGTH) + "\",\"y\":\""
+            + base64Url(publicKey.getW().getAffineY(), P256_COORDINATE_LENGTH) + "\"";
+      }
+      case EDDSA -> {
+        // The raw Ed25519 key is the tail of its X.509 SubjectPublicKeyInfo encoding.
+        byte[] encoded = key.publicKey().getEncoded();
+        yield "\"kty\":\"OKP\",\"crv\":\"Ed25519\",\"x\":\"" + BASE64_URL.encodeToString(
+            Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length))
+            + "\"";
+      }
+      case HS256 -> throw new IllegalStateException("HS256 keys are never published");
+    };
+    return "{" + parameters + ",\"use\":\"sig\",\"alg\":\"" + key.algorithm().jwsName()
+        + "\",\"kid\":\"" + key.keyId() + "\"}";
+  }
+
+  private static String base64Url(BigInteger value, int length) {
+    byte[] bytes = value.toByteArray();
+    byte[] fixed = new byte[length];
+    int copy = Math.min(bytes.length, length);
+    System.arraycopy(bytes, bytes.length - copy, fixed, length - copy, copy);
+    return BASE64_URL.encodeToString(fixed);
+  }
+
+  private static String etagOf(String jwks) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(jwks.getBytes(StandardCharsets.UTF_8));
+      return "\"" + BASE64_URL.encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
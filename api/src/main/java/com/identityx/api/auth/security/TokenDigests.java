@@ -0,0 +1,33 @@
+package com.identityx.api.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+public final class TokenDigests {
+
+  private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  });
+
+  private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private TokenDigests() {}
+
+  public static byte[] sha256(String token) {
+    return SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static String sha256Base64(String token) {
+    return base64(sha256(token));
+  }
+
+  public static String base64(byte[] digest) {
+    return BASE64_ENCODER.encodeToString(digest);
+  }
+}
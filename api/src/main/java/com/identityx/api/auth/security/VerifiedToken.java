@@ -0,0 +1,11 @@
+package com.identityx.api.auth.security;
+
+import com.identityx.api.role.model.PermissionSet;
+
+/**
+ * Claims of a verified access token. {@code clientId} and {@code scope} are only set on tokens
+ * issued to clients through the {@code client_credentials} grant; clients hold no permissions.
+ */
+public record VerifiedToken(String tokenId, String subject, String username,
+    PermissionSet permissions, long expiresAtMillis, String clientId, String scope) {
+}
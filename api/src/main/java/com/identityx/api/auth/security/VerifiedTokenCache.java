@@ -0,0 +1,78 @@
+package com.identityx.api.auth.security;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Size-bounded cache of access tokens that already passed signature and claim validation, keyed by
+ * the SHA-256 digest of the token so raw tokens are never retained. Entries expire with the token.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final boolean enabled;
+  private final Clock clock;
+  private final Cache<String, VerifiedToken> cache;
+
+  public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+      @Value("${jwt.cache.max-size:10000}") long maxSize, Clock clock,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.clock = clock;
+    this.cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new UntilTokenExpiry())
+        .recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+  }
+
+  public VerifiedToken get(String accessToken) {
+    if (!enabled) {
+      return null;
+    }
+    String key = TokenDigests.sha256Base64(accessToken);
+    VerifiedToken verifiedToken = cache.getIfPresent(key);
+    if (verifiedToken != null && verifiedToken.expiresAtMillis() <= clock.millis()) {
+      // Caffeine expires lazily on its own ticker; never hand out a token past its exp.
+      cache.invalidate(key);
+      return null;
+    }
+    return verifiedToken;
+  }
+
+  public void put(String accessToken, VerifiedToken verifiedToken) {
+    if (enabled && verifiedToken.expiresAtMillis() > clock.millis()) {
+      cache.put(TokenDigests.sha256Base64(accessToken), verifiedToken);
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      long remainingMs = value.expiresAtMillis() - clock.millis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.identityx.api.auth.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.identityx.api.auth.model.RevokedAccessToken;
+import com.identityx.api.auth.repo.RevokedAccessTokenRepository;
+import com.identityx.api.auth.repo.RevokedAccessTokenView;
+import com.identityx.api.auth.security.AccessTokenDenylist;
+import com.identityx.api.common.invalidation.InvalidationBus;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.common.invalidation.InvalidationType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revokes access tokens before their {@code exp}. Lookups only touch the in-memory
+ * {@link AccessTokenDenylist}; the {@code revoked_access_token} table keeps revocations across
+ * restarts and is re-read on every rebuild. Other nodes learn about a revocation right away through
+ * the {@link InvalidationBus}; the rebuild catches any broadcast that was lost.
+ *
+ * <p>The rebuild streams only {@code (token_id, expires_at)} of live rows. Expired rows are never
+ * loaded, so deleting them is left to a separate, much less frequent purge; the delete is
+ * idempotent, so nodes that run it at the same time only repeat each other's work.
+ */
+@Slf4j
+@Service
+public class AccessTokenRevocationService implements IAccessTokenRevocationService,
+    InitializingBean {
+
+  private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+  private final Clock clock;
+  private final InvalidationBus invalidationBus;
+  private final TransactionTemplate readOnlyTransaction;
+  private final AccessTokenDenylist denylist;
+
+  public AccessTokenRevocationService(
+      RevokedAccessTokenRepository revokedAccessTokenRepository, Clock clock,
+      InvalidationBus invalidationBus, TransactionTemplate transactionTemplate,
+      @Value("${jwt.revocation.bloom.expected-insertions:100000}") long expectedInsertions,
+      @Value("${jwt.revocation.bloom.false-positive-probability:0.01}")
+      double falsePositiveProbability,
+      MeterRegistry meterRegistry) {
+    this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+    this.clock = clock;
+    this.invalidationBus = invalidationBus;
+    this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.readOnlyTransaction.setReadOnly(true);
+    this.denylist = new AccessTokenDenylist(expectedInsertions, falsePositiveProbability);
+    Gauge.builder("identityx.access-token.revoked", denylist, AccessTokenDenylist::size)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    rebuild();
+  }
+
+  @Override
+  public void revoke(String tokenId, Instant expiresAt) {
+    if (tokenId == null || expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+      return;
+    }
+    if (!denylist.add(tokenId, expiresAt.toEpochMilli())) {
+      return;
+    }
+
+    RevokedAccessToken revokedAccessToken = new RevokedAccessToken();
+    revokedAccessToken.setTokenId(tokenId);
+    revokedAccessToken.setExpiresAt(expiresAt);
+    try {
+      revokedAccessTokenRepository.save(revokedAccessToken);
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Access token {} was already revoked by another node", tokenId);
+    }
+    invalidationBus.publish(InvalidationEvent.tokenRevoked(tokenId, expiresAt));
+  }
+
+  @EventListener
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationType.TOKENS_REVOKED) {
+      denylist.add(event.key(), event.expiresAtMillis());
+    }
+  }
+
+  @Override
+  public boolean isRevoked(String tokenId) {
+    return tokenId != null && denylist.contains(tokenId, clock.millis());
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:60000}")
+  public void rebuild() {
+    Instant now = clock.instant();
+    Map<String, Long> live = readOnlyTransaction.execute(status -> {
+      try (Stream<RevokedAccessTokenView> rows = revokedAccessTokenRepository.streamLive(now)) {
+        return rows.collect(Collectors.toMap(RevokedAccessTokenView::getTokenId,
+            row -> row.getExpiresAt().toEpochMilli(), (first, second) -> first));
+      }
+    });
+    denylist.rebuild(live, now.toEpochMilli());
+    log.debug("Rebuilt access token denylist with {} entries", denylist.size());
+  }
+
+  @Scheduled(cron = "${jwt.revocation.purge.cron:0 */15 * * * *}")
+  public void purgeExpired() {
+    int purged = revokedAccessTokenRepository.deleteExpired(clock.instant());
+    log.debug("Purged {} expired access token revocations", purged);
+  }
+}
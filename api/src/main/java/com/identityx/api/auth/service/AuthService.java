@@ -1,45 +1,128 @@
 package com.identityx.api.auth.service;
 
-import org.springframework.data.util.Pair;
+import java.util.concurrent.TimeUnit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
 import com.identityx.api.auth.mapper.AuthMapper;
 import com.identityx.api.auth.security.IJwtTokenProvider;
+import com.identityx.api.auth.security.LoginRateLimiter;
 import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.auth.web.dto.LoginRequest;
 import com.identityx.api.auth.web.dto.LoginResponse;
-import lombok.RequiredArgsConstructor;
+import com.identityx.api.auth.web.dto.RefreshTokenResponse;
+import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Logs users in and out. A login is timed as a whole ({@code identityx.auth.login}, tagged with
+ * its outcome) and per phase ({@code identityx.auth.login.phase}): the password check and issuing
+ * the token pair.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuthService implements IAuthService {
 
+  private static final String LOGIN_METRIC = "identityx.auth.login";
+
   private final AuthenticationManager authenticationManager;
   private final IJwtTokenProvider jwtTokenProvider;
+  private final LoginRateLimiter loginRateLimiter;
+  private final IRefreshTokenService refreshTokenService;
+  private final IAccessTokenRevocationService accessTokenRevocationService;
+  private final Timer loginSuccessTimer;
+  private final Timer loginFailureTimer;
+  private final Timer authenticateTimer;
+  private final Timer issueTokensTimer;
+
+  public AuthService(AuthenticationManager authenticationManager,
+      IJwtTokenProvider jwtTokenProvider, LoginRateLimiter loginRateLimiter,
+      IRefreshTokenService refreshTokenService,
+      IAccessTokenRevocationService accessTokenRevocationService, MeterRegistry meterRegistry) {
+    this.authenticationManager = authenticationManager;
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.loginRateLimiter = loginRateLimiter;
+    this.refreshTokenService = refreshTokenService;
+    this.accessTokenRevocationService = accessTokenRevocationService;
+    this.loginSuccessTimer = Timer.builder(LOGIN_METRIC).tag("outcome", "success")
+        .publishPercentileHistogram().register(meterRegistry);
+    this.loginFailureTimer = Timer.builder(LOGIN_METRIC).tag("outcome", "failure")
+        .publishPercentileHistogram().register(meterRegistry);
+    this.authenticateTimer = Timer.builder(LOGIN_METRIC + ".phase").tag("phase", "authenticate")
+        .publishPercentileHistogram().register(meterRegistry);
+    this.issueTokensTimer = Timer.builder(LOGIN_METRIC + ".phase").tag("phase", "issue-tokens")
+        .publishPercentileHistogram().register(meterRegistry);
+  }
 
   @Override
-  public Pair<LoginResponse, String> login(LoginRequest loginRequest) {
+  public LoginResult login(LoginRequest loginRequest, String clientIp, String deviceLabel) {
+    long startNanos = System.nanoTime();
+    boolean success = false;
+    try {
+      LoginResult loginResult = doLogin(loginRequest, clientIp, deviceLabel);
+      success = loginResult.refreshToken() != null;
+      return loginResult;
+    } finally {
+      (success ? loginSuccessTimer : loginFailureTimer).record(System.nanoTime() - startNanos,
+          TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private LoginResult doLogin(LoginRequest loginRequest, String clientIp, String deviceLabel) {
+
+    loginRateLimiter.checkAllowed(loginRequest.username(), clientIp);
 
     Authentication authentication = UsernamePasswordAuthenticationToken
         .unauthenticated(loginRequest.username(), loginRequest.password());
 
-    Authentication authenticated = authenticationManager.authenticate(authentication);
+    Authentication authenticated;
+    try {
+      authenticated =
+          authenticateTimer.record(() -> authenticationManager.authenticate(authentication));
+    } catch (AuthenticationException e) {
+      // Unknown usernames too, or a spray of made-up names would only meet the per-IP limit.
+      loginRateLimiter.recordFailure(loginRequest.username());
+      throw e;
+    }
     LoginResponse loginResponse = new LoginResponse();
-    String accessToken = "";
 
     if (authenticated.isAuthenticated()) {
+      long issueStartNanos = System.nanoTime();
       AppUserDetails appUserDetails = (AppUserDetails) authenticated.getPrincipal();
-      accessToken = jwtTokenProvider.generateJwtToken(appUserDetails);
-
+      String accessToken = jwtTokenProvider.generateJwtToken(appUserDetails);
+      RefreshTokenResponse refreshTokenResponse =
+          refreshTokenService.createRefreshToken(appUserDetails, deviceLabel);
+      issueTokensTimer.record(System.nanoTime() - issueStartNanos, TimeUnit.NANOSECONDS);
 
       AuthMapper.toLoginResponse(appUserDetails, loginResponse);
-      return Pair.of(loginResponse, accessToken != null ? accessToken : "");
+      return new LoginResult(loginResponse, accessToken != null ? accessToken : "",
+          refreshTokenResponse);
     }
 
-    return Pair.of(loginResponse, accessToken);
+    loginRateLimiter.recordFailure(loginRequest.username());
+    return new LoginResult(loginResponse, "", null);
+  }
+
+  /**
+   * Ends the current device's session: the refresh token is deleted and the access token is
+   * revoked until its {@code exp}, so a copied cookie stops working immediately.
+   */
+  @Override
+  public void logout(String accessToken, String refreshToken) {
+    if (accessToken != null && !accessToken.isBlank()) {
+      ValidateJWTTokenResponse validationResponse = jwtTokenProvider.validateJwtToken(accessToken);
+      if (validationResponse.isValid()) {
+        accessTokenRevocationService.revoke(validationResponse.getTokenId(),
+            validationResponse.getExpiresAt());
+        jwtTokenProvider.invalidate(accessToken);
+      }
+    }
+    if (refreshToken != null && !refreshToken.isEmpty()) {
+      refreshTokenService.revokeByRefreshToken(refreshToken);
+    }
   }
 }
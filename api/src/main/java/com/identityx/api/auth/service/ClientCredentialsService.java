@@ -0,0 +1,200 @@
+package com.identityx.api.auth.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.stereotype.Service;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.identityx.api.auth.security.IJwtTokenProvider;
+import com.identityx.api.auth.security.IPasswordHasher;
+import com.identityx.api.auth.security.TokenDigests;
+import com.identityx.api.auth.web.dto.TokenResponse;
+import com.identityx.api.common.exception.OAuth2RequestException;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.common.invalidation.InvalidationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The {@code client_credentials} grant. Clients are registered through the standard
+ * {@code spring.security.oauth2.authorizationserver.client.*} properties, which back the
+ * {@link RegisteredClientRepository}.
+ *
+ * <p>A successful secret check is remembered for a short window, so a client that asks for
+ * tokens often pays for one slow hash per window instead of one per call. Issued tokens are
+ * reused per client and scope set until {@code token-reuse-margin-ms} before they expire, or
+ * until they are revoked.
+ */
+@Slf4j
+@Service
+public class ClientCredentialsService implements IClientCredentialsService {
+
+  private static final String TOKEN_TYPE = "Bearer";
+
+  private final ObjectProvider<RegisteredClientRepository> registeredClientRepository;
+  private final IPasswordHasher passwordHasher;
+  private final IJwtTokenProvider jwtTokenProvider;
+  private final Clock clock;
+  private final long tokenReuseMarginMs;
+  private final Cache<String, String> verifiedSecrets;
+  private final Cache<TokenKey, IssuedToken> issuedTokens;
+  private final Map<String, TokenKey> issuedTokenKeysById = new ConcurrentHashMap<>();
+
+  public ClientCredentialsService(
+      ObjectProvider<RegisteredClientRepository> registeredClientRepository,
+      IPasswordHasher passwordHasher, IJwtTokenProvider jwtTokenProvider, Clock clock,
+      @Value("${oauth2.client.secret-cache-ttl-ms:60000}") long secretCacheTtlMs,
+      @Value("${oauth2.client.token-reuse-margin-ms:30000}") long tokenReuseMarginMs,
+      @Value("${oauth2.client.cache.max-size:1000}") long maxSize,
+      MeterRegistry meterRegistry) {
+    this.registeredClientRepository = registeredClientRepository;
+    this.passwordHasher = passwordHasher;
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.clock = clock;
+    this.tokenReuseMarginMs = tokenReuseMarginMs;
+    this.verifiedSecrets = Caffeine.newBuilder().maximumSize(maxSize)
+        .expireAfterWrite(Duration.ofMillis(secretCacheTtlMs)).recordStats().build();
+    this.issuedTokens = Caffeine.newBuilder().maximumSize(maxSize)
+        .expireAfter(new UntilReuseMargin())
+        .removalListener((TokenKey key, IssuedToken value, RemovalCause cause) -> {
+          if (value != null) {
+            issuedTokenKeysById.remove(value.tokenId(), key);
+          }
+        }).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedSecrets, "oauth2.client.secrets");
+    CaffeineCacheMetrics.monitor(meterRegistry, issuedTokens, "oauth2.client.tokens");
+  }
+
+  @Override
+  public TokenResponse issueToken(String grantType, String clientId, String clientSecret,
+      ClientAuthenticationMethod authenticationMethod, String scope) {
+    if (!AuthorizationGrantType.CLIENT_CREDENTIALS.getValue().equals(grantType)) {
+      throw new OAuth2RequestException(HttpStatus.BAD_REQUEST, "unsupported_grant_type",
+          "Only the client_credentials grant is supported");
+    }
+
+    RegisteredClient client = authenticate(clientId, clientSecret, authenticationMethod);
+    if (!client.getAuthorizationGrantTypes().contains(AuthorizationGrantType.CLIENT_CREDENTIALS)) {
+      throw new OAuth2RequestException(HttpStatus.BAD_REQUEST, "unauthorized_client",
+          "Client is not allowed to use the client_credentials grant");
+    }
+
+    SortedSet<String> scopes = resolveScopes(client, scope);
+    IssuedToken issuedToken = issuedTokens.get(new TokenKey(client.getClientId(), scopes),
+        key -> issue(client, key));
+
+    TokenResponse response = new TokenResponse();
+    response.setAccessToken(issuedToken.accessToken());
+    response.setTokenType(TOKEN_TYPE);
+    response.setExpiresIn(Math.max(0,
+        Duration.between(clock.instant(), issuedToken.expiresAt()).toSeconds()));
+    response.setScope(scopes.isEmpty() ? null : String.join(" ", scopes));
+    return response;
+  }
+
+  /** Stops handing out a cached token once it has been revoked. */
+  @EventListener
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationType.TOKENS_REVOKED) {
+      TokenKey key = issuedTokenKeysById.remove(event.key());
+      if (key != null) {
+        issuedTokens.asMap().computeIfPresent(key,
+            (cachedKey, cached) -> cached.tokenId().equals(event.key()) ? null : cached);
+      }
+    }
+  }
+
+  private RegisteredClient authenticate(String clientId, String clientSecret,
+      ClientAuthenticationMethod authenticationMethod) {
+    RegisteredClientRepository repository = registeredClientRepository.getIfAvailable();
+    if (repository == null || clientId == null || clientSecret == null) {
+      throw OAuth2RequestException.invalidClient();
+    }
+    RegisteredClient client = repository.findByClientId(clientId);
+    if (client == null || client.getClientSecret() == null
+        || !client.getClientAuthenticationMethods().contains(authenticationMethod)
+        || (client.getClientSecretExpiresAt() != null
+            && !client.getClientSecretExpiresAt().isAfter(clock.instant()))) {
+      throw OAuth2RequestException.invalidClient();
+    }
+
+    // Keyed by a digest of the presented secret and tied to the stored hash, so a secret
+    // change in the registry invalidates earlier verifications.
+    String cacheKey = clientId + ':' + TokenDigests.sha256Base64(clientSecret);
+    if (!client.getClientSecret().equals(verifiedSecrets.getIfPresent(cacheKey))) {
+      if (!passwordHasher.matches(clientSecret, client.getClientSecret())) {
+        log.warn("Client authentication failed for client: {}", clientId);
+        throw OAuth2RequestException.invalidClient();
+      }
+      verifiedSecrets.put(cacheKey, client.getClientSecret());
+    }
+    return client;
+  }
+
+  private static SortedSet<String> resolveScopes(RegisteredClient client, String scope) {
+    if (scope == null || scope.isBlank()) {
+      return new TreeSet<>(client.getScopes());
+    }
+    SortedSet<String> requested = new TreeSet<>(Arrays.asList(scope.trim().split("\\s+")));
+    if (!client.getScopes().containsAll(requested)) {
+      throw new OAuth2RequestException(HttpStatus.BAD_REQUEST, "invalid_scope",
+          "Requested scope is not allowed for this client");
+    }
+    return requested;
+  }
+
+  private IssuedToken issue(RegisteredClient client, TokenKey key) {
+    Instant expiresAt =
+        clock.instant().plus(client.getTokenSettings().getAccessTokenTimeToLive());
+    String accessToken = jwtTokenProvider.generateClientToken(client.getClientId(),
+        key.scopes(), expiresAt);
+    // Revocations are broadcast by jti, so remember which cached token each one belongs to.
+    String tokenId = jwtTokenProvider.validateJwtToken(accessToken).getTokenId();
+    issuedTokenKeysById.put(tokenId, key);
+    log.debug("Issued client token for client: {}", client.getClientId());
+    return new IssuedToken(accessToken, tokenId, expiresAt);
+  }
+
+  private record TokenKey(String clientId, SortedSet<String> scopes) {}
+
+  private record IssuedToken(String accessToken, String tokenId, Instant expiresAt) {}
+
+  private final class UntilReuseMargin implements Expiry<TokenKey, IssuedToken> {
+
+    @Override
+    public long expireAfterCreate(TokenKey key, IssuedToken value, long currentTime) {
+      long reusableMs = value.expiresAt().toEpochMilli() - clock.millis() - tokenReuseMarginMs;
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(reusableMs, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(TokenKey key, IssuedToken value, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(TokenKey key, IssuedToken value, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
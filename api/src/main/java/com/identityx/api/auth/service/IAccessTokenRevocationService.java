@@ -0,0 +1,11 @@
+package com.identityx.api.auth.service;
+
+import java.time.Instant;
+
+public interface IAccessTokenRevocationService {
+
+  void revoke(String tokenId, Instant expiresAt);
+
+  boolean isRevoked(String tokenId);
+
+}
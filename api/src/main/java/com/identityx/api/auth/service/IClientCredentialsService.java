@@ -0,0 +1,9 @@
+package com.identityx.api.auth.service;
+
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import com.identityx.api.auth.web.dto.TokenResponse;
+
+public interface IClientCredentialsService {
+  TokenResponse issueToken(String grantType, String clientId, String clientSecret,
+      ClientAuthenticationMethod authenticationMethod, String scope);
+}
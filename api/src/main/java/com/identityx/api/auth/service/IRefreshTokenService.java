@@ -1,13 +1,22 @@
 package com.identityx.api.auth.service;
 
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.util.Pair;
+import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.auth.web.dto.RefreshTokenResponse;
+import com.identityx.api.auth.web.dto.SessionResponse;
 
 public interface IRefreshTokenService {
-  RefreshTokenResponse createRefreshToken(UUID userId);
+  RefreshTokenResponse createRefreshToken(AppUserDetails appUserDetails, String deviceLabel);
 
   Pair<String, String> refreshAccessToken(String refreshAccessToken);
 
+  List<SessionResponse> getSessions(UUID userId, String currentRefreshToken);
+
+  void revokeSession(UUID userId, UUID sessionId);
+
+  void revokeByRefreshToken(String refreshToken);
+
   void deleteByUserId(UUID userId);
 }
@@ -0,0 +1,13 @@
+package com.identityx.api.auth.service;
+
+import java.util.List;
+import com.identityx.api.auth.web.dto.IntrospectionResponse;
+
+public interface ITokenIntrospectionService {
+  IntrospectionResponse introspect(String token, String tokenTypeHint);
+
+  List<IntrospectionResponse> introspectAll(List<String> tokens, String tokenTypeHint);
+
+  /** How long a caller may reuse {@code response}, never longer than the token lives. */
+  long getMaxAgeSeconds(IntrospectionResponse response);
+}
@@ -0,0 +1,11 @@
+package com.identityx.api.auth.service;
+
+import com.identityx.api.auth.web.dto.LoginResponse;
+import com.identityx.api.auth.web.dto.RefreshTokenResponse;
+
+/**
+ * Everything a successful login hands back to the client: the response body and both tokens.
+ */
+public record LoginResult(LoginResponse loginResponse, String accessToken,
+    RefreshTokenResponse refreshToken) {
+}
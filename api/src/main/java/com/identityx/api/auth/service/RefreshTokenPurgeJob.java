@@ -0,0 +1,46 @@
+package com.identityx.api.auth.service;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.identityx.api.auth.store.IRefreshTokenStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically removes expired refresh tokens from the configured store. How the removal is
+ * bounded is up to the store; the JPA store deletes in small chunks, one transaction per chunk.
+ */
+@Slf4j
+@Component
+public class RefreshTokenPurgeJob {
+
+  private final IRefreshTokenStore refreshTokenStore;
+  private final Clock clock;
+  private final Counter purgedCounter;
+  private final Timer purgeTimer;
+
+  public RefreshTokenPurgeJob(IRefreshTokenStore refreshTokenStore, Clock clock,
+      MeterRegistry meterRegistry) {
+    this.refreshTokenStore = refreshTokenStore;
+    this.clock = clock;
+    this.purgedCounter =
+        Counter.builder("identityx.refresh-token.purge.rows").register(meterRegistry);
+    this.purgeTimer = Timer.builder("identityx.refresh-token.purge").register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${jwt.refresh.purge.cron:0 */15 * * * *}")
+  public void purgeExpiredTokens() {
+    long start = System.nanoTime();
+    int purged = refreshTokenStore.purgeExpired(clock.instant());
+
+    long elapsedNanos = System.nanoTime() - start;
+    purgeTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    purgedCounter.increment(purged);
+    log.info("Purged {} expired refresh tokens in {} ms", purged,
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+  }
+}
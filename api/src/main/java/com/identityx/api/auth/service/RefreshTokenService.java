@@ -1,91 +1,171 @@
 package com.identityx.api.auth.service;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import com.identityx.api.appuser.model.AppUser;
-import com.identityx.api.appuser.service.IAppUserService;
 import com.identityx.api.auth.mapper.AuthMapper;
-import com.identityx.api.auth.model.RefreshToken;
-import com.identityx.api.auth.repo.RefreshTokenRepository;
 import com.identityx.api.auth.security.IJwtTokenProvider;
 import com.identityx.api.auth.security.IRefreshTokenProvider;
+import com.identityx.api.auth.security.PermissionAuthority;
+import com.identityx.api.auth.security.TokenDigests;
+import com.identityx.api.auth.store.IRefreshTokenStore;
+import com.identityx.api.auth.store.RefreshTokenRecord;
 import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.auth.web.dto.RefreshTokenResponse;
+import com.identityx.api.auth.web.dto.SessionResponse;
+import com.identityx.api.common.exception.ResourceNotFoundException;
 import com.identityx.api.common.exception.TokenRefreshException;
-import lombok.RequiredArgsConstructor;
-
+import com.identityx.api.common.invalidation.InvalidationBus;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.role.model.PermissionSet;
+import com.identityx.api.role.service.IRoleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Manages refresh-token sessions. Each operation is timed as {@code identityx.refresh-token},
+ * tagged with the operation name.
+ */
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenService implements IRefreshTokenService {
 
-  private final RefreshTokenRepository refreshTokenRepository;
-  private final IAppUserService appUserService;
+  private static final int DEVICE_LABEL_MAX_LENGTH = 255;
+  private static final String METRIC_NAME = "identityx.refresh-token";
+
+  private final IRefreshTokenStore refreshTokenStore;
   private final IRefreshTokenProvider refreshTokenProvider;
   private final IJwtTokenProvider jwtTokenProvider;
+  private final Clock clock;
+  private final InvalidationBus invalidationBus;
+  private final IRoleService roleService;
+  private final Timer createTimer;
+  private final Timer refreshTimer;
+  private final Timer sessionsTimer;
+  private final Timer revokeTimer;
+
+  @Value("${jwt.refresh.max-sessions-per-user:5}")
+  private int maxSessionsPerUser;
+
+  public RefreshTokenService(IRefreshTokenStore refreshTokenStore,
+      IRefreshTokenProvider refreshTokenProvider, IJwtTokenProvider jwtTokenProvider, Clock clock,
+      InvalidationBus invalidationBus, IRoleService roleService, MeterRegistry meterRegistry) {
+    this.refreshTokenStore = refreshTokenStore;
+    this.refreshTokenProvider = refreshTokenProvider;
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.clock = clock;
+    this.invalidationBus = invalidationBus;
+    this.roleService = roleService;
+    this.createTimer = newTimer("create", meterRegistry);
+    this.refreshTimer = newTimer("refresh", meterRegistry);
+    this.sessionsTimer = newTimer("sessions", meterRegistry);
+    this.revokeTimer = newTimer("revoke", meterRegistry);
+  }
 
-
+  /**
+   * Opens a new session for the device. Existing sessions on other devices are left alone; the
+   * oldest ones are evicted once the user exceeds the per-user cap.
+   */
   @Override
-  @Transactional
-  public RefreshTokenResponse createRefreshToken(UUID userId) {
-
-    AppUser appUser = appUserService.getAppUserByUserId(userId);
-    refreshTokenRepository.deleteByAppUser(appUser);
+  public RefreshTokenResponse createRefreshToken(AppUserDetails appUserDetails,
+      String deviceLabel) {
+    return createTimer.record(() -> doCreateRefreshToken(appUserDetails, deviceLabel));
+  }
 
-    refreshTokenRepository.flush();
+  private RefreshTokenResponse doCreateRefreshToken(AppUserDetails appUserDetails,
+      String deviceLabel) {
+    String token = refreshTokenProvider.generateToken();
+    Instant expiryDate = refreshTokenProvider.generateExpiryDate();
+    UUID sessionId = UUID.randomUUID();
 
-    RefreshToken savedRefreshToken = saveRefreshToken(appUser);
+    refreshTokenStore.save(new RefreshTokenRecord(TokenDigests.sha256(token), sessionId,
+        appUserDetails.getId(), appUserDetails.getUserId(), appUserDetails.getUsername(),
+        appUserDetails.getEmail(), truncateDeviceLabel(deviceLabel), LocalDateTime.now(clock),
+        clock.instant(), expiryDate), maxSessionsPerUser);
 
-    return AuthMapper.toRefreshTokenResponse(savedRefreshToken);
+    return AuthMapper.toRefreshTokenResponse(token, sessionId, expiryDate);
   }
 
   @Override
-  @Transactional
   public Pair<String, String> refreshAccessToken(String refreshAccessToken) {
-    RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshAccessToken).orElseThrow(
+    return refreshTimer.record(() -> doRefreshAccessToken(refreshAccessToken));
+  }
+
+  /**
+   * Exchanges a valid refresh token for a new access token and a rotated refresh token. An
+   * expired token ends its session instead of renewing it.
+   */
+  private Pair<String, String> doRefreshAccessToken(String refreshAccessToken) {
+    byte[] tokenHash = TokenDigests.sha256(refreshAccessToken);
+    RefreshTokenRecord refreshToken = refreshTokenStore.findByTokenHash(tokenHash).orElseThrow(
         () -> new TokenRefreshException(refreshAccessToken, "Refresh token is not found!"));
 
-    boolean isRefreshTokenExpired = isRefreshTokenExpired(refreshToken);
-    AppUser appUser = refreshToken.getAppUser();
-    String accessToken = generateAccessToken(appUser);
-    String newRefreshTokenStr = refreshAccessToken;
+    if (refreshTokenProvider.isTokenExpired(refreshToken.expiryDate())) {
+      refreshTokenStore.revokeByTokenHash(tokenHash);
+      throw new TokenRefreshException(refreshAccessToken,
+          "Refresh token has expired. Please sign in again.");
+    }
 
-    if (isRefreshTokenExpired) {
-      refreshTokenRepository.deleteByAppUser(appUser);
-      RefreshToken newRefreshToken = saveRefreshToken(appUser);
-      newRefreshTokenStr = newRefreshToken.getToken();
+    String newRefreshTokenStr = refreshTokenProvider.generateToken();
+    boolean rotated = refreshTokenStore.rotate(tokenHash, TokenDigests.sha256(newRefreshTokenStr),
+        refreshTokenProvider.generateExpiryDate(), clock.instant());
+    if (!rotated) {
+      throw new TokenRefreshException(refreshAccessToken, "Refresh token was already rotated!");
     }
 
-    return Pair.of(accessToken != null ? accessToken : "",
-        newRefreshTokenStr != null ? newRefreshTokenStr : "");
+    return Pair.of(generateAccessToken(refreshToken), newRefreshTokenStr);
   }
 
-  private RefreshToken saveRefreshToken(AppUser appUser) {
-    RefreshToken refreshToken = new RefreshToken();
-    refreshToken.setAppUser(appUser);
-    refreshToken.setExpiryDate(refreshTokenProvider.generateExpiryDate());
-    refreshToken.setToken(refreshTokenProvider.generateToken());
-    return refreshTokenRepository.save(refreshToken);
+  @Override
+  public List<SessionResponse> getSessions(UUID userId, String currentRefreshToken) {
+    byte[] currentTokenHash = currentRefreshToken == null || currentRefreshToken.isEmpty() ? null
+        : TokenDigests.sha256(currentRefreshToken);
+    return sessionsTimer.record(() -> refreshTokenStore.findByUserId(userId).stream()
+        .map(session -> AuthMapper.toSessionResponse(session, currentTokenHash)).toList());
   }
 
-  private boolean isRefreshTokenExpired(RefreshToken refreshToken) {
-    if (refreshTokenProvider.isTokenExpired(refreshToken.getExpiryDate())) {
-      refreshTokenRepository.delete(refreshToken);
-      return true;
+  @Override
+  public void revokeSession(UUID userId, UUID sessionId) {
+    if (!revokeTimer.record(() -> refreshTokenStore.revokeSession(userId, sessionId))) {
+      throw new ResourceNotFoundException("Session", "sessionId", sessionId.toString());
     }
-    return false;
   }
 
-  private String generateAccessToken(AppUser user) {
-    AppUserDetails userDetails = new AppUserDetails(user);
+  @Override
+  public void revokeByRefreshToken(String refreshToken) {
+    byte[] tokenHash = TokenDigests.sha256(refreshToken);
+    revokeTimer.record(() -> refreshTokenStore.revokeByTokenHash(tokenHash));
+  }
+
+  private String generateAccessToken(RefreshTokenRecord refreshToken) {
+    PermissionSet permissions = roleService.resolvePermissions(refreshToken.appUserId());
+    AppUserDetails userDetails = new AppUserDetails(refreshToken.appUserId(),
+        refreshToken.userId(), refreshToken.username(), refreshToken.email(), null,
+        List.of(new PermissionAuthority(permissions)));
     return jwtTokenProvider.generateJwtToken(userDetails);
   }
 
-  @Transactional
+  private static Timer newTimer(String operation, MeterRegistry meterRegistry) {
+    return Timer.builder(METRIC_NAME).tag("operation", operation).publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private String truncateDeviceLabel(String deviceLabel) {
+    if (deviceLabel == null || deviceLabel.isBlank()) {
+      return null;
+    }
+    return deviceLabel.length() > DEVICE_LABEL_MAX_LENGTH
+        ? deviceLabel.substring(0, DEVICE_LABEL_MAX_LENGTH)
+        : deviceLabel;
+  }
+
   @Override
   public void deleteByUserId(UUID userId) {
-    AppUser appUser = appUserService.getAppUserByUserId(userId);
-    refreshTokenRepository.deleteByAppUser(appUser);
+    revokeTimer.record(() -> refreshTokenStore.revokeAllByUserId(userId));
+    invalidationBus.publish(InvalidationEvent.sessionsCleared(userId));
   }
 }
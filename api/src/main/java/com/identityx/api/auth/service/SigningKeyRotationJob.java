@@ -0,0 +1,126 @@
+package com.identityx.api.auth.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.identityx.api.auth.model.SigningKey;
+import com.identityx.api.auth.repo.SigningKeyRepository;
+import com.identityx.api.auth.security.SigningAlgorithm;
+import com.identityx.api.auth.security.SigningKeyCipher;
+import com.identityx.api.auth.security.SigningKeyMaterial;
+import com.identityx.api.auth.security.SigningKeyRing;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the {@link SigningKeyRing} in step with the {@code signing_key} table and rotates keys.
+ * A new key is published {@code publish-ahead-ms} before it starts signing, so resource servers
+ * holding a cached JWK set pick it up first. The key it replaces keeps verifying until every
+ * token it could have signed has expired, and is then deleted.
+ *
+ * <p>Every node runs the same check, so two nodes may occasionally rotate at once. That only
+ * adds a key that is never used for signing; rows are never updated, so there is nothing to
+ * conflict on.
+ */
+@Slf4j
+@Component
+public class SigningKeyRotationJob implements InitializingBean {
+
+  private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+  private final SigningKeyRepository signingKeyRepository;
+  private final SigningKeyRing signingKeyRing;
+  private final SigningKeyCipher signingKeyCipher;
+  private final TransactionTemplate transactionTemplate;
+  private final Clock clock;
+  private final Duration rotationInterval;
+  private final Duration publishAhead;
+  private final Duration retention;
+
+  public SigningKeyRotationJob(SigningKeyRepository signingKeyRepository,
+      SigningKeyRing signingKeyRing, SigningKeyCipher signingKeyCipher,
+      TransactionTemplate transactionTemplate, Clock clock,
+      @Value("${jwt.signing.rotation-interval-ms:86400000}") long rotationIntervalMs,
+      @Value("${jwt.signing.publish-ahead-ms:600000}") long publishAheadMs,
+      @Value("${jwt.signing.refresh-interval-ms:60000}") long refreshIntervalMs,
+      @Value("${jwt.expiration.ms}") long jwtExpirationMs) {
+    this.signingKeyRepository = signingKeyRepository;
+    this.signingKeyRing = signingKeyRing;
+    this.signingKeyCipher = signingKeyCipher;
+    this.transactionTemplate = transactionTemplate;
+    this.clock = clock;
+    this.rotationInterval = Duration.ofMillis(rotationIntervalMs);
+    this.publishAhead = Duration.ofMillis(publishAheadMs);
+    // A node may keep signing with the old key for one refresh interval after the switch.
+    this.retention = Duration.ofMillis(refreshIntervalMs + jwtExpirationMs).plus(CLOCK_SKEW);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    refresh();
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval-ms:60000}",
+      initialDelayString = "${jwt.signing.refresh-interval-ms:60000}")
+  public void refresh() {
+    SigningAlgorithm algorithm = signingKeyRing.getAlgorithm();
+    if (!algorithm.isAsymmetric()) {
+      return;
+    }
+
+    Instant now = clock.instant();
+    List<SigningKey> keys = new ArrayList<>(signingKeyRepository.findAllByOrderByActivatesAtAsc());
+    SigningKey newest = keys.stream().filter(key -> key.getAlgorithm() == algorithm)
+        .reduce((first, second) -> second).orElse(null);
+    if (newest == null) {
+      // Nothing can sign yet, so the first key has to be usable straight away.
+      keys.add(createKey(algorithm, now));
+    } else if (!newest.getActivatesAt().plus(rotationInterval).isAfter(now)) {
+      keys.add(createKey(algorithm, now.plus(publishAhead)));
+    }
+
+    List<SigningKeyMaterial> materials = new ArrayList<>(keys.size());
+    List<Long> expiredIds = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i++) {
+      SigningKey key = keys.get(i);
+      Instant retiresAt =
+          i + 1 < keys.size() ? keys.get(i + 1).getActivatesAt().plus(retention) : null;
+      if (retiresAt != null && !retiresAt.isAfter(now)) {
+        expiredIds.add(key.getId());
+        continue;
+      }
+      SigningAlgorithm keyAlgorithm = key.getAlgorithm();
+      materials.add(new SigningKeyMaterial(key.getKeyId(), keyAlgorithm,
+          keyAlgorithm.decodePrivateKey(
+              signingKeyCipher.unwrap(key.getKeyId(), key.getPrivateKey())),
+          keyAlgorithm.decodePublicKey(key.getPublicKey()), key.getActivatesAt(), retiresAt));
+    }
+    signingKeyRing.install(materials, now);
+
+    if (!expiredIds.isEmpty()) {
+      signingKeyRepository.deleteAllByIdInBatch(expiredIds);
+      log.info("Deleted {} retired signing keys", expiredIds.size());
+    }
+  }
+
+  private SigningKey createKey(SigningAlgorithm algorithm, Instant activatesAt) {
+    SigningKeyMaterial material = SigningKeyMaterial.generate(algorithm, activatesAt);
+    SigningKey key = new SigningKey();
+    key.setKeyId(material.keyId());
+    key.setAlgorithm(algorithm);
+    key.setPublicKey(material.publicKey().getEncoded());
+    key.setPrivateKey(
+        signingKeyCipher.wrap(material.keyId(), material.privateKey().getEncoded()));
+    key.setActivatesAt(activatesAt);
+    SigningKey saved = transactionTemplate.execute(status -> signingKeyRepository.save(key));
+    log.info("Created {} signing key {} activating at {}", algorithm, saved.getKeyId(),
+        activatesAt);
+    return saved;
+  }
+}
@@ -0,0 +1,265 @@
+package com.identityx.api.auth.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.identityx.api.auth.constants.AuthConstants;
+import com.identityx.api.auth.security.IJwtTokenProvider;
+import com.identityx.api.auth.security.JwtTokenProvider;
+import com.identityx.api.auth.security.PermissionAuthority;
+import com.identityx.api.auth.security.TokenDigests;
+import com.identityx.api.auth.store.IRefreshTokenStore;
+import com.identityx.api.auth.store.RefreshTokenRecord;
+import com.identityx.api.auth.web.dto.IntrospectionResponse;
+import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.common.invalidation.InvalidationType;
+import com.identityx.api.role.model.Permission;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Answers RFC 7662 introspection requests for access and refresh tokens. Results are cached by
+ * token digest. Access-token results live until the token expires and are re-checked against the
+ * revocation denylist on every hit. Refresh-token results only live for a few seconds, because
+ * revoking a single session is not broadcast to other nodes. Cached refresh-token results are also
+ * indexed by subject, so clearing a user's sessions evicts exactly their entries.
+ *
+ * <p>A batch resolves every refresh-token cache miss with a single store lookup; access tokens
+ * are verified locally and never need one.
+ *
+ * <p>Access tokens and refresh tokens have distinct shapes, so the token itself decides where to
+ * look. {@code token_type_hint} is accepted but never needed.
+ */
+@Service
+public class TokenIntrospectionService implements ITokenIntrospectionService {
+
+  private static final IntrospectionResponse INACTIVE = new IntrospectionResponse();
+
+  private final IJwtTokenProvider jwtTokenProvider;
+  private final IAccessTokenRevocationService accessTokenRevocationService;
+  private final IRefreshTokenStore refreshTokenStore;
+  private final Clock clock;
+  private final long maxAgeSeconds;
+  private final long refreshTokenTtlMs;
+  private final long inactiveTtlMs;
+  private final Cache<String, CachedResult> cache;
+  private final Map<String, Set<String>> refreshKeysBySubject = new ConcurrentHashMap<>();
+
+  public TokenIntrospectionService(IJwtTokenProvider jwtTokenProvider,
+      IAccessTokenRevocationService accessTokenRevocationService,
+      IRefreshTokenStore refreshTokenStore, Clock clock,
+      @Value("${jwt.introspection.max-age-seconds:30}") long maxAgeSeconds,
+      @Value("${jwt.introspection.cache.max-size:10000}") long maxSize,
+      @Value("${jwt.introspection.cache.refresh-token-ttl-ms:5000}") long refreshTokenTtlMs,
+      @Value("${jwt.introspection.cache.inactive-ttl-ms:60000}") long inactiveTtlMs,
+      MeterRegistry meterRegistry) {
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.accessTokenRevocationService = accessTokenRevocationService;
+    this.refreshTokenStore = refreshTokenStore;
+    this.clock = clock;
+    this.maxAgeSeconds = maxAgeSeconds;
+    this.refreshTokenTtlMs = refreshTokenTtlMs;
+    this.inactiveTtlMs = inactiveTtlMs;
+    this.cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new UntilCachedUntil())
+        .removalListener((String key, CachedResult value, RemovalCause cause) -> {
+          if (value != null && isRefreshResult(value)) {
+            unindex(value.response().getSub(), key);
+          }
+        }).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "oauth2.introspection");
+  }
+
+  @Override
+  public IntrospectionResponse introspect(String token, String tokenTypeHint) {
+    return introspectAll(Collections.singletonList(token), tokenTypeHint).get(0);
+  }
+
+  @Override
+  public List<IntrospectionResponse> introspectAll(List<String> tokens, String tokenTypeHint) {
+    long now = clock.millis();
+    String[] keys = new String[tokens.size()];
+    CachedResult[] results = new CachedResult[tokens.size()];
+    Map<String, byte[]> refreshMisses = new LinkedHashMap<>();
+    for (int i = 0; i < tokens.size(); i++) {
+      String token = tokens.get(i);
+      if (token == null || token.isBlank()) {
+        results[i] = new CachedResult(INACTIVE, now);
+        continue;
+      }
+      byte[] digest = TokenDigests.sha256(token);
+      keys[i] = TokenDigests.base64(digest);
+      CachedResult cached = cache.getIfPresent(keys[i]);
+      if (cached != null && cached.cachedUntilMillis() > now) {
+        results[i] = cached;
+      } else if (jwtTokenProvider.isAccessTokenFormat(token)) {
+        results[i] = cacheResult(keys[i], introspectAccessToken(token, now));
+      } else {
+        refreshMisses.put(keys[i], digest);
+      }
+    }
+
+    Map<String, CachedResult> resolved =
+        refreshMisses.isEmpty() ? Map.of() : introspectRefreshTokens(refreshMisses, now);
+    List<IntrospectionResponse> responses = new ArrayList<>(tokens.size());
+    for (int i = 0; i < tokens.size(); i++) {
+      CachedResult result = results[i] != null ? results[i] : resolved.get(keys[i]);
+      responses.add(checkRevoked(keys[i], result.response(), now));
+    }
+    return responses;
+  }
+
+  @Override
+  public long getMaxAgeSeconds(IntrospectionResponse response) {
+    if (!response.isActive()) {
+      return maxAgeSeconds;
+    }
+    long remainingSeconds = response.getExp() - TimeUnit.MILLISECONDS.toSeconds(clock.millis());
+    long maxAge = AuthConstants.REFRESH_TOKEN_TYPE.equals(response.getTokenType())
+        ? Math.min(maxAgeSeconds, TimeUnit.MILLISECONDS.toSeconds(refreshTokenTtlMs))
+        : maxAgeSeconds;
+    return Math.max(0, Math.min(maxAge, remainingSeconds));
+  }
+
+  /** Drops cached refresh-token results of a user whose sessions were all revoked. */
+  @EventListener
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationType.SESSIONS_CLEARED) {
+      Set<String> keys = refreshKeysBySubject.remove(event.key());
+      if (keys != null) {
+        cache.invalidateAll(keys);
+      }
+    }
+  }
+
+  private IntrospectionResponse checkRevoked(String key, IntrospectionResponse response,
+      long now) {
+    if (response.isActive() && AuthConstants.ACCESS_TOKEN_TYPE.equals(response.getTokenType())
+        && accessTokenRevocationService.isRevoked(response.getJti())) {
+      cacheResult(key, new CachedResult(INACTIVE, now + inactiveTtlMs));
+      return INACTIVE;
+    }
+    return response;
+  }
+
+  private CachedResult cacheResult(String key, CachedResult result) {
+    cache.put(key, result);
+    if (isRefreshResult(result)) {
+      refreshKeysBySubject.compute(result.response().getSub(), (subject, keys) -> {
+        Set<String> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+        indexed.add(key);
+        return indexed;
+      });
+    }
+    return result;
+  }
+
+  /**
+   * Runs after the entry is gone or replaced, so a key that now holds another result for the same
+   * subject stays indexed.
+   */
+  private void unindex(String subject, String key) {
+    refreshKeysBySubject.computeIfPresent(subject, (ignored, keys) -> {
+      CachedResult current = cache.getIfPresent(key);
+      if (current == null || !isRefreshResult(current)
+          || !subject.equals(current.response().getSub())) {
+        keys.remove(key);
+      }
+      return keys.isEmpty() ? null : keys;
+    });
+  }
+
+  private static boolean isRefreshResult(CachedResult result) {
+    return result.response().isActive()
+        && AuthConstants.REFRESH_TOKEN_TYPE.equals(result.response().getTokenType());
+  }
+
+  private CachedResult introspectAccessToken(String token, long now) {
+    ValidateJWTTokenResponse validated = jwtTokenProvider.validateJwtToken(token);
+    if (!validated.isValid()) {
+      return new CachedResult(INACTIVE, now + inactiveTtlMs);
+    }
+
+    IntrospectionResponse response = new IntrospectionResponse();
+    response.setActive(true);
+    response.setTokenType(AuthConstants.ACCESS_TOKEN_TYPE);
+    response.setScope(validated.getScope());
+    response.setClientId(validated.getClientId());
+    response.setSub(validated.getSubject());
+    response.setUsername(validated.getUsername());
+    response.setIss(JwtTokenProvider.ISSUER);
+    response.setJti(validated.getTokenId());
+    response.setExp(validated.getExpiresAt().getEpochSecond());
+    response.setAuthorities(PermissionAuthority.permissionsOf(validated.getAuthorities())
+        .toPermissions().stream().map(Permission::name).toList());
+    return new CachedResult(response, validated.getExpiresAt().toEpochMilli());
+  }
+
+  /** Resolves refresh-token cache misses, keyed by token digest, with one store lookup. */
+  private Map<String, CachedResult> introspectRefreshTokens(Map<String, byte[]> misses,
+      long now) {
+    Map<String, RefreshTokenRecord> records = new HashMap<>();
+    for (RefreshTokenRecord record : refreshTokenStore.findAllByTokenHash(misses.values())) {
+      records.put(TokenDigests.base64(record.tokenHash()), record);
+    }
+    Map<String, CachedResult> results = new HashMap<>();
+    for (String key : misses.keySet()) {
+      results.put(key, cacheResult(key, toCachedResult(records.get(key), now)));
+    }
+    return results;
+  }
+
+  private CachedResult toCachedResult(RefreshTokenRecord record, long now) {
+    if (record == null || record.expiryDate().toEpochMilli() <= now) {
+      return new CachedResult(INACTIVE, now + inactiveTtlMs);
+    }
+
+    IntrospectionResponse response = new IntrospectionResponse();
+    response.setActive(true);
+    response.setTokenType(AuthConstants.REFRESH_TOKEN_TYPE);
+    response.setSub(record.userId().toString());
+    response.setUsername(record.username());
+    response.setIss(JwtTokenProvider.ISSUER);
+    response.setJti(record.sessionId().toString());
+    response.setExp(record.expiryDate().getEpochSecond());
+    return new CachedResult(response,
+        Math.min(now + refreshTokenTtlMs, record.expiryDate().toEpochMilli()));
+  }
+
+  private record CachedResult(IntrospectionResponse response, long cachedUntilMillis) {}
+
+  private final class UntilCachedUntil implements Expiry<String, CachedResult> {
+
+    @Override
+    public long expireAfterCreate(String key, CachedResult value, long currentTime) {
+      long remainingMs = value.cachedUntilMillis() - clock.millis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, CachedResult value, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, CachedResult value, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
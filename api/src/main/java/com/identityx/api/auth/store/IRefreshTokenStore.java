@@ -0,0 +1,44 @@
+package com.identityx.api.auth.store;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage for refresh-token sessions. Tokens are addressed by their SHA-256 digest; the raw token
+ * never reaches the store. The backend is chosen with {@code jwt.refresh.store.type}.
+ */
+public interface IRefreshTokenStore {
+
+  /**
+   * Stores a new session and evicts the user's oldest sessions beyond {@code maxSessionsPerUser}.
+   */
+  void save(RefreshTokenRecord refreshToken, int maxSessionsPerUser);
+
+  Optional<RefreshTokenRecord> findByTokenHash(byte[] tokenHash);
+
+  /** The stored sessions among {@code tokenHashes}, in no particular order, in one lookup. */
+  List<RefreshTokenRecord> findAllByTokenHash(Collection<byte[]> tokenHashes);
+
+  /**
+   * Replaces the token hash of a session. Returns {@code false} when the current hash is no longer
+   * stored, e.g. because a concurrent request already rotated it.
+   */
+  boolean rotate(byte[] currentTokenHash, byte[] newTokenHash, Instant expiryDate, Instant now);
+
+  void touch(byte[] tokenHash, Instant now);
+
+  /** Sessions of the user, most recently used first. */
+  List<RefreshTokenRecord> findByUserId(UUID userId);
+
+  boolean revokeSession(UUID userId, UUID sessionId);
+
+  void revokeByTokenHash(byte[] tokenHash);
+
+  void revokeAllByUserId(UUID userId);
+
+  /** Removes tokens that expired before {@code now} and returns how many were removed. */
+  int purgeExpired(Instant now);
+}
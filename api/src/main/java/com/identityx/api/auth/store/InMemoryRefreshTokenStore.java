@@ -0,0 +1,442 @@
+package com.identityx.api.auth.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.common.invalidation.InvalidationType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps refresh tokens in process memory, for nodes that do not need sessions shared through the
+ * database.
+ *
+ * <p>
+ * Tokens live in a fixed number of shards selected by the token digest, each guarded by its own
+ * monitor and holding an expiry-ordered queue for purging. A per-user index maps session ids to
+ * digests in creation order, which is what the session cap evicts by. The index is only ever
+ * mutated inside {@link ConcurrentHashMap#compute}, and never while a shard monitor is held.
+ *
+ * <p>
+ * When {@code jwt.refresh.store.memory.snapshot-path} is set, the live tokens are written to that
+ * file periodically and on shutdown, and read back on startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.refresh.store.type", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements IRefreshTokenStore, DisposableBean {
+
+  private static final int SNAPSHOT_VERSION = 1;
+
+  private final Shard[] shards;
+  private final int shardMask;
+  private final Map<UUID, LinkedHashMap<UUID, DigestKey>> sessionsByUser =
+      new ConcurrentHashMap<>();
+  private final Clock clock;
+  private final Path snapshotPath;
+
+  public InMemoryRefreshTokenStore(@Value("${jwt.refresh.store.memory.shards:64}") int shardCount,
+      @Value("${jwt.refresh.store.memory.snapshot-path:}") String snapshotPath, Clock clock) {
+    int size = shardCount <= 1 ? 1 : Integer.highestOneBit(shardCount - 1) << 1;
+    this.shards = new Shard[size];
+    for (int i = 0; i < size; i++) {
+      shards[i] = new Shard();
+    }
+    this.shardMask = size - 1;
+    this.clock = clock;
+    this.snapshotPath =
+        snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    loadSnapshot();
+  }
+
+  @Override
+  public void save(RefreshTokenRecord refreshToken, int maxSessionsPerUser) {
+    DigestKey key = new DigestKey(refreshToken.tokenHash().clone());
+    putToken(key, refreshToken);
+
+    List<DigestKey> evicted = new ArrayList<>();
+    sessionsByUser.compute(refreshToken.userId(), (userId, sessions) -> {
+      LinkedHashMap<UUID, DigestKey> updated = sessions != null ? sessions : new LinkedHashMap<>();
+      updated.put(refreshToken.sessionId(), key);
+      Iterator<DigestKey> oldest = updated.values().iterator();
+      while (updated.size() > Math.max(1, maxSessionsPerUser) && oldest.hasNext()) {
+        evicted.add(oldest.next());
+        oldest.remove();
+      }
+      return updated;
+    });
+    evicted.forEach(this::removeToken);
+  }
+
+  @Override
+  public Optional<RefreshTokenRecord> findByTokenHash(byte[] tokenHash) {
+    return Optional.ofNullable(getToken(new DigestKey(tokenHash)));
+  }
+
+  @Override
+  public List<RefreshTokenRecord> findAllByTokenHash(Collection<byte[]> tokenHashes) {
+    List<RefreshTokenRecord> found = new ArrayList<>(tokenHashes.size());
+    for (byte[] tokenHash : tokenHashes) {
+      RefreshTokenRecord token = getToken(new DigestKey(tokenHash));
+      if (token != null) {
+        found.add(token);
+      }
+    }
+    return found;
+  }
+
+  @Override
+  public boolean rotate(byte[] currentTokenHash, byte[] newTokenHash, Instant expiryDate,
+      Instant now) {
+    DigestKey currentKey = new DigestKey(currentTokenHash.clone());
+    RefreshTokenRecord current = removeToken(currentKey);
+    if (current == null) {
+      return false;
+    }
+
+    DigestKey newKey = new DigestKey(newTokenHash.clone());
+    putToken(newKey, current.rotate(newKey.digest(), expiryDate, now));
+
+    boolean[] indexed = {false};
+    sessionsByUser.computeIfPresent(current.userId(), (userId, sessions) -> {
+      indexed[0] = sessions.replace(current.sessionId(), currentKey, newKey);
+      return sessions;
+    });
+    if (!indexed[0]) {
+      // The session was revoked while it was being rotated.
+      removeToken(newKey);
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public void touch(byte[] tokenHash, Instant now) {
+    DigestKey key = new DigestKey(tokenHash);
+    Shard shard = shardFor(key);
+    synchronized (shard) {
+      shard.tokens.computeIfPresent(key, (k, token) -> token.withLastUsedAt(now));
+    }
+  }
+
+  @Override
+  public List<RefreshTokenRecord> findByUserId(UUID userId) {
+    List<DigestKey> keys = new ArrayList<>();
+    sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+      keys.addAll(sessions.values());
+      return sessions;
+    });
+
+    List<RefreshTokenRecord> tokens = new ArrayList<>(keys.size());
+    for (DigestKey key : keys) {
+      RefreshTokenRecord token = getToken(key);
+      if (token != null) {
+        tokens.add(token);
+      }
+    }
+    tokens.sort(Comparator.comparing(RefreshTokenRecord::lastUsedAt).reversed());
+    return tokens;
+  }
+
+  @Override
+  public boolean revokeSession(UUID userId, UUID sessionId) {
+    DigestKey[] removed = new DigestKey[1];
+    sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+      removed[0] = sessions.remove(sessionId);
+      return sessions.isEmpty() ? null : sessions;
+    });
+    if (removed[0] == null) {
+      return false;
+    }
+    removeToken(removed[0]);
+    return true;
+  }
+
+  @Override
+  public void revokeByTokenHash(byte[] tokenHash) {
+    DigestKey key = new DigestKey(tokenHash.clone());
+    RefreshTokenRecord removed = removeToken(key);
+    if (removed != null) {
+      unindex(removed.userId(), removed.sessionId(), key);
+    }
+  }
+
+  @Override
+  public void revokeAllByUserId(UUID userId) {
+    LinkedHashMap<UUID, DigestKey> sessions = sessionsByUser.remove(userId);
+    if (sessions != null) {
+      sessions.values().forEach(this::removeToken);
+    }
+  }
+
+  /** Applies "sign out everywhere" requests handled by other nodes to this node's sessions. */
+  @EventListener
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationType.SESSIONS_CLEARED) {
+      revokeAllByUserId(UUID.fromString(event.key()));
+    }
+  }
+
+  /**
+   * Pops expired marks shard by shard. Marks left behind by rotated or revoked tokens are dropped
+   * as they come up, so the queues never hold more than one token lifetime of history.
+   */
+  @Override
+  public int purgeExpired(Instant now) {
+    int purged = 0;
+    for (Shard shard : shards) {
+      List<RefreshTokenRecord> expired = new ArrayList<>();
+      synchronized (shard) {
+        ExpiryMark mark;
+        while ((mark = shard.expiryQueue.peek()) != null && mark.expiryDate().isBefore(now)) {
+          shard.expiryQueue.poll();
+          RefreshTokenRecord token = shard.tokens.get(mark.key());
+          if (token != null && token.expiryDate().equals(mark.expiryDate())) {
+            shard.tokens.remove(mark.key());
+            expired.add(token);
+          }
+        }
+      }
+      for (RefreshTokenRecord token : expired) {
+        unindex(token.userId(), token.sessionId(), new DigestKey(token.tokenHash()));
+      }
+      purged += expired.size();
+    }
+    return purged;
+  }
+
+  /** Number of live tokens across all shards. */
+  public int size() {
+    int size = 0;
+    for (Shard shard : shards) {
+      synchronized (shard) {
+        size += shard.tokens.size();
+      }
+    }
+    return size;
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.refresh.store.memory.snapshot-interval-ms:60000}")
+  public void snapshot() {
+    if (snapshotPath == null) {
+      return;
+    }
+    List<RefreshTokenRecord> tokens = new ArrayList<>();
+    for (Shard shard : shards) {
+      synchronized (shard) {
+        tokens.addAll(shard.tokens.values());
+      }
+    }
+
+    try {
+      Path directory = snapshotPath.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path tempFile =
+          Files.createTempFile(directory, snapshotPath.getFileName().toString(), ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(tokens.size());
+        for (RefreshTokenRecord token : tokens) {
+          writeToken(out, token);
+        }
+      }
+      Files.move(tempFile, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      log.debug("Wrote {} refresh tokens to {}", tokens.size(), snapshotPath);
+    } catch (IOException e) {
+      log.error("Failed to write refresh token snapshot to {}: {}", snapshotPath, e.getMessage());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    snapshot();
+  }
+
+  private void loadSnapshot() {
+    if (snapshotPath == null || !Files.exists(snapshotPath)) {
+      return;
+    }
+
+    List<RefreshTokenRecord> tokens = new ArrayList<>();
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+      int version = in.readInt();
+      if (version != SNAPSHOT_VERSION) {
+        log.warn("Ignoring refresh token snapshot {} with unknown version {}", snapshotPath,
+            version);
+        return;
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        tokens.add(readToken(in));
+      }
+    } catch (IOException e) {
+      log.error("Failed to read refresh token snapshot from {}: {}", snapshotPath, e.getMessage());
+      return;
+    }
+
+    // Re-insert in creation order so the session cap keeps evicting the oldest sessions first.
+    Instant now = clock.instant();
+    tokens.sort(Comparator.comparing(RefreshTokenRecord::createdAt,
+        Comparator.nullsFirst(Comparator.naturalOrder())));
+    int loaded = 0;
+    for (RefreshTokenRecord token : tokens) {
+      if (token.expiryDate().isAfter(now)) {
+        save(token, Integer.MAX_VALUE);
+        loaded++;
+      }
+    }
+    log.info("Loaded {} refresh tokens from {}", loaded, snapshotPath);
+  }
+
+  private Shard shardFor(DigestKey key) {
+    return shards[key.hashCode() & shardMask];
+  }
+
+  private RefreshTokenRecord getToken(DigestKey key) {
+    Shard shard = shardFor(key);
+    synchronized (shard) {
+      return shard.tokens.get(key);
+    }
+  }
+
+  private void putToken(DigestKey key, RefreshTokenRecord token) {
+    Shard shard = shardFor(key);
+    synchronized (shard) {
+      shard.tokens.put(key, token);
+      shard.expiryQueue.add(new ExpiryMark(token.expiryDate(), key));
+    }
+  }
+
+  private RefreshTokenRecord removeToken(DigestKey key) {
+    Shard shard = shardFor(key);
+    synchronized (shard) {
+      return shard.tokens.remove(key);
+    }
+  }
+
+  private void unindex(UUID userId, UUID sessionId, DigestKey key) {
+    sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+      sessions.remove(sessionId, key);
+      return sessions.isEmpty() ? null : sessions;
+    });
+  }
+
+  private static void writeToken(DataOutputStream out, RefreshTokenRecord token)
+      throws IOException {
+    out.writeInt(token.tokenHash().length);
+    out.write(token.tokenHash());
+    writeUuid(out, token.sessionId());
+    out.writeLong(token.appUserId());
+    writeUuid(out, token.userId());
+    writeNullableString(out, token.username());
+    writeNullableString(out, token.email());
+    writeNullableString(out, token.deviceLabel());
+    writeNullableString(out, token.createdAt() != null ? token.createdAt().toString() : null);
+    writeInstant(out, token.lastUsedAt());
+    writeInstant(out, token.expiryDate());
+  }
+
+  private static RefreshTokenRecord readToken(DataInputStream in) throws IOException {
+    byte[] tokenHash = new byte[in.readInt()];
+    in.readFully(tokenHash);
+    UUID sessionId = readUuid(in);
+    long appUserId = in.readLong();
+    UUID userId = readUuid(in);
+    String username = readNullableString(in);
+    String email = readNullableString(in);
+    String deviceLabel = readNullableString(in);
+    String createdAt = readNullableString(in);
+    Instant lastUsedAt = readInstant(in);
+    Instant expiryDate = readInstant(in);
+    return new RefreshTokenRecord(tokenHash, sessionId, appUserId, userId, username, email,
+        deviceLabel, createdAt != null ? LocalDateTime.parse(createdAt) : null, lastUsedAt,
+        expiryDate);
+  }
+
+  private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+    out.writeLong(uuid.getMostSignificantBits());
+    out.writeLong(uuid.getLeastSignificantBits());
+  }
+
+  private static UUID readUuid(DataInputStream in) throws IOException {
+    return new UUID(in.readLong(), in.readLong());
+  }
+
+  private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+    out.writeLong(instant.getEpochSecond());
+    out.writeInt(instant.getNano());
+  }
+
+  private static Instant readInstant(DataInputStream in) throws IOException {
+    return Instant.ofEpochSecond(in.readLong(), in.readInt());
+  }
+
+  private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readNullableString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static final class Shard {
+    private final HashMap<DigestKey, RefreshTokenRecord> tokens = new HashMap<>();
+    private final PriorityQueue<ExpiryMark> expiryQueue =
+        new PriorityQueue<>(Comparator.comparing(ExpiryMark::expiryDate));
+  }
+
+  private record ExpiryMark(Instant expiryDate, DigestKey key) {
+  }
+
+  /** Content-based key over a token digest; the digest bytes are already uniformly random. */
+  private record DigestKey(byte[] digest) {
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof DigestKey key && Arrays.equals(digest, key.digest);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(digest);
+    }
+
+    @Override
+    public String toString() {
+      return "DigestKey[" + digest.length + " bytes]";
+    }
+  }
+}
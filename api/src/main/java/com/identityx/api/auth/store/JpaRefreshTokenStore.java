@@ -0,0 +1,137 @@
+package com.identityx.api.auth.store;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.identityx.api.appuser.service.IAppUserService;
+import com.identityx.api.auth.model.RefreshToken;
+import com.identityx.api.auth.repo.RefreshTokenRepository;
+
+/**
+ * Default store, backed by the {@code refresh_token} table.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements IRefreshTokenStore {
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final IAppUserService appUserService;
+  private final TransactionTemplate transactionTemplate;
+  private final int purgeChunkSize;
+  private final int purgeMaxChunksPerRun;
+
+  public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+      IAppUserService appUserService, TransactionTemplate transactionTemplate,
+      @Value("${jwt.refresh.purge.chunk-size:500}") int purgeChunkSize,
+      @Value("${jwt.refresh.purge.max-chunks-per-run:200}") int purgeMaxChunksPerRun) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.appUserService = appUserService;
+    this.transactionTemplate = transactionTemplate;
+    this.purgeChunkSize = purgeChunkSize;
+    this.purgeMaxChunksPerRun = purgeMaxChunksPerRun;
+  }
+
+  @Override
+  @Transactional
+  public void save(RefreshTokenRecord refreshToken, int maxSessionsPerUser) {
+    RefreshToken entity = new RefreshToken();
+    entity.setAppUser(appUserService.getAppUserReference(refreshToken.appUserId()));
+    entity.setSessionId(refreshToken.sessionId());
+    entity.setDeviceLabel(refreshToken.deviceLabel());
+    entity.setLastUsedAt(refreshToken.lastUsedAt());
+    entity.setExpiryDate(refreshToken.expiryDate());
+    entity.setTokenHash(refreshToken.tokenHash());
+    refreshTokenRepository.save(entity);
+
+    // Almost every login is under the cap, so this is usually a single indexed count.
+    long sessions = refreshTokenRepository.countByAppUserId(refreshToken.appUserId());
+    if (sessions > maxSessionsPerUser) {
+      List<Long> evictedIds = refreshTokenRepository.findOldestSessionIds(
+          refreshToken.appUserId(), Limit.of((int) (sessions - maxSessionsPerUser)));
+      refreshTokenRepository.deleteAllByIdInBatch(evictedIds);
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<RefreshTokenRecord> findByTokenHash(byte[] tokenHash) {
+    return refreshTokenRepository.findRecordByTokenHash(tokenHash);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<RefreshTokenRecord> findAllByTokenHash(Collection<byte[]> tokenHashes) {
+    return tokenHashes.isEmpty() ? List.of()
+        : refreshTokenRepository.findRecordsByTokenHashIn(tokenHashes);
+  }
+
+  @Override
+  @Transactional
+  public boolean rotate(byte[] currentTokenHash, byte[] newTokenHash, Instant expiryDate,
+      Instant now) {
+    return refreshTokenRepository.rotate(currentTokenHash, newTokenHash, expiryDate, now) > 0;
+  }
+
+  @Override
+  @Transactional
+  public void touch(byte[] tokenHash, Instant now) {
+    refreshTokenRepository.touch(tokenHash, now);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<RefreshTokenRecord> findByUserId(UUID userId) {
+    return refreshTokenRepository.findRecordsByUserId(userId);
+  }
+
+  @Override
+  @Transactional
+  public boolean revokeSession(UUID userId, UUID sessionId) {
+    return refreshTokenRepository.deleteSession(userId, sessionId) > 0;
+  }
+
+  @Override
+  @Transactional
+  public void revokeByTokenHash(byte[] tokenHash) {
+    refreshTokenRepository.deleteByTokenHash(tokenHash);
+  }
+
+  @Override
+  @Transactional
+  public void revokeAllByUserId(UUID userId) {
+    refreshTokenRepository.deleteAllByUserId(userId);
+  }
+
+  /**
+   * Deletes expired tokens in chunks of {@code jwt.refresh.purge.chunk-size} ids, oldest first,
+   * one short transaction per chunk. The delete re-checks the expiry, so nodes purging the same
+   * table concurrently simply delete nothing for overlapping chunks.
+   */
+  @Override
+  public int purgeExpired(Instant now) {
+    int purged = 0;
+    for (int chunk = 0; chunk < purgeMaxChunksPerRun; chunk++) {
+      List<Long> expiredIds =
+          refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeChunkSize));
+      if (expiredIds.isEmpty()) {
+        break;
+      }
+      Integer deleted = transactionTemplate
+          .execute(status -> refreshTokenRepository.deleteExpiredByIds(expiredIds, now));
+      purged += deleted == null ? 0 : deleted;
+      if (expiredIds.size() < purgeChunkSize) {
+        break;
+      }
+    }
+    return purged;
+  }
+}
@@ -0,0 +1,24 @@
+package com.identityx.api.auth.store;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A stored refresh token together with the user columns needed to sign a new access token, as
+ * exchanged with an {@link IRefreshTokenStore}.
+ */
+public record RefreshTokenRecord(byte[] tokenHash, UUID sessionId, Long appUserId, UUID userId,
+    String username, String email, String deviceLabel, LocalDateTime createdAt,
+    Instant lastUsedAt, Instant expiryDate) {
+
+  RefreshTokenRecord withLastUsedAt(Instant lastUsedAt) {
+    return new RefreshTokenRecord(tokenHash, sessionId, appUserId, userId, username, email,
+        deviceLabel, createdAt, lastUsedAt, expiryDate);
+  }
+
+  RefreshTokenRecord rotate(byte[] newTokenHash, Instant newExpiryDate, Instant now) {
+    return new RefreshTokenRecord(newTokenHash, sessionId, appUserId, userId, username, email,
+        deviceLabel, createdAt, now, newExpiryDate);
+  }
+}
@@ -1,5 +1,6 @@
 package com.identityx.api.auth.web;
 
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.util.Pair;
 import org.springframework.http.HttpHeaders;
@@ -7,8 +8,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,10 +18,12 @@ import org.springframework.web.bind.annotation.RestController;
 import com.identityx.api.auth.constants.AuthConstants;
 import com.identityx.api.auth.service.IAuthService;
 import com.identityx.api.auth.service.IRefreshTokenService;
+import com.identityx.api.auth.service.LoginResult;
 import com.identityx.api.auth.web.dto.AppUserDetails;
 import com.identityx.api.auth.web.dto.LoginRequest;
 import com.identityx.api.auth.web.dto.LoginResponse;
 import com.identityx.api.auth.web.dto.RefreshTokenResponse;
+import com.identityx.api.auth.web.dto.SessionResponse;
 import com.identityx.api.common.dto.AppResponse;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,13 +39,14 @@ public class AuthController {
   private final IRefreshTokenService refreshTokenService;
 
   @PostMapping("/login")
-  public ResponseEntity<AppResponse<LoginResponse>> login(@RequestBody LoginRequest loginRequest) {
+  public ResponseEntity<AppResponse<LoginResponse>> login(@RequestBody LoginRequest loginRequest,
+      HttpServletRequest request) {
 
-    Pair<LoginResponse, String> loginResult = authService.login(loginRequest);
-    LoginResponse loginResponse = loginResult.getFirst();
-    String accessToken = loginResult.getSecond();
-    RefreshTokenResponse refreshTokenResponse =
-        refreshTokenService.createRefreshToken(loginResponse.getUserId());
+    LoginResult loginResult = authService.login(loginRequest, request.getRemoteAddr(),
+        request.getHeader(HttpHeaders.USER_AGENT));
+    LoginResponse loginResponse = loginResult.loginResponse();
+    String accessToken = loginResult.accessToken();
+    RefreshTokenResponse refreshTokenResponse = loginResult.refreshToken();
 
     AppResponse<LoginResponse> response =
         new AppResponse<>(HttpStatus.OK, loginResponse, "Login successful");
@@ -93,13 +98,38 @@ public class AuthController {
         .body(new AppResponse<>(HttpStatus.BAD_REQUEST, null, "Refresh token is missing"));
   }
 
+  @GetMapping("/sessions")
+  public ResponseEntity<AppResponse<List<SessionResponse>>> getSessions(
+      Authentication authentication, HttpServletRequest request) {
+    AppUserDetails appUserDetails = (AppUserDetails) authentication.getPrincipal();
+    List<SessionResponse> sessions = refreshTokenService.getSessions(appUserDetails.getUserId(),
+        getCookieValue(request, AuthConstants.REFRESH_TOKEN_COOKIE));
+    return ResponseEntity
+        .ok(new AppResponse<>(HttpStatus.OK, sessions, "Sessions retrieved successfully"));
+  }
+
+  @DeleteMapping("/sessions/{sessionId}")
+  public ResponseEntity<AppResponse<Void>> revokeSession(Authentication authentication,
+      @PathVariable UUID sessionId) {
+    AppUserDetails appUserDetails = (AppUserDetails) authentication.getPrincipal();
+    refreshTokenService.revokeSession(appUserDetails.getUserId(), sessionId);
+    return ResponseEntity.ok(new AppResponse<>(HttpStatus.OK, null, "Session revoked"));
+  }
+
+  @DeleteMapping("/sessions")
+  public ResponseEntity<AppResponse<Void>> revokeAllSessions(Authentication authentication) {
+    AppUserDetails appUserDetails = (AppUserDetails) authentication.getPrincipal();
+    refreshTokenService.deleteByUserId(appUserDetails.getUserId());
+    return ResponseEntity.ok(new AppResponse<>(HttpStatus.OK, null, "All sessions revoked"));
+  }
+
+  /**
+   * Signs out the current device only; sessions on other devices stay active.
+   */
   @PostMapping("/logout")
-  public ResponseEntity<AppResponse<Void>> logout() {
-    Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-    if (principal instanceof AppUserDetails) {
-      UUID userId = ((AppUserDetails) principal).getUserId();
-      refreshTokenService.deleteByUserId(userId);
-    }
+  public ResponseEntity<AppResponse<Void>> logout(HttpServletRequest request) {
+    authService.logout(getCookieValue(request, AuthConstants.AUTHORIZATION_COOKIE),
+        getCookieValue(request, AuthConstants.REFRESH_TOKEN_COOKIE));
 
     ResponseCookie jwtCookie = ResponseCookie.from(AuthConstants.AUTHORIZATION_COOKIE, "")
         .httpOnly(true).path("/").secure(false).maxAge(0).sameSite("Strict").build();
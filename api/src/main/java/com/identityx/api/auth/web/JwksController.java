@@ -0,0 +1,37 @@
+package com.identityx.api.auth.web;
+
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.identityx.api.auth.security.SigningKeyRing;
+
+/**
+ * Publishes the public signing keys so resource servers can verify access tokens locally. The
+ * document is prebuilt by the {@link SigningKeyRing} and changes only on rotation, so clients are
+ * told to cache it and revalidate with its ETag; a matching {@code If-None-Match} gets a 304.
+ */
+@RestController
+public class JwksController {
+
+  public static final String JWKS_PATH = "/.well-known/jwks.json";
+  private static final String JWK_SET_MEDIA_TYPE = "application/jwk-set+json";
+
+  private final SigningKeyRing signingKeyRing;
+  private final CacheControl cacheControl;
+
+  public JwksController(SigningKeyRing signingKeyRing,
+      @Value("${jwt.signing.jwks.max-age-seconds:300}") long maxAgeSeconds) {
+    this.signingKeyRing = signingKeyRing;
+    this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic()
+        .staleIfError(maxAgeSeconds, TimeUnit.SECONDS);
+  }
+
+  @GetMapping(value = JWKS_PATH, produces = JWK_SET_MEDIA_TYPE)
+  public ResponseEntity<String> getJwks() {
+    return ResponseEntity.ok().cacheControl(cacheControl).eTag(signingKeyRing.getJwksEtag())
+        .body(signingKeyRing.getJwks());
+  }
+}
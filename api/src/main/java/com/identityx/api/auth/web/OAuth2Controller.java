@@ -0,0 +1,120 @@
+package com.identityx.api.auth.web;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.identityx.api.auth.service.IClientCredentialsService;
+import com.identityx.api.auth.service.ITokenIntrospectionService;
+import com.identityx.api.auth.web.dto.IntrospectionBatchRequest;
+import com.identityx.api.auth.web.dto.IntrospectionBatchResponse;
+import com.identityx.api.auth.web.dto.IntrospectionResponse;
+import com.identityx.api.auth.web.dto.TokenResponse;
+import com.identityx.api.common.exception.OAuth2RequestException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * OAuth 2.0 endpoints for other services. Responses follow the RFCs rather than the
+ * {@code AppResponse} envelope so standard clients can consume them.
+ */
+@Validated
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/oauth2")
+public class OAuth2Controller {
+
+  public static final String TOKEN_PATH = "/api/oauth2/token";
+  public static final String INTROSPECT_PATH = "/api/oauth2/introspect";
+  public static final String INTROSPECT_BATCH_PATH = "/api/oauth2/introspect/batch";
+  private static final String BASIC_PREFIX = "Basic ";
+
+  private final ITokenIntrospectionService tokenIntrospectionService;
+  private final IClientCredentialsService clientCredentialsService;
+
+  /**
+   * Token endpoint for the {@code client_credentials} grant. Clients authenticate with HTTP Basic
+   * ({@code client_secret_basic}) or with form parameters ({@code client_secret_post}).
+   */
+  @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+  public ResponseEntity<TokenResponse> token(@RequestParam("grant_type") String grantType,
+      @RequestParam(name = "scope", required = false) String scope,
+      @RequestParam(name = "client_id", required = false) String clientId,
+      @RequestParam(name = "client_secret", required = false) String clientSecret,
+      @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+    TokenResponse response;
+    if (authorization != null
+        && authorization.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+      String[] credentials = decodeBasicCredentials(authorization);
+      response = clientCredentialsService.issueToken(grantType, credentials[0], credentials[1],
+          ClientAuthenticationMethod.CLIENT_SECRET_BASIC, scope);
+    } else {
+      response = clientCredentialsService.issueToken(grantType, clientId, clientSecret,
+          ClientAuthenticationMethod.CLIENT_SECRET_POST, scope);
+    }
+    return ResponseEntity.ok().cacheControl(CacheControl.noStore())
+        .header(HttpHeaders.PRAGMA, "no-cache").body(response);
+  }
+
+  /**
+   * RFC 7662 introspection. Callers must be clients holding the {@code tokens.introspect} scope,
+   * since the response reveals whom a token belongs to.
+   */
+  @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+  public ResponseEntity<IntrospectionResponse> introspect(@RequestParam("token") String token,
+      @RequestParam(name = "token_type_hint", required = false) String tokenTypeHint) {
+    IntrospectionResponse response = tokenIntrospectionService.introspect(token, tokenTypeHint);
+    return ResponseEntity.ok()
+        .cacheControl(cacheControl(tokenIntrospectionService.getMaxAgeSeconds(response)))
+        .body(response);
+  }
+
+  /** Introspects up to 100 tokens at once; the response may be cached as long as its shortest. */
+  @PostMapping(value = "/introspect/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<IntrospectionBatchResponse> introspectBatch(
+      @Valid @RequestBody IntrospectionBatchRequest request) {
+    IntrospectionBatchResponse response = new IntrospectionBatchResponse();
+    response.setResults(tokenIntrospectionService.introspectAll(request.getTokens(),
+        request.getTokenTypeHint()));
+    long maxAgeSeconds = response.getResults().stream()
+        .mapToLong(tokenIntrospectionService::getMaxAgeSeconds).min().orElse(0);
+    return ResponseEntity.ok().cacheControl(cacheControl(maxAgeSeconds)).body(response);
+  }
+
+  /** RFC 6749 section 2.3.1: both parts are form-urlencoded before being joined and encoded. */
+  private static String[] decodeBasicCredentials(String authorization) {
+    String decoded;
+    try {
+      decoded = new String(
+          Base64.getDecoder().decode(authorization.substring(BASIC_PREFIX.length()).trim()),
+          StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw OAuth2RequestException.invalidClient();
+    }
+    int separator = decoded.indexOf(':');
+    if (separator < 0) {
+      throw OAuth2RequestException.invalidClient();
+    }
+    return new String[] {
+        URLDecoder.decode(decoded.substring(0, separator), StandardCharsets.UTF_8),
+        URLDecoder.decode(decoded.substring(separator + 1), StandardCharsets.UTF_8)};
+  }
+
+  private static CacheControl cacheControl(long maxAgeSeconds) {
+    // Results describe one caller's tokens, so only the caller (e.g. a gateway) may cache them.
+    return maxAgeSeconds > 0 ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate()
+        : CacheControl.noStore();
+  }
+}
@@ -1,45 +1,85 @@
 package com.identityx.api.auth.web.dto;
 
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.auth.constants.AuthConstants;
 
 public class AppUserDetails implements UserDetails {
 
-  private final AppUser appUser;
+  private final Long id;
+  private final UUID userId;
+  private final String username;
+  private final String email;
+  private final String password;
+  private final List<GrantedAuthority> authorities;
 
   public AppUserDetails(AppUser appUser) {
-    this.appUser = appUser;
+    this(appUser.getId(), appUser.getUserId(), appUser.getUsername(), appUser.getEmail(),
+        appUser.getPassword(), Collections.emptyList());
+  }
+
+  public AppUserDetails(Long id, UUID userId, String username, String email, String password,
+      Collection<? extends GrantedAuthority> authorities) {
+    this.id = id;
+    this.userId = userId;
+    this.username = username;
+    this.email = email;
+    this.password = password;
+    this.authorities = List.copyOf(authorities);
+  }
+
+  /**
+   * Principal rebuilt from verified token claims only; it carries no database id, email or
+   * password. Endpoints that need the full user load it by {@link #getUserId()}.
+   */
+  public static AppUserDetails fromClaims(UUID userId, String username,
+      Collection<? extends GrantedAuthority> authorities) {
+    return new AppUserDetails(null, userId, username, null, null, authorities);
+  }
+
+  /**
+   * Principal of a client_credentials token. It has no user id and carries the
+   * {@link AuthConstants#CLIENT_AUTHORITY} marker, so only scope-guarded routes accept it.
+   */
+  public static AppUserDetails forClient(String clientId,
+      Collection<? extends GrantedAuthority> authorities) {
+    List<GrantedAuthority> clientAuthorities = new ArrayList<>(authorities);
+    clientAuthorities.add(new SimpleGrantedAuthority(AuthConstants.CLIENT_AUTHORITY));
+    return new AppUserDetails(null, null, clientId, null, null, clientAuthorities);
   }
 
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    return Collections.emptyList();
+    return authorities;
   }
 
   public Long getId() {
-    return appUser.getId();
+    return id;
   }
 
   public UUID getUserId() {
-    return appUser.getUserId();
+    return userId;
   }
 
   public String getEmail() {
-    return appUser.getEmail();
+    return email;
   }
 
   @Override
   public String getPassword() {
-    return appUser.getPassword();
+    return password;
   }
 
   @Override
   public String getUsername() {
-    return appUser.getUsername();
+    return username;
   }
 
   @Override
@@ -0,0 +1,20 @@
+package com.identityx.api.auth.web.dto;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class IntrospectionBatchRequest {
+
+  @NotEmpty(message = "At least one token is required")
+  @Size(max = 100, message = "At most 100 tokens can be introspected per request")
+  private List<String> tokens;
+
+  @JsonProperty("token_type_hint")
+  private String tokenTypeHint;
+}
@@ -0,0 +1,12 @@
+package com.identityx.api.auth.web.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/** One result per requested token, in request order. */
+@Getter
+@Setter
+public class IntrospectionBatchResponse {
+  private List<IntrospectionResponse> results;
+}
@@ -0,0 +1,35 @@
+package com.identityx.api.auth.web.dto;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Token introspection response (RFC 7662). An inactive token carries no other members. Instances
+ * are cached and shared between requests, so they are not modified once built.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+  private boolean active;
+  private String scope;
+
+  @JsonProperty("client_id")
+  private String clientId;
+
+  @JsonProperty("token_type")
+  private String tokenType;
+
+  private String sub;
+  private String username;
+  private String iss;
+  private String jti;
+  private Long exp;
+
+  /** Permission names; client scopes are listed in {@code scope} instead. */
+  private List<String> authorities;
+}
@@ -1,6 +1,7 @@
 package com.identityx.api.auth.web.dto;
 
 import java.time.Instant;
+import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -8,5 +9,6 @@ import lombok.Setter;
 @Setter
 public class RefreshTokenResponse {
   private String refreshToken;
+  private UUID sessionId;
   private Instant expiryDate;
 }
@@ -0,0 +1,18 @@
+package com.identityx.api.auth.web.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SessionResponse {
+  private UUID sessionId;
+  private String deviceLabel;
+  private LocalDateTime createdAt;
+  private Instant lastUsedAt;
+  private Instant expiryDate;
+  private boolean current;
+}
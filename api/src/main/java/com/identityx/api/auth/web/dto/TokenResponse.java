@@ -0,0 +1,22 @@
+package com.identityx.api.auth.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Successful token response (RFC 6749 section 5.1). */
+@Getter
+@Setter
+public class TokenResponse {
+
+  @JsonProperty("access_token")
+  private String accessToken;
+
+  @JsonProperty("token_type")
+  private String tokenType;
+
+  @JsonProperty("expires_in")
+  private long expiresIn;
+
+  private String scope;
+}
@@ -1,5 +1,6 @@
 package com.identityx.api.auth.web.dto;
 
+import java.time.Instant;
 import java.util.List;
 import org.springframework.security.core.GrantedAuthority;
 import lombok.Getter;
@@ -10,7 +11,12 @@ import lombok.Setter;
 public class ValidateJWTTokenResponse {
 
   private boolean isValid;
+  private String tokenId;
+  private String subject;
   private String username;
   private List<GrantedAuthority> authorities;
+  private Instant expiresAt;
+  private String clientId;
+  private String scope;
 
 }
@@ -0,0 +1,82 @@
+package com.identityx.api.common.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bloom filter over strings. {@link #mightContain} never returns {@code false} for a
+ * value that was {@link #put}, and returns {@code true} for other values with roughly the
+ * configured false-positive probability while the filter holds at most the expected number of
+ * values. Values cannot be removed; rebuild the filter instead.
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashFunctions;
+
+  public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException(
+          "False-positive probability must be in (0, 1): " + falsePositiveProbability);
+    }
+    long expected = Math.max(1, expectedInsertions);
+    double ln2 = Math.log(2);
+    long optimalBits =
+        (long) Math.ceil(-expected * Math.log(falsePositiveProbability) / (ln2 * ln2));
+    int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) >>> 6));
+
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = (long) wordCount << 6;
+    this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expected * ln2));
+  }
+
+  public void put(String value) {
+    long hash = hash64(value);
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashFunctions; i++) {
+      long bit = Math.floorMod(hash1 + (long) i * hash2, bitCount);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      if ((words.get(word) & mask) == 0) {
+        words.getAndAccumulate(word, mask, (current, bits) -> current | bits);
+      }
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash = hash64(value);
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashFunctions; i++) {
+      long bit = Math.floorMod(hash1 + (long) i * hash2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long bitCount() {
+    return bitCount;
+  }
+
+  public int hashFunctions() {
+    return hashFunctions;
+  }
+
+  /** FNV-1a over the UTF-16 code units, finished with the MurmurHash3 64-bit mixer. */
+  private static long hash64(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
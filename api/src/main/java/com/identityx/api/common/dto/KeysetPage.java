@@ -0,0 +1,10 @@
+package com.identityx.api.common.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextAfter} is the key to request the following
+ * page with, or {@code null} on the last page.
+ */
+public record KeysetPage<T>(List<T> items, Long nextAfter) {
+}
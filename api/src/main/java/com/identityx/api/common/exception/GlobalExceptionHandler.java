@@ -3,6 +3,7 @@ package com.identityx.api.common.exception;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -89,6 +90,39 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
   }
 
 
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<AppErrorResponse> handleTooManyRequestsException(
+      TooManyRequestsException exception, WebRequest webRequest) {
+    AppErrorResponse errorResponseDTO = new AppErrorResponse(webRequest.getDescription(false),
+        HttpStatus.TOO_MANY_REQUESTS, exception.getMessage());
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+        .body(errorResponseDTO);
+  }
+
+  @ExceptionHandler(OAuth2RequestException.class)
+  public ResponseEntity<Map<String, String>> handleOAuth2RequestException(
+      OAuth2RequestException exception) {
+    // RFC 6749 section 5.2 error body, which OAuth clients parse instead of AppErrorResponse.
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(exception.getStatus())
+        .cacheControl(CacheControl.noStore()).header(HttpHeaders.PRAGMA, "no-cache");
+    if (exception.getStatus() == HttpStatus.UNAUTHORIZED) {
+      response.header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"IdentityX\"");
+    }
+    return response.body(Map.of("error", exception.getError(), "error_description",
+        exception.getMessage()));
+  }
+
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<AppErrorResponse> handleServiceOverloadedException(
+      ServiceOverloadedException exception, WebRequest webRequest) {
+    AppErrorResponse errorResponseDTO = new AppErrorResponse(webRequest.getDescription(false),
+        HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+        .body(errorResponseDTO);
+  }
+
   @ExceptionHandler(RuntimeException.class)
   public ResponseEntity<AppErrorResponse> handleRuntimeException(RuntimeException exception,
       WebRequest webRequest) {
@@ -0,0 +1,28 @@
+package com.identityx.api.common.exception;
+
+import org.springframework.http.HttpStatus;
+import lombok.Getter;
+
+/**
+ * A failed OAuth 2.0 token request. {@code error} is one of the RFC 6749 error codes and is
+ * returned as-is so standard clients can act on it.
+ */
+@Getter
+public class OAuth2RequestException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final HttpStatus status;
+  private final String error;
+
+  public OAuth2RequestException(HttpStatus status, String error, String description) {
+    super(description);
+    this.status = status;
+    this.error = error;
+  }
+
+  public static OAuth2RequestException invalidClient() {
+    return new OAuth2RequestException(HttpStatus.UNAUTHORIZED, "invalid_client",
+        "Client authentication failed");
+  }
+}
@@ -0,0 +1,15 @@
+package com.identityx.api.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** A password could not be hashed or checked because of a server-side fault, not the input. */
+@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+public class PasswordHashingException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public PasswordHashingException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,16 @@
+package com.identityx.api.common.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidation batches between nodes, selected with
+ * {@code cluster.invalidation.transport}. Delivery is best effort; caches still expire on their
+ * own TTLs, so a lost batch only delays an invalidation.
+ */
+public interface IInvalidationTransport {
+
+  void send(InvalidationBatch batch);
+
+  void subscribe(Consumer<InvalidationBatch> listener);
+
+}
@@ -0,0 +1,9 @@
+package com.identityx.api.common.invalidation;
+
+import java.util.List;
+
+/**
+ * The unit a transport carries: coalesced events from one node.
+ */
+public record InvalidationBatch(String originNodeId, List<InvalidationEvent> events) {
+}
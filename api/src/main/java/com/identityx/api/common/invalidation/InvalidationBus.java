@@ -0,0 +1,170 @@
+package com.identityx.api.common.invalidation;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans invalidations out to this node and to the rest of the cluster.
+ *
+ * <p>
+ * {@link #publish} delivers the event locally as a Spring application event right away, or after
+ * commit when called inside a transaction. Remote delivery is batched: events are coalesced by
+ * type and key in a pending map and flushed every {@code cluster.invalidation.flush-interval-ms},
+ * in batches of at most {@code cluster.invalidation.max-batch-size}, so a burst of logouts costs
+ * a handful of messages. Batches received from other nodes are re-published locally, with expiries
+ * cut to {@code cluster.invalidation.max-remote-ttl-ms} from now so no remote event can pin an
+ * entry in memory for longer than any token lives.
+ *
+ * <p>
+ * The flush runs on its own thread rather than the shared task scheduler, so cross-node
+ * revocation latency does not depend on how long other scheduled jobs take.
+ */
+@Slf4j
+@Component
+public class InvalidationBus implements InitializingBean, DisposableBean {
+
+  private final ApplicationEventPublisher eventPublisher;
+  private final IInvalidationTransport transport;
+  private final String nodeId;
+  private final int maxBatchSize;
+  private final long flushIntervalMs;
+  private final long maxRemoteTtlMs;
+  private final Clock clock;
+  private final ScheduledExecutorService flusher;
+  private final Map<EventKey, InvalidationEvent> pending = new ConcurrentHashMap<>();
+  private final Counter sentEvents;
+  private final Counter sentBatches;
+  private final Counter receivedEvents;
+
+  public InvalidationBus(ApplicationEventPublisher eventPublisher,
+      IInvalidationTransport transport, @Value("${cluster.node-id:}") String nodeId,
+      @Value("${cluster.invalidation.max-batch-size:200}") int maxBatchSize,
+      @Value("${cluster.invalidation.flush-interval-ms:200}") long flushIntervalMs,
+      @Value("${cluster.invalidation.max-remote-ttl-ms:86400000}") long maxRemoteTtlMs,
+      Clock clock, MeterRegistry meterRegistry) {
+    this.eventPublisher = eventPublisher;
+    this.transport = transport;
+    this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.flushIntervalMs = flushIntervalMs;
+    this.maxRemoteTtlMs = maxRemoteTtlMs;
+    this.clock = clock;
+    this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "invalidation-flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.sentEvents = Counter.builder("identityx.invalidation.events").tag("direction", "sent")
+        .register(meterRegistry);
+    this.receivedEvents = Counter.builder("identityx.invalidation.events")
+        .tag("direction", "received").register(meterRegistry);
+    this.sentBatches = Counter.builder("identityx.invalidation.batches").register(meterRegistry);
+    transport.subscribe(this::onBatch);
+  }
+
+  public void publish(InvalidationEvent event) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          dispatch(event);
+        }
+      });
+    } else {
+      dispatch(event);
+    }
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    flusher.scheduleWithFixedDelay(() -> {
+      try {
+        flush();
+      } catch (RuntimeException e) {
+        // An exception would cancel every later run.
+        log.error("Failed to flush invalidations: {}", e.getMessage());
+      }
+    }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  public void flush() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<InvalidationEvent> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+    Iterator<EventKey> keys = pending.keySet().iterator();
+    while (keys.hasNext()) {
+      InvalidationEvent event = pending.remove(keys.next());
+      if (event == null) {
+        continue;
+      }
+      batch.add(event);
+      if (batch.size() == maxBatchSize) {
+        send(batch);
+        batch = new ArrayList<>(maxBatchSize);
+      }
+    }
+    if (!batch.isEmpty()) {
+      send(batch);
+    }
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    flusher.shutdown();
+    flusher.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS);
+    flush();
+  }
+
+  private void dispatch(InvalidationEvent event) {
+    eventPublisher.publishEvent(event);
+    pending.merge(new EventKey(event.type(), event.key()), event,
+        (queued, latest) -> queued.expiresAtMillis() >= latest.expiresAtMillis() ? queued : latest);
+  }
+
+  private void send(List<InvalidationEvent> events) {
+    transport.send(new InvalidationBatch(nodeId, List.copyOf(events)));
+    sentEvents.increment(events.size());
+    sentBatches.increment();
+  }
+
+  private void onBatch(InvalidationBatch batch) {
+    if (nodeId.equals(batch.originNodeId())) {
+      return;
+    }
+    log.debug("Applying {} invalidations from node {}", batch.events().size(),
+        batch.originNodeId());
+    receivedEvents.increment(batch.events().size());
+    long maxExpiresAtMillis = clock.millis() + maxRemoteTtlMs;
+    for (InvalidationEvent event : batch.events()) {
+      eventPublisher.publishEvent(event.expiresAtMillis() > maxExpiresAtMillis
+          ? new InvalidationEvent(event.type(), event.key(), maxExpiresAtMillis)
+          : event);
+    }
+  }
+
+  private record EventKey(InvalidationType type, String key) {
+  }
+}
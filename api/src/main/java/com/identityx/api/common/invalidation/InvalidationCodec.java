@@ -0,0 +1,109 @@
+package com.identityx.api.common.invalidation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Binary form of an {@link InvalidationBatch} on the wire, followed by an HMAC-SHA256 tag under
+ * the cluster key. Frames with a bad tag, or sent more than {@code maxAgeMs} away from this
+ * node's clock, decode to {@code null}, so a host without the key cannot inject events and a
+ * captured frame cannot be replayed later.
+ */
+final class InvalidationCodec {
+
+  private static final int MAGIC = 0x49445849;
+  private static final int VERSION = 2;
+  private static final String MAC_ALGORITHM = "HmacSHA256";
+  private static final int TAG_LENGTH = 32;
+  private static final int MIN_KEY_LENGTH = 32;
+
+  private final SecretKey key;
+  private final Clock clock;
+  private final long maxAgeMs;
+
+  InvalidationCodec(String base64Key, Clock clock, long maxAgeMs) {
+    byte[] keyBytes = base64Key.isEmpty() ? new byte[0] : Base64.getDecoder().decode(base64Key);
+    if (keyBytes.length < MIN_KEY_LENGTH) {
+      throw new IllegalStateException("cluster.invalidation.multicast.key must be at least "
+          + MIN_KEY_LENGTH + " bytes, base64-encoded");
+    }
+    this.key = new SecretKeySpec(keyBytes, MAC_ALGORITHM);
+    this.clock = clock;
+    this.maxAgeMs = maxAgeMs;
+  }
+
+  byte[] encode(InvalidationBatch batch) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeByte(VERSION);
+      out.writeLong(clock.millis());
+      out.writeUTF(batch.originNodeId());
+      out.writeInt(batch.events().size());
+      for (InvalidationEvent event : batch.events()) {
+        out.writeByte(event.type().ordinal());
+        out.writeUTF(event.key());
+        out.writeLong(event.expiresAtMillis());
+      }
+      out.write(tag(bytes.toByteArray(), 0, bytes.size()));
+    }
+    return bytes.toByteArray();
+  }
+
+  InvalidationBatch decode(byte[] data, int offset, int length) throws IOException {
+    int payloadLength = length - TAG_LENGTH;
+    if (payloadLength <= 0 || !MessageDigest.isEqual(tag(data, offset, payloadLength),
+        Arrays.copyOfRange(data, offset + payloadLength, offset + length))) {
+      return null;
+    }
+    try (DataInputStream in =
+        new DataInputStream(new ByteArrayInputStream(data, offset, payloadLength))) {
+      if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+        return null;
+      }
+      if (Math.abs(clock.millis() - in.readLong()) > maxAgeMs) {
+        return null;
+      }
+      String originNodeId = in.readUTF();
+      int count = in.readInt();
+      if (count < 0 || count > payloadLength) {
+        return null;
+      }
+      InvalidationType[] types = InvalidationType.values();
+      List<InvalidationEvent> events = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= types.length) {
+          return null;
+        }
+        InvalidationType type = types[ordinal];
+        events.add(new InvalidationEvent(type, in.readUTF(), in.readLong()));
+      }
+      return new InvalidationBatch(originNodeId, events);
+    }
+  }
+
+  private byte[] tag(byte[] data, int offset, int length) {
+    try {
+      Mac mac = Mac.getInstance(MAC_ALGORITHM);
+      mac.init(key);
+      mac.update(data, offset, length);
+      return mac.doFinal();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+    }
+  }
+}
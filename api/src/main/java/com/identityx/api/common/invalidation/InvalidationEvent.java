@@ -0,0 +1,29 @@
+package com.identityx.api.common.invalidation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tells every node to drop state derived from {@code key}. Published through the
+ * {@link InvalidationBus}, which delivers it as a Spring application event on this node and on
+ * every other node. {@code expiresAtMillis} is 0 unless the invalidation itself expires.
+ */
+public record InvalidationEvent(InvalidationType type, String key, long expiresAtMillis) {
+
+  public static InvalidationEvent userChanged(String username) {
+    return new InvalidationEvent(InvalidationType.USER_CHANGED, username, 0);
+  }
+
+  public static InvalidationEvent tokenRevoked(String tokenId, Instant expiresAt) {
+    return new InvalidationEvent(InvalidationType.TOKENS_REVOKED, tokenId,
+        expiresAt.toEpochMilli());
+  }
+
+  public static InvalidationEvent sessionsCleared(UUID userId) {
+    return new InvalidationEvent(InvalidationType.SESSIONS_CLEARED, userId.toString(), 0);
+  }
+
+  public static InvalidationEvent roleChanged(Long roleId) {
+    return new InvalidationEvent(InvalidationType.ROLE_CHANGED, roleId.toString(), 0);
+  }
+}
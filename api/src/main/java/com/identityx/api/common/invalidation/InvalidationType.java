@@ -0,0 +1,16 @@
+package com.identityx.api.common.invalidation;
+
+public enum InvalidationType {
+
+  /** Key is the username; cached user details must be reloaded. */
+  USER_CHANGED,
+
+  /** Key is the {@code jti} of a revoked access token. */
+  TOKENS_REVOKED,
+
+  /** Key is the user id; every refresh-token session of the user is gone. */
+  SESSIONS_CLEARED,
+
+  /** Key is the role id; its permissions changed or it was deleted. */
+  ROLE_CHANGED
+}
@@ -0,0 +1,43 @@
+package com.identityx.api.common.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers batches to every application context in the same JVM. A single instance only hears
+ * itself, which the bus ignores; several contexts started side by side, e.g. in a test, behave
+ * like a cluster.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.invalidation.transport", havingValue = "loopback",
+    matchIfMissing = true)
+public class LoopbackInvalidationTransport implements IInvalidationTransport, DisposableBean {
+
+  private static final List<Consumer<InvalidationBatch>> SUBSCRIBERS =
+      new CopyOnWriteArrayList<>();
+
+  private final List<Consumer<InvalidationBatch>> listeners = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void send(InvalidationBatch batch) {
+    for (Consumer<InvalidationBatch> subscriber : SUBSCRIBERS) {
+      subscriber.accept(batch);
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<InvalidationBatch> listener) {
+    listeners.add(listener);
+    SUBSCRIBERS.add(listener);
+  }
+
+  @Override
+  public void destroy() {
+    SUBSCRIBERS.removeAll(listeners);
+    listeners.clear();
+  }
+}
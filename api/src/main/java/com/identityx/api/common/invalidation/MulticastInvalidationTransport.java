@@ -0,0 +1,123 @@
+package com.identityx.api.common.invalidation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.StandardSocketOptions;
+import java.time.Clock;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends each batch as one UDP datagram to a multicast group that every node joins. Multicast
+ * loopback is enabled, so several instances on one machine can be run against each other.
+ *
+ * <p>Datagrams are signed with the shared {@code cluster.invalidation.multicast.key} (see
+ * {@link InvalidationCodec}); anything else arriving on the group is dropped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cluster.invalidation.transport", havingValue = "multicast")
+public class MulticastInvalidationTransport implements IInvalidationTransport, DisposableBean {
+
+  private static final int MAX_DATAGRAM_SIZE = 65_507;
+
+  private final InvalidationCodec codec;
+  private final InetSocketAddress group;
+  private final MulticastSocket socket;
+  private final NetworkInterface networkInterface;
+  private volatile Consumer<InvalidationBatch> listener;
+  private volatile boolean running = true;
+  private Thread receiver;
+
+  public MulticastInvalidationTransport(
+      @Value("${cluster.invalidation.multicast.group:239.255.42.99}") String groupAddress,
+      @Value("${cluster.invalidation.multicast.port:45588}") int port,
+      @Value("${cluster.invalidation.multicast.interface:}") String interfaceName,
+      @Value("${cluster.invalidation.multicast.ttl:1}") int timeToLive,
+      @Value("${cluster.invalidation.multicast.key:}") String key,
+      @Value("${cluster.invalidation.multicast.max-age-ms:30000}") long maxAgeMs, Clock clock) {
+    this.codec = new InvalidationCodec(key, clock, maxAgeMs);
+    try {
+      this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+      this.networkInterface =
+          interfaceName.isBlank() ? null : NetworkInterface.getByName(interfaceName);
+      this.socket = new MulticastSocket(port);
+      socket.setTimeToLive(timeToLive);
+      socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+      if (networkInterface != null) {
+        socket.setNetworkInterface(networkInterface);
+      }
+      socket.joinGroup(group, networkInterface);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to join invalidation multicast group", e);
+    }
+  }
+
+  @Override
+  public void send(InvalidationBatch batch) {
+    try {
+      byte[] payload = codec.encode(batch);
+      if (payload.length > MAX_DATAGRAM_SIZE) {
+        log.error("Dropping invalidation batch of {} bytes; lower the maximum batch size",
+            payload.length);
+        return;
+      }
+      socket.send(new DatagramPacket(payload, payload.length, group));
+    } catch (IOException e) {
+      log.warn("Failed to send invalidation batch: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public synchronized void subscribe(Consumer<InvalidationBatch> listener) {
+    this.listener = listener;
+    if (receiver == null) {
+      receiver = Thread.ofPlatform().name("invalidation-multicast").daemon()
+          .start(this::receiveLoop);
+    }
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    running = false;
+    try {
+      socket.leaveGroup(group, networkInterface);
+    } finally {
+      socket.close();
+    }
+  }
+
+  private void receiveLoop() {
+    byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+    while (running) {
+      DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+      try {
+        socket.receive(packet);
+        InvalidationBatch batch =
+            codec.decode(packet.getData(), packet.getOffset(), packet.getLength());
+        Consumer<InvalidationBatch> current = listener;
+        if (batch == null) {
+          log.debug("Dropped an unsigned, stale or malformed datagram from {}",
+              packet.getSocketAddress());
+        } else if (current != null) {
+          current.accept(batch);
+        }
+      } catch (IOException e) {
+        if (running) {
+          log.warn("Failed to receive invalidation batch: {}", e.getMessage());
+        }
+      } catch (RuntimeException e) {
+        log.error("Failed to apply invalidation batch: {}", e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -13,6 +13,11 @@ import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * Common id and audit columns. Ids come from a pooled sequence per entity ({@code <entity>_seq},
+ * 50 values per round trip), so Hibernate can defer inserts and send them as JDBC batches; an
+ * identity column would force every insert to run on its own to read back the key.
+ */
 @Setter
 @Getter
 @EntityListeners(AuditingEntityListener.class)
@@ -20,7 +25,7 @@ import lombok.Setter;
 public abstract class BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE)
   private Long id;
 
   @CreatedDate
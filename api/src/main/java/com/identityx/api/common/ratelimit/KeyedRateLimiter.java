@@ -0,0 +1,88 @@
+package com.identityx.api.common.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free per-key token bucket implemented as a generic cell rate algorithm: each key keeps a
+ * single "theoretical arrival time" updated by CAS. A key allows {@code capacity} immediate
+ * requests and then one request every {@code period / capacity}. Keys whose bucket has fully
+ * refilled carry no information and are dropped by {@link #evictIdle()}.
+ *
+ * <p>Times are measured from the limiter's creation, so they are never negative and {@code -1}
+ * can mark a bucket that is being evicted. A request that still holds such a bucket retries on a
+ * fresh one instead of taking a token nobody will see.
+ */
+public class KeyedRateLimiter {
+
+  private static final long RETIRED = -1;
+
+  private final ConcurrentHashMap<String, AtomicLong> arrivalTimes = new ConcurrentHashMap<>();
+  private final long originNanos = System.nanoTime();
+  private final long emissionIntervalNanos;
+  private final long burstWindowNanos;
+
+  public KeyedRateLimiter(int capacity, long periodMs) {
+    if (capacity < 1 || periodMs < 1) {
+      throw new IllegalArgumentException("capacity and period must be positive");
+    }
+    this.emissionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(periodMs) / capacity;
+    this.burstWindowNanos = emissionIntervalNanos * capacity;
+  }
+
+  /**
+   * Takes one token for {@code key}.
+   *
+   * @return {@code 0} when the request is allowed, otherwise the nanoseconds until the next token
+   */
+  public long tryAcquire(String key) {
+    long now = System.nanoTime() - originNanos;
+    while (true) {
+      AtomicLong arrivalTime = arrivalTimes.computeIfAbsent(key, k -> new AtomicLong(now));
+      long current = arrivalTime.get();
+      if (current == RETIRED) {
+        arrivalTimes.remove(key, arrivalTime);
+        continue;
+      }
+      long next = Math.max(current, now) + emissionIntervalNanos;
+      long allowedAt = next - burstWindowNanos;
+      if (allowedAt > now) {
+        return allowedAt - now;
+      }
+      if (arrivalTime.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Returns what {@link #tryAcquire} would, without taking a token.
+   *
+   * @return {@code 0} when a token is available, otherwise the nanoseconds until the next one
+   */
+  public long waitTime(String key) {
+    AtomicLong arrivalTime = arrivalTimes.get(key);
+    long current = arrivalTime == null ? RETIRED : arrivalTime.get();
+    if (current == RETIRED) {
+      return 0;
+    }
+    long now = System.nanoTime() - originNanos;
+    long allowedAt = Math.max(current, now) + emissionIntervalNanos - burstWindowNanos;
+    return Math.max(0, allowedAt - now);
+  }
+
+  public void evictIdle() {
+    long now = System.nanoTime() - originNanos;
+    arrivalTimes.forEach((key, arrivalTime) -> {
+      long current = arrivalTime.get();
+      if (current != RETIRED && current <= now && arrivalTime.compareAndSet(current, RETIRED)) {
+        arrivalTimes.remove(key, arrivalTime);
+      }
+    });
+  }
+
+  public int size() {
+    return arrivalTimes.size();
+  }
+}
@@ -0,0 +1,14 @@
+package com.identityx.api.config;
+
+import java.time.Clock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockConfig {
+
+  @Bean
+  Clock clock() {
+    return Clock.systemUTC();
+  }
+}
@@ -1,60 +1,129 @@
 package com.identityx.api.config;
 
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
+import com.identityx.api.appuser.web.AppUserAdminController;
+import com.identityx.api.appuser.web.AppUserController;
 import com.identityx.api.auth.filter.JWTTokenValidatorFilter;
+import com.identityx.api.auth.security.AppUserAuthorizationManager;
 import com.identityx.api.auth.security.AppUsernamePwdAuthenticationProvider;
+import com.identityx.api.auth.security.AuthenticationMode;
 import com.identityx.api.auth.security.IJwtTokenProvider;
+import com.identityx.api.auth.security.IPasswordHasher;
+import com.identityx.api.auth.security.JwtTokenProvider;
+import com.identityx.api.auth.security.PasswordHashCalibrator;
+import com.identityx.api.auth.security.PasswordUpgradeQueue;
+import com.identityx.api.auth.security.PermissionAuthorizationManager;
+import com.identityx.api.auth.service.IAccessTokenRevocationService;
+import com.identityx.api.auth.web.JwksController;
+import com.identityx.api.auth.web.OAuth2Controller;
 import com.identityx.api.common.exception.CustomAccessDeniedHandler;
 import com.identityx.api.common.exception.CustomBasicAuthenticationEntryPoint;
+import com.identityx.api.role.model.Permission;
+import com.identityx.api.role.web.RoleController;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+  /** Scope a client needs to scrape {@code /actuator/prometheus}. */
+  public static final String METRICS_SCOPE = "metrics.read";
+
+  /** Scope a client needs to introspect tokens (RFC 7662 section 2.1). */
+  public static final String INTROSPECTION_SCOPE = "tokens.introspect";
+
   private final CorsConfigurationSource corsConfigurationSource;
 
   @Bean
   SecurityFilterChain defaultSecurityFilterChain(HttpSecurity httpSecurity,
-      IJwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) throws Exception {
+      IJwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService,
+      @Value("${jwt.authentication.mode:USER_LOOKUP}") AuthenticationMode authenticationMode,
+      IAccessTokenRevocationService accessTokenRevocationService, MeterRegistry meterRegistry)
+      throws Exception {
 
     httpSecurity
         .sessionManagement(smc -> smc.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
     httpSecurity.cors(cors -> cors.configurationSource(corsConfigurationSource));
     httpSecurity.csrf(AbstractHttpConfigurer::disable);
+    // The async dispatch that completes a streamed response was authorized as a request already.
     httpSecurity.authorizeHttpRequests(authorizeRequests -> authorizeRequests
-        .requestMatchers("/api/user/register", "/api/auth/login", "/api/auth/refresh-token")
-        .permitAll().anyRequest().authenticated());
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+        .requestMatchers("/api/user/register", "/api/auth/login", "/api/auth/refresh-token",
+            AppUserController.AVAILABILITY_PATH, JwksController.JWKS_PATH,
+            OAuth2Controller.TOKEN_PATH)
+        .permitAll()
+        .requestMatchers(EndpointRequest.to("health")).permitAll()
+        .requestMatchers(EndpointRequest.to("prometheus"))
+        .hasAuthority(JwtTokenProvider.SCOPE_AUTHORITY_PREFIX + METRICS_SCOPE)
+        .requestMatchers(HttpMethod.POST, OAuth2Controller.INTROSPECT_PATH,
+            OAuth2Controller.INTROSPECT_BATCH_PATH)
+        .hasAuthority(JwtTokenProvider.SCOPE_AUTHORITY_PREFIX + INTROSPECTION_SCOPE)
+        .requestMatchers(HttpMethod.POST, AppUserAdminController.IMPORT_PATH)
+        .access(PermissionAuthorizationManager.hasPermission(Permission.USER_IMPORT))
+        .requestMatchers(HttpMethod.GET, AppUserController.SEARCH_PATH,
+            AppUserController.AUTOCOMPLETE_PATH)
+        .access(PermissionAuthorizationManager.hasPermission(Permission.USER_READ))
+        .requestMatchers(HttpMethod.GET, AppUserAdminController.EXPORT_PATH)
+        .access(PermissionAuthorizationManager.hasPermission(Permission.USER_EXPORT))
+        .requestMatchers(HttpMethod.GET, RoleController.ROLES_PATH)
+        .access(PermissionAuthorizationManager.hasPermission(Permission.ROLE_READ))
+        .requestMatchers(RoleController.ROLES_PATH, RoleController.USER_ROLES_PATH)
+        .access(PermissionAuthorizationManager.hasPermission(Permission.ROLE_WRITE))
+        .anyRequest().access(AppUserAuthorizationManager.appUser()));
     httpSecurity.exceptionHandling(ehc -> ehc.accessDeniedHandler(new CustomAccessDeniedHandler())
         .authenticationEntryPoint(new CustomBasicAuthenticationEntryPoint()));
-    httpSecurity.addFilterBefore(new JWTTokenValidatorFilter(jwtTokenProvider, userDetailsService),
+    httpSecurity.addFilterBefore(new JWTTokenValidatorFilter(jwtTokenProvider, userDetailsService,
+        authenticationMode, accessTokenRevocationService, meterRegistry),
         UsernamePasswordAuthenticationFilter.class);
 
     return httpSecurity.build();
   }
 
   @Bean
-  PasswordEncoder passwordEncoder() {
-    return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+  PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt.strength:0}") int strength,
+      @Value("${security.password.bcrypt.target-ms:250}") long targetMs,
+      @Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+      @Value("${security.password.bcrypt.max-strength:14}") int maxStrength) {
+    int bcryptStrength = strength > 0 ? strength
+        : PasswordHashCalibrator.calibrateBCryptStrength(Duration.ofMillis(targetMs), minStrength,
+            maxStrength);
+
+    // Hashes with another id still match through the factory encoder. Those, and bcrypt hashes of
+    // a lower strength, are reported by upgradeEncoding and rehashed after the next login.
+    DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt",
+        Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+    PasswordEncoder legacyPasswordEncoder =
+        PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    passwordEncoder.setDefaultPasswordEncoderForMatches(legacyPasswordEncoder);
+    return passwordEncoder;
   }
 
   @Bean
   AuthenticationManager authenticationManager(UserDetailsService userDetailsService,
-      PasswordEncoder passwordEncoder) {
-    AppUsernamePwdAuthenticationProvider authProvider =
-        new AppUsernamePwdAuthenticationProvider(userDetailsService, passwordEncoder);
+      IPasswordHasher passwordHasher, PasswordUpgradeQueue passwordUpgradeQueue) {
+    AppUsernamePwdAuthenticationProvider authProvider = new AppUsernamePwdAuthenticationProvider(
+        userDetailsService, passwordHasher, passwordUpgradeQueue);
     ProviderManager providerManager = new ProviderManager(authProvider);
     providerManager.setEraseCredentialsAfterAuthentication(false);
 
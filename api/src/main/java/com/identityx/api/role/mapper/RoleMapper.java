@@ -0,0 +1,42 @@
+package com.identityx.api.role.mapper;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import com.identityx.api.role.model.Permission;
+import com.identityx.api.role.model.Role;
+import com.identityx.api.role.web.dto.RoleRequest;
+import com.identityx.api.role.web.dto.RoleResponse;
+
+public final class RoleMapper {
+
+  private RoleMapper() {}
+
+  public static RoleResponse toRoleResponse(Role role) {
+    RoleResponse roleResponse = new RoleResponse();
+    roleResponse.setName(role.getName());
+    roleResponse.setDescription(role.getDescription());
+    roleResponse.setPermissions(
+        role.getPermissions().stream().sorted().map(Permission::name).toList());
+    return roleResponse;
+  }
+
+  public static void toRole(RoleRequest roleRequest, Role role) {
+    role.setName(roleRequest.getName());
+    role.setDescription(roleRequest.getDescription());
+    role.getPermissions().clear();
+    role.getPermissions().addAll(toPermissions(roleRequest.getPermissions()));
+  }
+
+  public static Set<Permission> toPermissions(Collection<String> names) {
+    Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+    for (String name : names) {
+      try {
+        permissions.add(Permission.valueOf(name.trim().toUpperCase()));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalStateException("Unknown permission: " + name);
+      }
+    }
+    return permissions;
+  }
+}
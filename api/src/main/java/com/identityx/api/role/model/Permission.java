@@ -0,0 +1,30 @@
+package com.identityx.api.role.model;
+
+/**
+ * Fine-grained permissions granted through roles. Each constant owns a fixed bit of a
+ * {@link PermissionSet}; bits end up in issued tokens, so they must never be renumbered or reused.
+ * New permissions take the next free bit.
+ */
+public enum Permission {
+
+  USER_READ(0),
+  USER_WRITE(1),
+  USER_IMPORT(2),
+  USER_EXPORT(3),
+  ROLE_READ(4),
+  ROLE_WRITE(5);
+
+  private final int bit;
+
+  Permission(int bit) {
+    this.bit = bit;
+  }
+
+  public int bit() {
+    return bit;
+  }
+
+  public long mask() {
+    return 1L << bit;
+  }
+}
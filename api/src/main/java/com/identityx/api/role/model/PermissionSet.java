@@ -0,0 +1,84 @@
+package com.identityx.api.role.model;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * An immutable set of {@link Permission}s packed into one {@code long}. Membership is a single bit
+ * test and combining roles is a bitwise or. {@link #encode()} writes the set as the shortest
+ * big-endian byte string in base64url, so a token with every current permission carries a
+ * two-character claim.
+ *
+ * <p>Bits that no {@link Permission} owns are kept as they are, so a node running an older build
+ * neither loses nor grants permissions it does not know about.
+ */
+public record PermissionSet(long bits) {
+
+  public static final PermissionSet EMPTY = new PermissionSet(0L);
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  public static PermissionSet of(Collection<Permission> permissions) {
+    long bits = 0L;
+    for (Permission permission : permissions) {
+      bits |= permission.mask();
+    }
+    return new PermissionSet(bits);
+  }
+
+  public static PermissionSet of(Permission... permissions) {
+    return of(Arrays.asList(permissions));
+  }
+
+  /**
+   * Reverses {@link #encode()}.
+   *
+   * @throws IllegalArgumentException if {@code encoded} is not base64url or longer than 8 bytes
+   */
+  public static PermissionSet decode(String encoded) {
+    byte[] bytes = DECODER.decode(encoded);
+    if (bytes.length == 0 || bytes.length > Long.BYTES) {
+      throw new IllegalArgumentException("Permission set must be 1 to 8 bytes");
+    }
+    long bits = 0L;
+    for (byte b : bytes) {
+      bits = (bits << 8) | (b & 0xFF);
+    }
+    return new PermissionSet(bits);
+  }
+
+  public boolean contains(Permission permission) {
+    return (bits & permission.mask()) != 0;
+  }
+
+  public boolean isEmpty() {
+    return bits == 0L;
+  }
+
+  public PermissionSet union(PermissionSet other) {
+    return (bits | other.bits) == bits ? this : new PermissionSet(bits | other.bits);
+  }
+
+  public Set<Permission> toPermissions() {
+    EnumSet<Permission> permissions = EnumSet.noneOf(Permission.class);
+    for (Permission permission : Permission.values()) {
+      if (contains(permission)) {
+        permissions.add(permission);
+      }
+    }
+    return permissions;
+  }
+
+  public String encode() {
+    int length = Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(bits) + 7) / 8);
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (bits >>> (8 * (length - 1 - i)));
+    }
+    return ENCODER.encodeToString(bytes);
+  }
+}
@@ -0,0 +1,38 @@
+package com.identityx.api.role.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+import com.identityx.api.common.model.BaseEntity;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "app_role")
+public class Role extends BaseEntity {
+
+  public static final String ADMIN = "ADMIN";
+  public static final String USER = "USER";
+
+  @Column(name = "name", nullable = false, unique = true, length = 64)
+  private String name;
+
+  @Column(name = "description", length = 500)
+  private String description;
+
+  @ElementCollection(fetch = FetchType.EAGER)
+  @CollectionTable(name = "app_role_permission", joinColumns = @JoinColumn(name = "role_id"))
+  @Enumerated(EnumType.STRING)
+  @Column(name = "permission", nullable = false, length = 64)
+  private Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+}
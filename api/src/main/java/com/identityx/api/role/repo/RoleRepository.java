@@ -0,0 +1,29 @@
+package com.identityx.api.role.repo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.identityx.api.role.model.Role;
+
+@Repository
+public interface RoleRepository extends JpaRepository<Role, Long> {
+
+  Optional<Role> findByName(String name);
+
+  List<Role> findAllByNameIn(Collection<String> names);
+
+  List<Role> findAllByOrderByNameAsc();
+
+  /** Reads only the join table, so resolving a user's permissions never loads the roles. */
+  @Query("select r.id from AppUser u join u.roles r where u.id = :appUserId")
+  List<Long> findRoleIdsByAppUserId(@Param("appUserId") Long appUserId);
+
+  @Modifying
+  @Query(value = "delete from app_user_role where role_id = :roleId", nativeQuery = true)
+  int deleteAssignments(@Param("roleId") Long roleId);
+}
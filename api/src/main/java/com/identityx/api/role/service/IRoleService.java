@@ -0,0 +1,28 @@
+package com.identityx.api.role.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.role.model.PermissionSet;
+import com.identityx.api.role.web.dto.RoleRequest;
+import com.identityx.api.role.web.dto.RoleResponse;
+
+public interface IRoleService {
+
+  List<RoleResponse> getRoles();
+
+  RoleResponse createRole(RoleRequest roleRequest);
+
+  RoleResponse updateRole(String name, RoleRequest roleRequest);
+
+  void deleteRole(String name);
+
+  List<RoleResponse> assignRoles(UUID userId, List<String> roleNames);
+
+  /** Adds the roles newly registered users start with; the caller saves the users. */
+  void applyDefaultRoles(Collection<AppUser> appUsers);
+
+  /** Union of the permissions of every role assigned to the user. */
+  PermissionSet resolvePermissions(Long appUserId);
+}
@@ -0,0 +1,199 @@
+package com.identityx.api.role.service;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserRepository;
+import com.identityx.api.common.exception.ResourceNotFoundException;
+import com.identityx.api.common.invalidation.InvalidationBus;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.common.invalidation.InvalidationType;
+import com.identityx.api.role.mapper.RoleMapper;
+import com.identityx.api.role.model.Permission;
+import com.identityx.api.role.model.PermissionSet;
+import com.identityx.api.role.model.Role;
+import com.identityx.api.role.repo.RoleRepository;
+import com.identityx.api.role.web.dto.RoleRequest;
+import com.identityx.api.role.web.dto.RoleResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manages roles and expands them into {@link PermissionSet}s. The expansion of each role is
+ * cached by role id, so resolving a user's permissions costs one query on the join table and a
+ * bitwise or per role. Changing or deleting a role is broadcast as {@code ROLE_CHANGED}; tokens
+ * already issued keep the permissions they were issued with until they expire.
+ */
+@Slf4j
+@Service
+public class RoleService implements IRoleService {
+
+  private final RoleRepository roleRepository;
+  private final AppUserRepository appUserRepository;
+  private final InvalidationBus invalidationBus;
+  private final Set<String> adminUsernames;
+  private final Cache<Long, PermissionSet> rolePermissions;
+
+  public RoleService(RoleRepository roleRepository, AppUserRepository appUserRepository,
+      InvalidationBus invalidationBus,
+      @Value("${role.admin-usernames:}") Set<String> adminUsernames,
+      @Value("${role.cache.max-size:1000}") long maxSize, MeterRegistry meterRegistry) {
+    this.roleRepository = roleRepository;
+    this.appUserRepository = appUserRepository;
+    this.invalidationBus = invalidationBus;
+    this.adminUsernames = Set.copyOf(adminUsernames);
+    this.rolePermissions = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, rolePermissions, "role.permissions");
+  }
+
+  @Override
+  public List<RoleResponse> getRoles() {
+    return roleRepository.findAllByOrderByNameAsc().stream().map(RoleMapper::toRoleResponse)
+        .toList();
+  }
+
+  @Override
+  @Transactional
+  public RoleResponse createRole(RoleRequest roleRequest) {
+    if (roleRepository.findByName(roleRequest.getName()).isPresent()) {
+      throw new IllegalStateException("Role " + roleRequest.getName() + " already exists");
+    }
+    Role role = new Role();
+    RoleMapper.toRole(roleRequest, role);
+    return RoleMapper.toRoleResponse(roleRepository.save(role));
+  }
+
+  @Override
+  @Transactional
+  public RoleResponse updateRole(String name, RoleRequest roleRequest) {
+    Role role = getRoleByName(name);
+    if (!role.getName().equals(roleRequest.getName())) {
+      if (isBuiltIn(role)) {
+        throw new IllegalStateException("Role " + name + " cannot be renamed");
+      }
+      if (roleRepository.findByName(roleRequest.getName()).isPresent()) {
+        throw new IllegalStateException("Role " + roleRequest.getName() + " already exists");
+      }
+    }
+    RoleMapper.toRole(roleRequest, role);
+    invalidationBus.publish(InvalidationEvent.roleChanged(role.getId()));
+    return RoleMapper.toRoleResponse(role);
+  }
+
+  @Override
+  @Transactional
+  public void deleteRole(String name) {
+    Role role = getRoleByName(name);
+    if (isBuiltIn(role)) {
+      throw new IllegalStateException("Role " + name + " cannot be deleted");
+    }
+    roleRepository.deleteAssignments(role.getId());
+    roleRepository.delete(role);
+    invalidationBus.publish(InvalidationEvent.roleChanged(role.getId()));
+  }
+
+  @Override
+  @Transactional
+  public List<RoleResponse> assignRoles(UUID userId, List<String> roleNames) {
+    AppUser appUser = appUserRepository.findByUserId(userId)
+        .orElseThrow(() -> new UsernameNotFoundException("User not found with userId: " + userId));
+    Set<String> names = new LinkedHashSet<>(roleNames);
+    List<Role> roles = roleRepository.findAllByNameIn(names);
+    if (roles.size() != names.size()) {
+      roles.forEach(role -> names.remove(role.getName()));
+      throw new ResourceNotFoundException("Role", "name", String.join(", ", names));
+    }
+
+    appUser.getRoles().clear();
+    appUser.getRoles().addAll(roles);
+    invalidationBus.publish(InvalidationEvent.userChanged(appUser.getUsername()));
+    return roles.stream().map(RoleMapper::toRoleResponse).toList();
+  }
+
+  @Override
+  public void applyDefaultRoles(Collection<AppUser> appUsers) {
+    List<Role> roles = roleRepository.findAllByNameIn(List.of(Role.USER, Role.ADMIN));
+    for (AppUser appUser : appUsers) {
+      boolean admin = adminUsernames.contains(appUser.getUsername());
+      roles.stream().filter(role -> admin || Role.USER.equals(role.getName()))
+          .forEach(appUser.getRoles()::add);
+    }
+  }
+
+  @Override
+  public PermissionSet resolvePermissions(Long appUserId) {
+    PermissionSet permissions = PermissionSet.EMPTY;
+    for (Long roleId : roleRepository.findRoleIdsByAppUserId(appUserId)) {
+      permissions = permissions.union(rolePermissions.get(roleId, this::loadPermissions));
+    }
+    return permissions;
+  }
+
+  /**
+   * Creates the built-in roles, grants ADMIN any permission added since the last start, and
+   * assigns ADMIN to the users listed in {@code role.admin-usernames}.
+   */
+  @Transactional
+  @EventListener(ApplicationReadyEvent.class)
+  public void seedRoles() {
+    Role admin = roleRepository.findByName(Role.ADMIN).orElseGet(() -> newRole(Role.ADMIN,
+        "Every permission", EnumSet.noneOf(Permission.class)));
+    if (admin.getPermissions().addAll(EnumSet.allOf(Permission.class))) {
+      admin = roleRepository.save(admin);
+      invalidationBus.publish(InvalidationEvent.roleChanged(admin.getId()));
+    }
+    if (roleRepository.findByName(Role.USER).isEmpty()) {
+      roleRepository.save(newRole(Role.USER, "Default role of registered users",
+          EnumSet.noneOf(Permission.class)));
+    }
+
+    for (AppUser appUser : appUserRepository.findAllByUsernameIn(adminUsernames)) {
+      if (appUser.getRoles().add(admin)) {
+        log.info("Granted role {} to {}", Role.ADMIN, appUser.getUsername());
+        invalidationBus.publish(InvalidationEvent.userChanged(appUser.getUsername()));
+      }
+    }
+  }
+
+  @EventListener
+  public void onInvalidation(InvalidationEvent event) {
+    if (event.type() == InvalidationType.ROLE_CHANGED) {
+      rolePermissions.invalidate(Long.valueOf(event.key()));
+    }
+  }
+
+  private PermissionSet loadPermissions(Long roleId) {
+    return roleRepository.findById(roleId).map(role -> PermissionSet.of(role.getPermissions()))
+        .orElse(PermissionSet.EMPTY);
+  }
+
+  private Role getRoleByName(String name) {
+    return roleRepository.findByName(name)
+        .orElseThrow(() -> new ResourceNotFoundException("Role", "name", name));
+  }
+
+  private static boolean isBuiltIn(Role role) {
+    return Role.ADMIN.equals(role.getName()) || Role.USER.equals(role.getName());
+  }
+
+  private static Role newRole(String name, String description, Set<Permission> permissions) {
+    Role role = new Role();
+    role.setName(name);
+    role.setDescription(description);
+    role.setPermissions(permissions);
+    return role;
+  }
+}
@@ -0,0 +1,78 @@
+package com.identityx.api.role.web;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.identityx.api.common.dto.AppResponse;
+import com.identityx.api.role.service.IRoleService;
+import com.identityx.api.role.web.dto.AssignRolesRequest;
+import com.identityx.api.role.web.dto.RoleRequest;
+import com.identityx.api.role.web.dto.RoleResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Role administration. Reads need {@code ROLE_READ} and changes need {@code ROLE_WRITE}; both are
+ * enforced in {@code SecurityConfig}.
+ */
+@RestController
+@RequiredArgsConstructor
+@Validated
+@RequestMapping("/api/admin")
+public class RoleController {
+
+  public static final String ROLES_PATH = "/api/admin/roles/**";
+  public static final String USER_ROLES_PATH = "/api/admin/users/*/roles";
+
+  private final IRoleService roleService;
+
+  @GetMapping("/roles")
+  public ResponseEntity<AppResponse<List<RoleResponse>>> getRoles() {
+    AppResponse<List<RoleResponse>> response =
+        new AppResponse<>(HttpStatus.OK, roleService.getRoles(), "Roles retrieved successfully");
+    return ResponseEntity.status(HttpStatus.OK).body(response);
+  }
+
+  @PostMapping("/roles")
+  public ResponseEntity<AppResponse<RoleResponse>> createRole(
+      @Valid @RequestBody RoleRequest roleRequest) {
+    AppResponse<RoleResponse> response = new AppResponse<>(HttpStatus.CREATED,
+        roleService.createRole(roleRequest), "Role created successfully");
+    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+  }
+
+  @PutMapping("/roles/{name}")
+  public ResponseEntity<AppResponse<RoleResponse>> updateRole(@PathVariable String name,
+      @Valid @RequestBody RoleRequest roleRequest) {
+    AppResponse<RoleResponse> response = new AppResponse<>(HttpStatus.OK,
+        roleService.updateRole(name, roleRequest), "Role updated successfully");
+    return ResponseEntity.status(HttpStatus.OK).body(response);
+  }
+
+  @DeleteMapping("/roles/{name}")
+  public ResponseEntity<AppResponse<Void>> deleteRole(@PathVariable String name) {
+    roleService.deleteRole(name);
+    AppResponse<Void> response =
+        new AppResponse<>(HttpStatus.OK, null, "Role deleted successfully");
+    return ResponseEntity.status(HttpStatus.OK).body(response);
+  }
+
+  @PutMapping("/users/{userId}/roles")
+  public ResponseEntity<AppResponse<List<RoleResponse>>> assignRoles(@PathVariable UUID userId,
+      @Valid @RequestBody AssignRolesRequest assignRolesRequest) {
+    AppResponse<List<RoleResponse>> response = new AppResponse<>(HttpStatus.OK,
+        roleService.assignRoles(userId, assignRolesRequest.getRoles()),
+        "Roles assigned successfully");
+    return ResponseEntity.status(HttpStatus.OK).body(response);
+  }
+}
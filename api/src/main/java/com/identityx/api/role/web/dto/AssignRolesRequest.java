@@ -0,0 +1,14 @@
+package com.identityx.api.role.web.dto;
+
+import java.util.List;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AssignRolesRequest {
+
+  @NotNull(message = "Roles are required")
+  private List<String> roles;
+}
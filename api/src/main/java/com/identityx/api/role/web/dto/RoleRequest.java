@@ -0,0 +1,25 @@
+package com.identityx.api.role.web.dto;
+
+import java.util.List;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RoleRequest {
+
+  @NotEmpty(message = "Role name is required")
+  @Pattern(regexp = "^[A-Z][A-Z0-9_]{1,63}$",
+      message = "Role name should be 2 to 64 upper-case letters, digits or underscores")
+  private String name;
+
+  @Size(max = 500, message = "Description should be at most 500 characters")
+  private String description;
+
+  @NotNull(message = "Permissions are required")
+  private List<String> permissions;
+}
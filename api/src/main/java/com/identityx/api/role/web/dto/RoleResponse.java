@@ -0,0 +1,14 @@
+package com.identityx.api.role.web.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RoleResponse {
+
+  private String name;
+  private String description;
+  private List<String> permissions;
+}
@@ -0,0 +1,82 @@
+package com.identityx.api.appuser.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class AppUserPrefixIndexTest {
+
+  @Test
+  void findsEntriesBeforeAndAfterAMerge() {
+    AppUserPrefixIndex index = new AppUserPrefixIndex(100, 0.01, 1_000);
+    index.add("alice", "alice@identityx.dev");
+
+    assertThat(index.containsUsername("alice")).isTrue();
+    assertThat(index.containsEmail("alice@identityx.dev")).isTrue();
+
+    index.merge();
+
+    assertThat(index.containsUsername("alice")).isTrue();
+    assertThat(index.containsEmail("alice@identityx.dev")).isTrue();
+    assertThat(index.containsUsername("bob")).isFalse();
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @Test
+  void comparesCaseSensitivelyLikeTheUniqueConstraints() {
+    AppUserPrefixIndex index = new AppUserPrefixIndex(100, 0.01, 1_000);
+    index.add("Alice", "Alice@identityx.dev");
+
+    assertThat(index.containsUsername("Alice")).isTrue();
+    assertThat(index.containsUsername("alice")).isFalse();
+    assertThat(index.containsEmail("alice@identityx.dev")).isFalse();
+  }
+
+  @Test
+  void usernamesAndEmailsDoNotShareKeys() {
+    AppUserPrefixIndex index = new AppUserPrefixIndex(100, 0.01, 1_000);
+    index.add("same", "other@identityx.dev");
+
+    assertThat(index.containsEmail("same")).isFalse();
+    assertThat(index.containsUsername("other@identityx.dev")).isFalse();
+  }
+
+  @Test
+  void prefixSearchCombinesPendingAndMergedEntriesInOrder() {
+    AppUserPrefixIndex index = new AppUserPrefixIndex(100, 0.01, 1_000);
+    index.add("anna", "anna@identityx.dev");
+    index.add("bob", "bob@identityx.dev");
+    index.merge();
+    index.add("ann", "ann@identityx.dev");
+    index.add("annabel", "annabel@identityx.dev");
+
+    assertThat(index.usernamesStartingWith("ann", 10)).containsExactly("ann", "anna", "annabel");
+    assertThat(index.usernamesStartingWith("ann", 2)).containsExactly("ann", "anna");
+    assertThat(index.emailsStartingWith("b", 10)).containsExactly("bob@identityx.dev");
+    assertThat(index.usernamesStartingWith("carol", 10)).isEmpty();
+  }
+
+  @Test
+  void mergesOnItsOwnAndGrowsTheBloomFilterPastItsExpectedSize() {
+    AppUserPrefixIndex index = new AppUserPrefixIndex(4, 0.01, 8);
+    for (int i = 0; i < 1_000; i++) {
+      index.add("user" + i, "user" + i + "@identityx.dev");
+    }
+
+    assertThat(index.size()).isEqualTo(1_000);
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(index.containsUsername("user" + i)).isTrue();
+      assertThat(index.containsEmail("user" + i + "@identityx.dev")).isTrue();
+    }
+  }
+
+  @Test
+  void addingAUserTwiceCountsOnce() {
+    AppUserPrefixIndex index = new AppUserPrefixIndex(100, 0.01, 1_000);
+    index.add("alice", "alice@identityx.dev");
+    index.merge();
+    index.add("alice", "alice@identityx.dev");
+    index.merge();
+
+    assertThat(index.size()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,71 @@
+package com.identityx.api.appuser.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PackedSortedStringsTest {
+
+  @Test
+  void mergingNothingKeepsTheEntries() {
+    PackedSortedStrings strings = PackedSortedStrings.of(List.of("bob", "alice"));
+
+    PackedSortedStrings merged = strings.merge(List.of());
+
+    assertThat(entries(merged)).containsExactly("alice", "bob");
+    assertThat(PackedSortedStrings.EMPTY.merge(List.of()).size()).isZero();
+  }
+
+  @Test
+  void mergeInterleavesAndDropsDuplicates() {
+    PackedSortedStrings strings = PackedSortedStrings.of(List.of("carol", "alice"));
+
+    PackedSortedStrings merged = strings.merge(List.of("dave", "bob", "alice", "bob"));
+
+    assertThat(entries(merged)).containsExactly("alice", "bob", "carol", "dave");
+    assertThat(entries(strings)).containsExactly("alice", "carol");
+  }
+
+  @Test
+  void ordersByCodePointSoNonAsciiSortsLast() {
+    PackedSortedStrings strings = PackedSortedStrings.of(List.of("zoe", "émile", "Zed"));
+
+    assertThat(entries(strings)).containsExactly("Zed", "zoe", "émile");
+    assertThat(strings.contains("émile")).isTrue();
+    assertThat(strings.contains("emile")).isFalse();
+  }
+
+  @Test
+  void containsMatchesWholeEntriesOnly() {
+    PackedSortedStrings strings = PackedSortedStrings.of(List.of("alice", "alicia"));
+
+    assertThat(strings.contains("alice")).isTrue();
+    assertThat(strings.contains("alic")).isFalse();
+    assertThat(strings.contains("alices")).isFalse();
+    assertThat(PackedSortedStrings.EMPTY.contains("")).isFalse();
+  }
+
+  @Test
+  void collectWithPrefixStopsAtTheLimitAndAtTheFirstMismatch() {
+    PackedSortedStrings strings =
+        PackedSortedStrings.of(List.of("ann", "anna", "annabel", "anne", "bob"));
+
+    List<String> limited = new ArrayList<>();
+    strings.collectWithPrefix("ann", 2, limited);
+    List<String> all = new ArrayList<>();
+    strings.collectWithPrefix("anna", 10, all);
+    List<String> none = new ArrayList<>();
+    strings.collectWithPrefix("carol", 10, none);
+
+    assertThat(limited).containsExactly("ann", "anna");
+    assertThat(all).containsExactly("anna", "annabel");
+    assertThat(none).isEmpty();
+  }
+
+  private static List<String> entries(PackedSortedStrings strings) {
+    List<String> entries = new ArrayList<>();
+    strings.forEach(entries::add);
+    return entries;
+  }
+}
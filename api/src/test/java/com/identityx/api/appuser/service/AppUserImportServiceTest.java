@@ -0,0 +1,113 @@
+package com.identityx.api.appuser.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserRepository;
+import com.identityx.api.appuser.web.dto.ImportRowError;
+import com.identityx.api.appuser.web.dto.ImportUsersResponse;
+import com.identityx.api.role.service.IRoleService;
+import jakarta.validation.Validation;
+
+class AppUserImportServiceTest {
+
+  private final AppUserRepository appUserRepository = mock(AppUserRepository.class);
+  private final List<AppUser> saved = new ArrayList<>();
+  private final AppUserImportService importService = new AppUserImportService(appUserRepository,
+      mock(IRoleService.class), mock(IAppUserIndexService.class), new BrittleEncoder(),
+      new TransactionTemplate(mock(PlatformTransactionManager.class)),
+      Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 2, 2, 256,
+      100);
+
+  AppUserImportServiceTest() {
+    when(appUserRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+    when(appUserRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+    when(appUserRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      saved.addAll(invocation.getArgument(0));
+      return invocation.getArgument(0);
+    });
+  }
+
+  @AfterEach
+  void shutDown() {
+    importService.destroy();
+  }
+
+  @Test
+  void importsCsvRowsAndReportsTheRest() throws IOException {
+    ImportUsersResponse response = importService.importUsers(body("""
+        username,password,email,firstName
+        alice,secret,alice@identityx.dev,Alice
+        bob,secret,not-an-email,Bob
+        carol,secret,carol@identityx.dev,Carol
+        """), ImportFormat.CSV);
+
+    assertThat(response.getReceived()).isEqualTo(3);
+    assertThat(response.getImported()).isEqualTo(2);
+    assertThat(response.getErrors()).extracting(ImportRowError::line).containsExactly(3L);
+    assertThat(saved).extracting(AppUser::getPassword).containsOnly("{test}secret");
+  }
+
+  @Test
+  void aPasswordThatFailsToHashFailsOnlyItsRow() throws IOException {
+    ImportUsersResponse response = importService.importUsers(body("""
+        {"username":"alice","password":"secret","email":"alice@identityx.dev","firstName":"A"}
+        {"username":"bob","password":"explode","email":"bob@identityx.dev","firstName":"B"}
+        {"username":"carol","password":"secret","email":"carol@identityx.dev","firstName":"C"}
+        """), ImportFormat.NDJSON);
+
+    assertThat(response.getImported()).isEqualTo(2);
+    assertThat(response.getFailed()).isEqualTo(1);
+    assertThat(response.getErrors()).singleElement().satisfies(error -> {
+      assertThat(error.line()).isEqualTo(2);
+      assertThat(error.username()).isEqualTo("bob");
+    });
+    assertThat(saved).extracting(AppUser::getUsername).containsExactly("alice", "carol");
+  }
+
+  @Test
+  void aChunkWhoseHashesAllFailSavesNothing() throws IOException {
+    ImportUsersResponse response = importService.importUsers(body("""
+        {"username":"bob","password":"explode","email":"bob@identityx.dev","firstName":"B"}
+        """), ImportFormat.NDJSON);
+
+    assertThat(response.getFailed()).isEqualTo(1);
+    assertThat(saved).isEmpty();
+  }
+
+  private static InputStream body(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static final class BrittleEncoder implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      if ("explode".contentEquals(rawPassword)) {
+        throw new IllegalStateException("encoder broken");
+      }
+      return "{test}" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encodedPassword.equals(encode(rawPassword));
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.identityx.api.appuser.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class BoundedLineReaderTest {
+
+  @Test
+  void splitsOnLineFeedsAndCarriageReturnLineFeeds() throws IOException {
+    BoundedLineReader reader = new BoundedLineReader(new StringReader("a,b\r\nc,d\ne,f"), 16);
+
+    assertThat(reader.readLine()).isEqualTo("a,b");
+    assertThat(reader.readLine()).isEqualTo("c,d");
+    assertThat(reader.readLine()).isEqualTo("e,f");
+    assertThat(reader.readLine()).isNull();
+  }
+
+  @Test
+  void keepsEmptyLinesButNotATrailingTerminator() throws IOException {
+    BoundedLineReader reader = new BoundedLineReader(new StringReader("\n\r\nx\n"), 16);
+
+    assertThat(reader.readLine()).isEmpty();
+    assertThat(reader.readLine()).isEmpty();
+    assertThat(reader.readLine()).isEqualTo("x");
+    assertThat(reader.readLine()).isNull();
+  }
+
+  @Test
+  void acceptsALineOfExactlyTheMaximumLength() throws IOException {
+    BoundedLineReader reader = new BoundedLineReader(new StringReader("abcd\r\nabcd"), 4);
+
+    assertThat(reader.readLine()).isEqualTo("abcd");
+    assertThat(reader.isOverlong()).isFalse();
+    assertThat(reader.readLine()).isEqualTo("abcd");
+    assertThat(reader.isOverlong()).isFalse();
+  }
+
+  @Test
+  void truncatesALongerLineAndCarriesOnWithTheNextOne() throws IOException {
+    String longLine = "x".repeat(20_000);
+    BoundedLineReader reader =
+        new BoundedLineReader(new StringReader("abcde\n" + longLine + "\r\nok"), 4);
+
+    assertThat(reader.readLine()).isEqualTo("abcd");
+    assertThat(reader.isOverlong()).isTrue();
+    assertThat(reader.readLine()).isEqualTo("xxxx");
+    assertThat(reader.isOverlong()).isTrue();
+    assertThat(reader.readLine()).isEqualTo("ok");
+    assertThat(reader.isOverlong()).isFalse();
+  }
+}
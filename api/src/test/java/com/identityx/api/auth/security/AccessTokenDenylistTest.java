@@ -0,0 +1,77 @@
+package com.identityx.api.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AccessTokenDenylistTest {
+
+  private static final long NOW = 1_000_000L;
+
+  @Test
+  void containsAnIdUntilItsTokenExpires() {
+    AccessTokenDenylist denylist = new AccessTokenDenylist(100, 0.01);
+
+    assertThat(denylist.add("jti-1", NOW + 1_000)).isTrue();
+
+    assertThat(denylist.contains("jti-1", NOW)).isTrue();
+    assertThat(denylist.contains("jti-1", NOW + 999)).isTrue();
+    assertThat(denylist.contains("jti-1", NOW + 1_000)).isFalse();
+  }
+
+  @Test
+  void addingAListedIdAgainReportsNoChange() {
+    AccessTokenDenylist denylist = new AccessTokenDenylist(100, 0.01);
+    denylist.add("jti-1", NOW + 1_000);
+
+    assertThat(denylist.add("jti-1", NOW + 5_000)).isFalse();
+    assertThat(denylist.size()).isEqualTo(1);
+  }
+
+  @Test
+  void bloomFalsePositivesNeverReportARevocation() {
+    int revoked = 10_000;
+    AccessTokenDenylist denylist = new AccessTokenDenylist(revoked, 0.01);
+    for (int i = 0; i < revoked; i++) {
+      denylist.add("revoked-" + i, NOW + 60_000);
+    }
+
+    // Roughly 1% of these pass the bloom filter; the exact map must reject every one.
+    for (int i = 0; i < 100_000; i++) {
+      assertThat(denylist.contains("live-" + i, NOW)).isFalse();
+    }
+    for (int i = 0; i < revoked; i++) {
+      assertThat(denylist.contains("revoked-" + i, NOW)).isTrue();
+    }
+  }
+
+  @Test
+  void rebuildMergesEntriesAndDropsExpiredOnes() {
+    AccessTokenDenylist denylist = new AccessTokenDenylist(100, 0.01);
+    denylist.add("expired", NOW + 10);
+    denylist.add("live", NOW + 60_000);
+
+    denylist.rebuild(Map.of("from-database", NOW + 60_000, "expired-in-database", NOW - 1),
+        NOW + 10);
+
+    assertThat(denylist.size()).isEqualTo(2);
+    assertThat(denylist.contains("live", NOW + 10)).isTrue();
+    assertThat(denylist.contains("from-database", NOW + 10)).isTrue();
+    assertThat(denylist.contains("expired", NOW)).isFalse();
+    assertThat(denylist.contains("expired-in-database", NOW - 10)).isFalse();
+  }
+
+  @Test
+  void rebuildGrowsTheFilterPastItsExpectedInsertions() {
+    AccessTokenDenylist denylist = new AccessTokenDenylist(10, 0.01);
+    for (int i = 0; i < 1_000; i++) {
+      denylist.add("revoked-" + i, NOW + 60_000);
+    }
+
+    denylist.rebuild(Map.of(), NOW);
+
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(denylist.contains("revoked-" + i, NOW)).isTrue();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.identityx.api.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import com.identityx.api.auth.web.dto.AppUserDetails;
+import com.identityx.api.auth.web.dto.ValidateJWTTokenResponse;
+import com.identityx.api.role.model.Permission;
+import com.identityx.api.role.model.PermissionSet;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtTokenProviderTest {
+
+  private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+  private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+  private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+  private static final PermissionSet PERMISSIONS =
+      PermissionSet.of(List.of(Permission.USER_READ, Permission.ROLE_WRITE));
+
+  private final AppUserDetails user = new AppUserDetails(1L, UUID.randomUUID(), "alice",
+      "alice@identityx.dev", "{noop}secret", List.of(new PermissionAuthority(PERMISSIONS)));
+
+  @Test
+  void userTokensCarryOnlyThePermissionBitset() {
+    String token = newProvider(false).generateJwtToken(user);
+
+    assertThat(payloadOf(token)).contains("\"perms\"").doesNotContain("\"authorities\"");
+    assertThat(permissionsOf(newProvider(false).validateJwtToken(token))).isEqualTo(PERMISSIONS);
+  }
+
+  @Test
+  void permissionNamesAreAddedOnlyWhenEnabled() {
+    String token = newProvider(true).generateJwtToken(user);
+
+    assertThat(payloadOf(token)).contains("\"authorities\":[\"USER_READ\",\"ROLE_WRITE\"]");
+    assertThat(permissionsOf(newProvider(false).validateJwtToken(token))).isEqualTo(PERMISSIONS);
+  }
+
+  @Test
+  void acceptsOlderTokensThatListPermissionsByName() {
+    String token = Jwts.builder().id("jti-1").issuer(JwtTokenProvider.ISSUER)
+        .subject(user.getUserId().toString()).claim("username", "alice")
+        .claim("authorities", List.of("USER_READ", "ROLE_WRITE", "RETIRED_PERMISSION"))
+        .issuedAt(Date.from(NOW)).expiration(Date.from(NOW.plusSeconds(60)))
+        .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).compact();
+
+    ValidateJWTTokenResponse response = newProvider(false).validateJwtToken(token);
+
+    assertThat(response.isValid()).isTrue();
+    assertThat(permissionsOf(response)).isEqualTo(PERMISSIONS);
+  }
+
+  @Test
+  void clientTokensKeepTheirScopeAuthorities() {
+    String token = newProvider(false).generateClientToken("reports", List.of("users.read"),
+        NOW.plusSeconds(60));
+
+    assertThat(payloadOf(token)).contains("\"authorities\":[\"SCOPE_users.read\"]");
+    assertThat(newProvider(false).validateJwtToken(token).getAuthorities())
+        .extracting(authority -> authority.getAuthority()).contains("SCOPE_users.read");
+  }
+
+  private static JwtTokenProvider newProvider(boolean includePermissionNames) {
+    SigningKeyRing signingKeyRing = new SigningKeyRing(SigningAlgorithm.HS256, SECRET, "", CLOCK);
+    return new JwtTokenProvider(signingKeyRing, 60_000, includePermissionNames, CLOCK,
+        new VerifiedTokenCache(false, 100, CLOCK, new SimpleMeterRegistry()),
+        new SimpleMeterRegistry());
+  }
+
+  private static PermissionSet permissionsOf(ValidateJWTTokenResponse response) {
+    return PermissionAuthority.permissionsOf(response.getAuthorities());
+  }
+
+  private static String payloadOf(String token) {
+    return new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]),
+        StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,83 @@
+package com.identityx.api.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import com.identityx.api.role.model.PermissionSet;
+
+class OpaqueTokenTableTest {
+
+  private static final long TICK_MS = 1_000;
+  // Four buckets, so one turn of the wheel covers four seconds.
+  private static final int WHEEL_SIZE = 4;
+
+  @Test
+  void expiresATokenOnceItsTickHasElapsed() {
+    OpaqueTokenTable table = new OpaqueTokenTable(1, TICK_MS, WHEEL_SIZE, 0);
+    table.put("ot_a", token(2_500));
+
+    assertThat(table.expire(2_000)).isZero();
+    assertThat(table.expire(3_000)).isEqualTo(1);
+    assertThat(table.size()).isZero();
+  }
+
+  @Test
+  void keepsATokenThatOutlivesOneTurnOfTheWheelUntilItsRound() {
+    OpaqueTokenTable table = new OpaqueTokenTable(1, TICK_MS, WHEEL_SIZE, 0);
+    // Tick 10 shares a bucket with ticks 2 and 6, which are drained first.
+    table.put("ot_a", token(10_500));
+
+    assertThat(table.expire(3_000)).isZero();
+    assertThat(table.expire(7_000)).isZero();
+    assertThat(table.expire(10_000)).isZero();
+    assertThat(table.get("ot_a", 10_000)).isNotNull();
+
+    assertThat(table.expire(11_000)).isEqualTo(1);
+    assertThat(table.size()).isZero();
+  }
+
+  @Test
+  void visitsEveryBucketOnceAfterAPauseLongerThanTheWheel() {
+    OpaqueTokenTable table = new OpaqueTokenTable(1, TICK_MS, WHEEL_SIZE, 0);
+    for (int i = 0; i < 8; i++) {
+      table.put("ot_" + i, token(500 + i * TICK_MS));
+    }
+
+    assertThat(table.expire(100_000)).isEqualTo(8);
+    assertThat(table.size()).isZero();
+  }
+
+  @Test
+  void lookupRejectsAnExpiredTokenBeforeTheWheelReachesIt() {
+    OpaqueTokenTable table = new OpaqueTokenTable(4, TICK_MS, WHEEL_SIZE, 0);
+    table.put("ot_a", token(1_500));
+
+    assertThat(table.get("ot_a", 1_499)).isNotNull();
+    assertThat(table.get("ot_a", 1_500)).isNull();
+    assertThat(table.size()).isZero();
+  }
+
+  @Test
+  void removedTokensLeaveOnlyAStaleWheelEntry() {
+    OpaqueTokenTable table = new OpaqueTokenTable(4, TICK_MS, WHEEL_SIZE, 0);
+    table.put("ot_a", token(1_500));
+
+    assertThat(table.remove("ot_a")).isNotNull();
+
+    assertThat(table.get("ot_a", 0)).isNull();
+    assertThat(table.expire(2_000)).isZero();
+  }
+
+  @Test
+  void aTokenAlreadyBehindTheCursorIsQueuedForTheNextDrain() {
+    OpaqueTokenTable table = new OpaqueTokenTable(1, TICK_MS, WHEEL_SIZE, 0);
+    table.expire(5_000);
+    table.put("ot_a", token(4_500));
+
+    assertThat(table.expire(6_000)).isEqualTo(1);
+  }
+
+  private static VerifiedToken token(long expiresAtMillis) {
+    return new VerifiedToken("jti", "subject", "user", PermissionSet.EMPTY, expiresAtMillis, null,
+        null);
+  }
+}
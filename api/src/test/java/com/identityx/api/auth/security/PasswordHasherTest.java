@@ -0,0 +1,140 @@
+package com.identityx.api.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.identityx.api.common.exception.PasswordHashingException;
+import com.identityx.api.common.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private PasswordHasher hasher;
+
+  @AfterEach
+  void shutDown() {
+    release.countDown();
+    hasher.destroy();
+  }
+
+  @Test
+  void encodesInTheBackground() throws Exception {
+    hasher = newHasher(new PrefixEncoder(null), 4, 1_000);
+
+    CompletableFuture<String> hash = hasher.encodeInBackground("secret");
+
+    assertThat(hash.get(5, TimeUnit.SECONDS)).isEqualTo("{test}secret");
+  }
+
+  @Test
+  void backgroundWorkLeavesHalfTheQueueForCallersThatWait() {
+    hasher = newHasher(new PrefixEncoder(release), 4, 5_000);
+    int accepted = 0;
+    while (accepted < 4) {
+      try {
+        hasher.encodeInBackground("background");
+        accepted++;
+      } catch (ServiceOverloadedException e) {
+        break;
+      }
+    }
+
+    // One may already be running; at most two wait in the queue of four.
+    assertThat(accepted).isBetween(2, 3);
+    CompletableFuture<String> login = CompletableFuture.supplyAsync(() -> hasher.encode("login"));
+    release.countDown();
+    assertThat(login.join()).isEqualTo("{test}login");
+  }
+
+  @Test
+  void reportsEncoderFailuresAsHashingFailures() {
+    hasher = newHasher(new FailingEncoder(), 4, 1_000);
+
+    assertThatThrownBy(() -> hasher.encode("secret"))
+        .isInstanceOf(PasswordHashingException.class);
+    assertThat(hasher.encodeInBackground("secret")).failsWithin(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void givesUpOnAHashThatWaitsPastTheTimeout() {
+    hasher = newHasher(new PrefixEncoder(release), 4, 50);
+
+    assertThatThrownBy(() -> hasher.encode("secret"))
+        .isInstanceOf(ServiceOverloadedException.class);
+  }
+
+  @Test
+  void shedsLoadWhenTheQueueWouldOutlastTheTimeout() throws Exception {
+    hasher = newHasher(new SlowEncoder(100), 64, 250);
+    hasher.encode("warm-up");
+    for (int i = 0; i < 3; i++) {
+      hasher.encodeInBackground("background");
+    }
+
+    long startNanos = System.nanoTime();
+    assertThatThrownBy(() -> hasher.encode("login"))
+        .isInstanceOf(ServiceOverloadedException.class);
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(100);
+  }
+
+  private PasswordHasher newHasher(PasswordEncoder encoder, int queueCapacity, long timeoutMs) {
+    return new PasswordHasher(encoder, 1, queueCapacity, timeoutMs, 1, new SimpleMeterRegistry());
+  }
+
+  private record PrefixEncoder(CountDownLatch release) implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      if (release != null) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return "{test}" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encodedPassword.equals(encode(rawPassword));
+    }
+  }
+
+  private record SlowEncoder(long millis) implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "{test}" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encodedPassword.equals(encode(rawPassword));
+    }
+  }
+
+  private static final class FailingEncoder implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      throw new IllegalStateException("encoder broken");
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      throw new IllegalStateException("encoder broken");
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.identityx.api.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import com.identityx.api.appuser.service.IAppUserService;
+import com.identityx.api.appuser.service.PasswordHashUpdate;
+import com.identityx.api.common.exception.PasswordHashingException;
+import com.identityx.api.common.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordUpgradeQueueTest {
+
+  private final BackgroundHasher hasher = new BackgroundHasher();
+  private final IAppUserService appUserService = mock(IAppUserService.class);
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void enqueueReturnsBeforeTheNewHashIsComputed() {
+    PasswordUpgradeQueue queue = newQueue(10);
+
+    queue.enqueue("alice", "secret", "{old}secret");
+    queue.flush();
+
+    assertThat(hasher.pending).hasSize(1);
+    verify(appUserService, never()).updatePasswordHashes(anyList());
+  }
+
+  @Test
+  void flushWritesTheLatestHashPerUser() {
+    when(appUserService.updatePasswordHashes(anyList())).thenReturn(2);
+    PasswordUpgradeQueue queue = newQueue(10);
+    queue.enqueue("alice", "secret", "{old}secret");
+    queue.enqueue("bob", "hunter2", "{old}hunter2");
+    queue.enqueue("alice", "secret", "{old}secret");
+    hasher.pending.get(0).complete("{new}1");
+    hasher.pending.get(1).complete("{new}2");
+    hasher.pending.get(2).complete("{new}3");
+
+    queue.flush();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<PasswordHashUpdate>> updates = ArgumentCaptor.forClass(List.class);
+    verify(appUserService).updatePasswordHashes(updates.capture());
+    assertThat(updates.getValue()).containsExactly(
+        new PasswordHashUpdate("alice", "{old}secret", "{new}3"),
+        new PasswordHashUpdate("bob", "{old}hunter2", "{new}2"));
+    assertThat(count("upgraded")).isEqualTo(2);
+  }
+
+  @Test
+  void dropsTheUpgradeWhenHashingIsOverloaded() {
+    hasher.rejectWith = new ServiceOverloadedException("busy", 1);
+    PasswordUpgradeQueue queue = newQueue(10);
+
+    assertThatCode(() -> queue.enqueue("alice", "secret", "{old}secret"))
+        .doesNotThrowAnyException();
+
+    assertThat(count("dropped")).isEqualTo(1);
+  }
+
+  @Test
+  void dropsTheUpgradeWhenHashingFails() {
+    PasswordUpgradeQueue queue = newQueue(10);
+    queue.enqueue("alice", "secret", "{old}secret");
+
+    hasher.pending.get(0).completeExceptionally(new PasswordHashingException("boom", null));
+    queue.flush();
+
+    assertThat(count("dropped")).isEqualTo(1);
+    verify(appUserService, never()).updatePasswordHashes(anyList());
+  }
+
+  @Test
+  void dropsUpgradesBeyondTheQueueCapacity() {
+    PasswordUpgradeQueue queue = newQueue(1);
+    queue.enqueue("alice", "secret", "{old}secret");
+    queue.enqueue("bob", "hunter2", "{old}hunter2");
+
+    hasher.pending.forEach(hash -> hash.complete("{new}"));
+
+    assertThat(count("dropped")).isEqualTo(1);
+  }
+
+  @Test
+  void aFailedWriteDoesNotStopTheFlush() {
+    when(appUserService.updatePasswordHashes(anyList())).thenThrow(new IllegalStateException());
+    PasswordUpgradeQueue queue = newQueue(10);
+    queue.enqueue("alice", "secret", "{old}secret");
+    hasher.pending.get(0).complete("{new}");
+
+    assertThatCode(queue::flush).doesNotThrowAnyException();
+    assertThat(count("upgraded")).isZero();
+  }
+
+  private PasswordUpgradeQueue newQueue(int capacity) {
+    return new PasswordUpgradeQueue(hasher, appUserService, capacity, 100, meterRegistry);
+  }
+
+  private double count(String outcome) {
+    return meterRegistry.get("identityx.password.upgrade").tag("outcome", outcome).counter()
+        .count();
+  }
+
+  /** Hands out futures the test completes, so no hashing thread is involved. */
+  private static final class BackgroundHasher implements IPasswordHasher {
+
+    private final List<CompletableFuture<String>> pending = new ArrayList<>();
+    private RuntimeException rejectWith;
+
+    @Override
+    public CompletableFuture<String> encodeInBackground(CharSequence rawPassword) {
+      if (rejectWith != null) {
+        throw rejectWith;
+      }
+      CompletableFuture<String> hash = new CompletableFuture<>();
+      pending.add(hash);
+      return hash;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+      return true;
+    }
+  }
+}
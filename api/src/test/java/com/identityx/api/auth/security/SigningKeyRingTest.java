@@ -0,0 +1,78 @@
+package com.identityx.api.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+class SigningKeyRingTest {
+
+  private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+  private static final Instant SWITCH = Instant.parse("2026-10-18T12:00:00Z");
+
+  private final String legacyToken = Jwts.builder().subject("alice")
+      .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).compact();
+
+  @Test
+  void hs256VerifiesTokensWithoutAKeyId() {
+    SigningKeyRing ring = new SigningKeyRing(SigningAlgorithm.HS256, SECRET, "", clockAt(SWITCH));
+
+    assertThat(subjectOf(ring, legacyToken)).isEqualTo("alice");
+  }
+
+  @Test
+  void asymmetricSigningIgnoresTheSecretByDefault() {
+    SigningKeyRing ring = newAsymmetricRing("", SWITCH);
+
+    assertThatThrownBy(() -> subjectOf(ring, legacyToken))
+        .isInstanceOf(UnsupportedJwtException.class);
+  }
+
+  @Test
+  void legacyTokensAreAcceptedOnlyInsideTheConfiguredWindow() {
+    String until = SWITCH.plusSeconds(360).toString();
+
+    assertThat(subjectOf(newAsymmetricRing(until, SWITCH.plusSeconds(359)), legacyToken))
+        .isEqualTo("alice");
+    assertThatThrownBy(() -> subjectOf(newAsymmetricRing(until, SWITCH.plusSeconds(360)),
+        legacyToken)).isInstanceOf(UnsupportedJwtException.class);
+  }
+
+  @Test
+  void asymmetricTokensVerifyByKeyId() {
+    SigningKeyRing ring = newAsymmetricRing("", SWITCH);
+
+    String token = ring.signWith(Jwts.builder().subject("bob")).compact();
+
+    assertThat(subjectOf(ring, token)).isEqualTo("bob");
+  }
+
+  @Test
+  void aLegacyWindowNeedsTheOldSecret() {
+    assertThatThrownBy(() -> new SigningKeyRing(SigningAlgorithm.ES256, "",
+        SWITCH.toString(), clockAt(SWITCH))).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static SigningKeyRing newAsymmetricRing(String legacyUntil, Instant now) {
+    SigningKeyRing ring = new SigningKeyRing(SigningAlgorithm.ES256, SECRET, legacyUntil,
+        clockAt(now));
+    ring.install(List.of(SigningKeyMaterial.generate(SigningAlgorithm.ES256, SWITCH)), now);
+    return ring;
+  }
+
+  private static String subjectOf(SigningKeyRing ring, String token) {
+    return Jwts.parser().keyLocator(ring::locate).build().parseSignedClaims(token).getPayload()
+        .getSubject();
+  }
+
+  private static Clock clockAt(Instant instant) {
+    return Clock.fixed(instant, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,61 @@
+package com.identityx.api.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.identityx.api.auth.security.IJwtTokenProvider;
+import com.identityx.api.auth.security.LoginRateLimiter;
+import com.identityx.api.auth.web.dto.LoginRequest;
+import com.identityx.api.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthServiceTest {
+
+  private static final String CLIENT_IP = "203.0.113.7";
+
+  private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final LoginRateLimiter loginRateLimiter =
+      new LoginRateLimiter(true, 2, 60_000, 100, 60_000, meterRegistry);
+  private final AuthService authService = new AuthService(authenticationManager,
+      mock(IJwtTokenProvider.class), loginRateLimiter, mock(IRefreshTokenService.class),
+      mock(IAccessTokenRevocationService.class), meterRegistry);
+
+  @Test
+  void wrongPasswordsAreChargedToTheUsername() {
+    failLoginsWith(new BadCredentialsException("Invalid username or password"));
+
+    assertUsernameThrottledAfterTwoFailures("alice");
+  }
+
+  @Test
+  void unknownUsernamesAreChargedToTheUsername() {
+    failLoginsWith(new UsernameNotFoundException("User not found with username: ghost"));
+
+    assertUsernameThrottledAfterTwoFailures("ghost");
+  }
+
+  private void failLoginsWith(AuthenticationException failure) {
+    when(authenticationManager.authenticate(any())).thenThrow(failure);
+  }
+
+  private void assertUsernameThrottledAfterTwoFailures(String username) {
+    LoginRequest request = new LoginRequest(username, "wrong");
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> authService.login(request, CLIENT_IP, null))
+          .isInstanceOf(AuthenticationException.class);
+    }
+
+    assertThatThrownBy(() -> authService.login(request, CLIENT_IP, null))
+        .isInstanceOf(TooManyRequestsException.class);
+    assertThatThrownBy(() -> authService.login(request, "198.51.100.1", null))
+        .isInstanceOf(TooManyRequestsException.class);
+  }
+}
@@ -0,0 +1,124 @@
+package com.identityx.api.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.identityx.api.auth.model.SigningKey;
+import com.identityx.api.auth.repo.SigningKeyRepository;
+import com.identityx.api.auth.security.SigningAlgorithm;
+import com.identityx.api.auth.security.SigningKeyCipher;
+import com.identityx.api.auth.security.SigningKeyRing;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+class SigningKeyRotationJobTest {
+
+  private static final Duration ROTATION_INTERVAL = Duration.ofHours(1);
+  private static final Duration PUBLISH_AHEAD = Duration.ofMinutes(10);
+  private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(1);
+  private static final Duration JWT_EXPIRATION = Duration.ofMinutes(6);
+  // Refresh interval + token lifetime + one minute of clock skew.
+  private static final Duration RETENTION = Duration.ofMinutes(8);
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-10-18T12:00:00Z"));
+  private final List<SigningKey> rows = new ArrayList<>();
+  private final SigningKeyRepository repository = mock(SigningKeyRepository.class);
+  private final SigningKeyRing ring = new SigningKeyRing(SigningAlgorithm.ES256, "", "", clock);
+  private final SigningKeyRotationJob job = new SigningKeyRotationJob(repository, ring,
+      new SigningKeyCipher(SigningAlgorithm.ES256,
+          Base64.getEncoder().encodeToString(new byte[32]), false),
+      new TransactionTemplate(mock(PlatformTransactionManager.class)), clock,
+      ROTATION_INTERVAL.toMillis(), PUBLISH_AHEAD.toMillis(), REFRESH_INTERVAL.toMillis(),
+      JWT_EXPIRATION.toMillis());
+
+  SigningKeyRotationJobTest() {
+    when(repository.findAllByOrderByActivatesAtAsc()).thenAnswer(invocation -> rows.stream()
+        .sorted(Comparator.comparing(SigningKey::getActivatesAt)).toList());
+    when(repository.save(any(SigningKey.class))).thenAnswer(invocation -> {
+      SigningKey key = invocation.getArgument(0);
+      key.setId((long) rows.size() + 1);
+      rows.add(key);
+      return key;
+    });
+    doAnswer(invocation -> {
+      Collection<Long> ids = invocation.getArgument(0);
+      rows.removeIf(key -> ids.contains(key.getId()));
+      return null;
+    }).when(repository).deleteAllByIdInBatch(anyCollection());
+  }
+
+  @Test
+  void theFirstKeySignsStraightAway() {
+    job.refresh();
+
+    assertThat(rows).singleElement()
+        .satisfies(key -> assertThat(signingKeyId()).isEqualTo(key.getKeyId()));
+  }
+
+  @Test
+  void aNewKeyIsPublishedBeforeItSigns() {
+    job.refresh();
+    String first = rows.get(0).getKeyId();
+
+    clock.advance(ROTATION_INTERVAL);
+    job.refresh();
+
+    assertThat(rows).hasSize(2);
+    String second = rows.get(1).getKeyId();
+    assertThat(ring.getJwks()).contains(first, second);
+    assertThat(signingKeyId()).isEqualTo(first);
+
+    clock.advance(PUBLISH_AHEAD);
+    job.refresh();
+
+    assertThat(signingKeyId()).isEqualTo(second);
+    assertThat(ring.getJwks()).contains(first, second);
+  }
+
+  @Test
+  void theReplacedKeyIsRetiredOnceItsTokensHaveExpired() {
+    job.refresh();
+    clock.advance(ROTATION_INTERVAL);
+    String oldToken = ring.signWith(Jwts.builder().subject("alice")).compact();
+    job.refresh();
+    String first = rows.get(0).getKeyId();
+
+    clock.advance(PUBLISH_AHEAD.plus(RETENTION).minusSeconds(1));
+    job.refresh();
+
+    assertThat(rows).hasSize(2);
+    assertThat(subjectOf(oldToken)).isEqualTo("alice");
+
+    clock.advance(Duration.ofSeconds(1));
+    job.refresh();
+
+    assertThat(rows).extracting(SigningKey::getKeyId).doesNotContain(first).hasSize(1);
+    assertThat(ring.getJwks()).doesNotContain(first);
+    assertThatThrownBy(() -> subjectOf(oldToken)).isInstanceOf(UnsupportedJwtException.class);
+  }
+
+  private String signingKeyId() {
+    String token = ring.signWith(Jwts.builder().subject("probe")).compact();
+    return Jwts.parser().keyLocator(ring::locate).build().parseSignedClaims(token).getHeader()
+        .getKeyId();
+  }
+
+  private String subjectOf(String token) {
+    return Jwts.parser().keyLocator(ring::locate).build().parseSignedClaims(token).getPayload()
+        .getSubject();
+  }
+}
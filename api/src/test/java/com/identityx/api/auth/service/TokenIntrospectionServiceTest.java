@@ -0,0 +1,147 @@
+package com.identityx.api.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import com.identityx.api.auth.constants.AuthConstants;
+import com.identityx.api.auth.security.JwtTokenProvider;
+import com.identityx.api.auth.security.PermissionAuthority;
+import com.identityx.api.auth.security.SigningAlgorithm;
+import com.identityx.api.auth.security.SigningKeyRing;
+import com.identityx.api.auth.security.TokenDigests;
+import com.identityx.api.auth.security.VerifiedTokenCache;
+import com.identityx.api.auth.store.IRefreshTokenStore;
+import com.identityx.api.auth.store.InMemoryRefreshTokenStore;
+import com.identityx.api.auth.store.RefreshTokenRecord;
+import com.identityx.api.auth.web.dto.AppUserDetails;
+import com.identityx.api.auth.web.dto.IntrospectionResponse;
+import com.identityx.api.common.invalidation.InvalidationEvent;
+import com.identityx.api.role.model.Permission;
+import com.identityx.api.role.model.PermissionSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenIntrospectionServiceTest {
+
+  private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+  private static final long REFRESH_TOKEN_TTL_MS = 5_000;
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-10-18T12:00:00Z"));
+  private final JwtTokenProvider jwtTokenProvider = spy(new JwtTokenProvider(
+      new SigningKeyRing(SigningAlgorithm.HS256, SECRET, "", clock), 60_000, false, clock,
+      new VerifiedTokenCache(false, 100, clock, new SimpleMeterRegistry()),
+      new SimpleMeterRegistry()));
+  private final IAccessTokenRevocationService revocationService =
+      mock(IAccessTokenRevocationService.class);
+  private final IRefreshTokenStore refreshTokenStore =
+      spy(new InMemoryRefreshTokenStore(4, "", clock));
+  private final TokenIntrospectionService introspectionService = new TokenIntrospectionService(
+      jwtTokenProvider, revocationService, refreshTokenStore, clock, 30, 1_000,
+      REFRESH_TOKEN_TTL_MS, 60_000, new SimpleMeterRegistry());
+  private final UUID userId = UUID.randomUUID();
+
+  @Test
+  void describesAnAccessTokenAndCachesTheVerification() {
+    String accessToken = jwtTokenProvider.generateJwtToken(new AppUserDetails(1L, userId,
+        "alice", "alice@identityx.dev", "", List.of(new PermissionAuthority(
+            PermissionSet.of(List.of(Permission.USER_READ))))));
+
+    IntrospectionResponse first = introspectionService.introspect(accessToken, null);
+    IntrospectionResponse second = introspectionService.introspect(accessToken, null);
+
+    assertThat(first.isActive()).isTrue();
+    assertThat(first.getTokenType()).isEqualTo(AuthConstants.ACCESS_TOKEN_TYPE);
+    assertThat(first.getSub()).isEqualTo(userId.toString());
+    assertThat(first.getAuthorities()).containsExactly("USER_READ");
+    assertThat(second).isSameAs(first);
+    verify(jwtTokenProvider, times(1)).validateJwtToken(accessToken);
+  }
+
+  @Test
+  void aCachedAccessTokenTurnsInactiveOnceRevoked() {
+    String accessToken = jwtTokenProvider.generateClientToken("reports", List.of("users.read"),
+        clock.instant().plusSeconds(60));
+    assertThat(introspectionService.introspect(accessToken, null).isActive()).isTrue();
+
+    when(revocationService.isRevoked(anyString())).thenReturn(true);
+
+    assertThat(introspectionService.introspect(accessToken, null).isActive()).isFalse();
+  }
+
+  @Test
+  void resolvesRefreshTokenMissesOfABatchWithOneLookup() {
+    saveRefreshToken("refresh-a");
+    saveRefreshToken("refresh-b");
+
+    List<IntrospectionResponse> responses = introspectionService
+        .introspectAll(List.of("refresh-a", "unknown", "refresh-b", ""), null);
+
+    assertThat(responses).extracting(IntrospectionResponse::isActive)
+        .containsExactly(true, false, true, false);
+    assertThat(responses.get(0).getTokenType()).isEqualTo(AuthConstants.REFRESH_TOKEN_TYPE);
+    assertThat(responses.get(0).getUsername()).isEqualTo("alice");
+    verify(refreshTokenStore, times(1)).findAllByTokenHash(anyCollection());
+
+    introspectionService.introspectAll(List.of("refresh-a", "unknown", "refresh-b"), null);
+    verify(refreshTokenStore, times(1)).findAllByTokenHash(anyCollection());
+  }
+
+  @Test
+  void aRevokedRefreshTokenStaysActiveOnlyUntilItsShortTtl() {
+    saveRefreshToken("refresh-a");
+    assertThat(introspectionService.introspect("refresh-a", null).isActive()).isTrue();
+
+    refreshTokenStore.revokeByTokenHash(TokenDigests.sha256("refresh-a"));
+    assertThat(introspectionService.introspect("refresh-a", null).isActive()).isTrue();
+
+    clock.advance(Duration.ofMillis(REFRESH_TOKEN_TTL_MS));
+    assertThat(introspectionService.introspect("refresh-a", null).isActive()).isFalse();
+  }
+
+  @Test
+  void clearingSessionsEvictsOnlyThatUsersRefreshTokens() {
+    UUID otherUserId = UUID.randomUUID();
+    saveRefreshToken("refresh-a");
+    saveRefreshToken("refresh-other", otherUserId);
+    introspectionService.introspectAll(List.of("refresh-a", "refresh-other"), null);
+
+    refreshTokenStore.revokeAllByUserId(userId);
+    refreshTokenStore.revokeAllByUserId(otherUserId);
+    introspectionService.onInvalidation(InvalidationEvent.sessionsCleared(userId));
+
+    assertThat(introspectionService.introspectAll(List.of("refresh-a", "refresh-other"), null))
+        .extracting(IntrospectionResponse::isActive).containsExactly(false, true);
+  }
+
+  @Test
+  void maxAgeNeverOutlivesTheCachedResult() {
+    saveRefreshToken("refresh-a");
+
+    IntrospectionResponse response = introspectionService.introspect("refresh-a", null);
+
+    assertThat(introspectionService.getMaxAgeSeconds(response)).isEqualTo(5);
+    assertThat(introspectionService.getMaxAgeSeconds(new IntrospectionResponse())).isEqualTo(30);
+  }
+
+  private void saveRefreshToken(String token) {
+    saveRefreshToken(token, userId);
+  }
+
+  private void saveRefreshToken(String token, UUID owner) {
+    Instant now = clock.instant();
+    refreshTokenStore.save(new RefreshTokenRecord(TokenDigests.sha256(token), UUID.randomUUID(),
+        1L, owner, "alice", "alice@identityx.dev", "device",
+        LocalDateTime.ofInstant(now, ZoneOffset.UTC), now, now.plusSeconds(3_600)), 5);
+  }
+}
@@ -0,0 +1,56 @@
+package com.identityx.api.auth.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InMemoryRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+  private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+  private final AtomicLong appUserIds = new AtomicLong();
+
+  @TempDir
+  Path tempDir;
+
+  @Override
+  protected IRefreshTokenStore createStore() {
+    return new InMemoryRefreshTokenStore(4, "", CLOCK);
+  }
+
+  @Override
+  protected TestUser createUser() {
+    long id = appUserIds.incrementAndGet();
+    return new TestUser(id, UUID.randomUUID(), "user" + id, "user" + id + "@identityx.dev");
+  }
+
+  @Test
+  void snapshotSurvivesRestart() {
+    Path snapshot = tempDir.resolve("refresh-tokens.bin");
+    InMemoryRefreshTokenStore original =
+        new InMemoryRefreshTokenStore(4, snapshot.toString(), CLOCK);
+    TestUser user = createUser();
+    RefreshTokenRecord live = newToken(user, "live", NOW.plus(1, ChronoUnit.DAYS), NOW);
+    original.save(newToken(user, "expired", NOW.minusSeconds(1), NOW.minusSeconds(10)), 5);
+    original.save(live, 5);
+    original.destroy();
+
+    InMemoryRefreshTokenStore restored =
+        new InMemoryRefreshTokenStore(8, snapshot.toString(), CLOCK);
+
+    assertThat(restored.size()).isEqualTo(1);
+    RefreshTokenRecord found =
+        restored.findByTokenHash(digest("live")).orElseThrow();
+    assertThat(found.sessionId()).isEqualTo(live.sessionId());
+    assertThat(found.username()).isEqualTo(user.username());
+    assertThat(found.createdAt()).isEqualTo(live.createdAt());
+    assertThat(found.expiryDate()).isEqualTo(live.expiryDate());
+    assertThat(restored.findByUserId(user.userId())).hasSize(1);
+  }
+}
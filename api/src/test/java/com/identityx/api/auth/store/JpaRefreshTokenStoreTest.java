@@ -0,0 +1,35 @@
+package com.identityx.api.auth.store;
+
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.identityx.api.appuser.model.AppUser;
+import com.identityx.api.appuser.repo.AppUserRepository;
+
+@SpringBootTest(properties = "jwt.refresh.store.type=jpa")
+class JpaRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+  @Autowired
+  private IRefreshTokenStore refreshTokenStore;
+
+  @Autowired
+  private AppUserRepository appUserRepository;
+
+  @Override
+  protected IRefreshTokenStore createStore() {
+    return refreshTokenStore;
+  }
+
+  @Override
+  protected TestUser createUser() {
+    String suffix = UUID.randomUUID().toString();
+    AppUser appUser = new AppUser();
+    appUser.setUserId(UUID.randomUUID());
+    appUser.setFirstName("Store");
+    appUser.setUsername("store-" + suffix);
+    appUser.setEmail("store-" + suffix + "@identityx.dev");
+    appUser.setPassword("{noop}password");
+    AppUser saved = appUserRepository.save(appUser);
+    return new TestUser(saved.getId(), saved.getUserId(), saved.getUsername(), saved.getEmail());
+  }
+}
@@ -0,0 +1,219 @@
+package com.identityx.api.auth.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.identityx.api.auth.security.TokenDigests;
+
+/**
+ * Behaviour every {@link IRefreshTokenStore} backend must share. Subclasses supply the store and
+ * a way to create users the store can reference.
+ */
+abstract class RefreshTokenStoreContractTest {
+
+  protected static final Instant NOW = Instant.parse("2030-01-01T00:00:00Z");
+
+  protected IRefreshTokenStore store;
+
+  // Token values are namespaced per test; backends may share state across tests.
+  private String tokenPrefix;
+
+  protected abstract IRefreshTokenStore createStore();
+
+  protected abstract TestUser createUser();
+
+  protected record TestUser(Long appUserId, UUID userId, String username, String email) {
+  }
+
+  @BeforeEach
+  void setUpStore() {
+    store = createStore();
+    tokenPrefix = UUID.randomUUID() + "-";
+  }
+
+  @Test
+  void savedTokenIsFoundByItsDigest() {
+    TestUser user = createUser();
+    RefreshTokenRecord token = newToken(user, "token-a", NOW.plus(1, ChronoUnit.DAYS), NOW);
+
+    store.save(token, 5);
+
+    RefreshTokenRecord found = store.findByTokenHash(digest("token-a")).orElseThrow();
+    assertThat(found.sessionId()).isEqualTo(token.sessionId());
+    assertThat(found.appUserId()).isEqualTo(user.appUserId());
+    assertThat(found.userId()).isEqualTo(user.userId());
+    assertThat(found.username()).isEqualTo(user.username());
+    assertThat(found.email()).isEqualTo(user.email());
+    assertThat(found.deviceLabel()).isEqualTo("device");
+    assertThat(found.expiryDate()).isEqualTo(token.expiryDate());
+    assertThat(store.findByTokenHash(digest("unknown"))).isEmpty();
+  }
+
+  @Test
+  void sessionCapEvictsOldestSessions() {
+    TestUser user = createUser();
+    for (int i = 0; i < 4; i++) {
+      store.save(newToken(user, "token-" + i, NOW.plus(1, ChronoUnit.DAYS), NOW.plusSeconds(i)),
+          3);
+    }
+
+    assertThat(store.findByTokenHash(digest("token-0"))).isEmpty();
+    assertThat(store.findByUserId(user.userId())).hasSize(3);
+    for (int i = 1; i < 4; i++) {
+      assertThat(store.findByTokenHash(digest("token-" + i))).isPresent();
+    }
+  }
+
+  @Test
+  void sessionCapIsPerUser() {
+    TestUser first = createUser();
+    TestUser second = createUser();
+
+    store.save(newToken(first, "first-token", NOW.plus(1, ChronoUnit.DAYS), NOW), 1);
+    store.save(newToken(second, "second-token", NOW.plus(1, ChronoUnit.DAYS), NOW), 1);
+
+    assertThat(store.findByTokenHash(digest("first-token"))).isPresent();
+    assertThat(store.findByTokenHash(digest("second-token"))).isPresent();
+  }
+
+  @Test
+  void rotateReplacesDigestOnlyOnce() {
+    TestUser user = createUser();
+    RefreshTokenRecord token = newToken(user, "old-token", NOW.minusSeconds(1), NOW);
+    store.save(token, 5);
+    Instant newExpiry = NOW.plus(1, ChronoUnit.DAYS);
+    Instant later = NOW.plusSeconds(30);
+
+    boolean rotated = store.rotate(digest("old-token"),
+        digest("new-token"), newExpiry, later);
+    boolean rotatedAgain = store.rotate(digest("old-token"),
+        digest("other-token"), newExpiry, later);
+
+    assertThat(rotated).isTrue();
+    assertThat(rotatedAgain).isFalse();
+    assertThat(store.findByTokenHash(digest("old-token"))).isEmpty();
+    assertThat(store.findByTokenHash(digest("other-token"))).isEmpty();
+    RefreshTokenRecord found =
+        store.findByTokenHash(digest("new-token")).orElseThrow();
+    assertThat(found.sessionId()).isEqualTo(token.sessionId());
+    assertThat(found.expiryDate()).isEqualTo(newExpiry);
+    assertThat(found.lastUsedAt()).isEqualTo(later);
+    assertThat(store.findByUserId(user.userId())).hasSize(1);
+  }
+
+  @Test
+  void touchUpdatesLastUsedAt() {
+    TestUser user = createUser();
+    store.save(newToken(user, "token", NOW.plus(1, ChronoUnit.DAYS), NOW), 5);
+
+    store.touch(digest("token"), NOW.plusSeconds(60));
+
+    assertThat(store.findByTokenHash(digest("token")).orElseThrow().lastUsedAt())
+        .isEqualTo(NOW.plusSeconds(60));
+  }
+
+  @Test
+  void sessionsAreListedMostRecentlyUsedFirst() {
+    TestUser user = createUser();
+    RefreshTokenRecord older = newToken(user, "older", NOW.plus(1, ChronoUnit.DAYS), NOW);
+    RefreshTokenRecord newer =
+        newToken(user, "newer", NOW.plus(1, ChronoUnit.DAYS), NOW.plusSeconds(10));
+    store.save(older, 5);
+    store.save(newer, 5);
+    store.save(newToken(createUser(), "someone-else", NOW.plus(1, ChronoUnit.DAYS), NOW), 5);
+
+    List<RefreshTokenRecord> sessions = store.findByUserId(user.userId());
+
+    assertThat(sessions).extracting(RefreshTokenRecord::sessionId)
+        .containsExactly(newer.sessionId(), older.sessionId());
+    assertThat(store.findByUserId(UUID.randomUUID())).isEmpty();
+  }
+
+  @Test
+  void revokeSessionRemovesOnlyThatSessionOfThatUser() {
+    TestUser user = createUser();
+    TestUser otherUser = createUser();
+    RefreshTokenRecord kept = newToken(user, "kept", NOW.plus(1, ChronoUnit.DAYS), NOW);
+    RefreshTokenRecord revoked = newToken(user, "revoked", NOW.plus(1, ChronoUnit.DAYS), NOW);
+    store.save(kept, 5);
+    store.save(revoked, 5);
+
+    assertThat(store.revokeSession(otherUser.userId(), revoked.sessionId())).isFalse();
+    assertThat(store.revokeSession(user.userId(), revoked.sessionId())).isTrue();
+    assertThat(store.revokeSession(user.userId(), revoked.sessionId())).isFalse();
+
+    assertThat(store.findByTokenHash(digest("revoked"))).isEmpty();
+    assertThat(store.findByTokenHash(digest("kept"))).isPresent();
+    assertThat(store.findByUserId(user.userId())).extracting(RefreshTokenRecord::sessionId)
+        .containsExactly(kept.sessionId());
+  }
+
+  @Test
+  void revokeByTokenHashRemovesSession() {
+    TestUser user = createUser();
+    store.save(newToken(user, "token", NOW.plus(1, ChronoUnit.DAYS), NOW), 5);
+
+    store.revokeByTokenHash(digest("token"));
+
+    assertThat(store.findByTokenHash(digest("token"))).isEmpty();
+    assertThat(store.findByUserId(user.userId())).isEmpty();
+  }
+
+  @Test
+  void revokeAllRemovesEverySessionOfTheUser() {
+    TestUser user = createUser();
+    TestUser otherUser = createUser();
+    store.save(newToken(user, "first", NOW.plus(1, ChronoUnit.DAYS), NOW), 5);
+    store.save(newToken(user, "second", NOW.plus(1, ChronoUnit.DAYS), NOW), 5);
+    store.save(newToken(otherUser, "other", NOW.plus(1, ChronoUnit.DAYS), NOW), 5);
+
+    store.revokeAllByUserId(user.userId());
+
+    assertThat(store.findByUserId(user.userId())).isEmpty();
+    assertThat(store.findByTokenHash(digest("first"))).isEmpty();
+    assertThat(store.findByTokenHash(digest("other"))).isPresent();
+  }
+
+  @Test
+  void purgeRemovesOnlyExpiredTokens() {
+    TestUser user = createUser();
+    store.save(newToken(user, "expired", NOW.minusSeconds(1), NOW.minusSeconds(10)), 5);
+    store.save(newToken(user, "live", NOW.plus(1, ChronoUnit.DAYS), NOW), 5);
+
+    int purged = store.purgeExpired(NOW);
+
+    assertThat(purged).isGreaterThanOrEqualTo(1);
+    assertThat(store.findByTokenHash(digest("expired"))).isEmpty();
+    assertThat(store.findByTokenHash(digest("live"))).isPresent();
+    assertThat(store.findByUserId(user.userId())).hasSize(1);
+  }
+
+  @Test
+  void purgeKeepsRotatedTokens() {
+    TestUser user = createUser();
+    store.save(newToken(user, "old", NOW.minusSeconds(1), NOW.minusSeconds(10)), 5);
+    store.rotate(digest("old"), digest("new"),
+        NOW.plus(1, ChronoUnit.DAYS), NOW);
+
+    store.purgeExpired(NOW);
+
+    assertThat(store.findByTokenHash(digest("new"))).isPresent();
+  }
+
+  protected byte[] digest(String token) {
+    return TokenDigests.sha256(tokenPrefix + token);
+  }
+
+  protected RefreshTokenRecord newToken(TestUser user, String token, Instant expiryDate,
+      Instant lastUsedAt) {
+    return new RefreshTokenRecord(digest(token), UUID.randomUUID(),
+        user.appUserId(), user.userId(), user.username(), user.email(), "device",
+        LocalDateTime.ofInstant(lastUsedAt, ZoneOffset.UTC), lastUsedAt, expiryDate);
+  }
+}
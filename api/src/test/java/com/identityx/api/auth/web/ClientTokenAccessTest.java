@@ -0,0 +1,79 @@
+package com.identityx.api.auth.web;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import com.identityx.api.auth.security.IJwtTokenProvider;
+import com.identityx.api.config.SecurityConfig;
+
+/** Client_credentials tokens have no user behind them and must not reach user routes. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientTokenAccessTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private IJwtTokenProvider jwtTokenProvider;
+
+  private String bearer;
+
+  @BeforeEach
+  void issueClientToken() {
+    String token = jwtTokenProvider.generateClientToken("test-client", List.of("metrics.read"),
+        Instant.now().plusSeconds(300));
+    bearer = "Bearer " + token;
+  }
+
+  @Test
+  void clientTokenCannotListSessions() throws Exception {
+    mockMvc.perform(get("/api/auth/sessions").header(HttpHeaders.AUTHORIZATION, bearer))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void clientTokenCannotRevokeAllSessions() throws Exception {
+    mockMvc.perform(delete("/api/auth/sessions").header(HttpHeaders.AUTHORIZATION, bearer))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void clientTokenCannotReadCurrentUser() throws Exception {
+    mockMvc.perform(get("/api/user/me").header(HttpHeaders.AUTHORIZATION, bearer))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void introspectionNeedsTheIntrospectionScope() throws Exception {
+    mockMvc.perform(post(OAuth2Controller.INTROSPECT_PATH).header(HttpHeaders.AUTHORIZATION, bearer)
+        .contentType(MediaType.APPLICATION_FORM_URLENCODED).param("token", "unknown"))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void introspectionScopeAllowsIntrospection() throws Exception {
+    String token = jwtTokenProvider.generateClientToken("test-client",
+        List.of(SecurityConfig.INTROSPECTION_SCOPE), Instant.now().plusSeconds(300));
+    mockMvc.perform(post(OAuth2Controller.INTROSPECT_PATH)
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+        .contentType(MediaType.APPLICATION_FORM_URLENCODED).param("token", "unknown"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void missingTokenIsUnauthorized() throws Exception {
+    mockMvc.perform(get("/api/auth/sessions")).andExpect(status().isUnauthorized());
+  }
+}
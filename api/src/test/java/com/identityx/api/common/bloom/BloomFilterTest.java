@@ -0,0 +1,65 @@
+package com.identityx.api.common.bloom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  private static final int INSERTIONS = 10_000;
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  @Test
+  void neverForgetsAValue() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+    for (int i = 0; i < INSERTIONS; i++) {
+      filter.put("member-" + i);
+    }
+
+    for (int i = 0; i < INSERTIONS; i++) {
+      assertThat(filter.mightContain("member-" + i)).isTrue();
+    }
+  }
+
+  @Test
+  void falsePositiveRateStaysNearConfiguredProbabilityWhenFull() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+    for (int i = 0; i < INSERTIONS; i++) {
+      filter.put("member-" + i);
+    }
+
+    int probes = 100_000;
+    int falsePositives = 0;
+    for (int i = 0; i < probes; i++) {
+      if (filter.mightContain("other-" + i)) {
+        falsePositives++;
+      }
+    }
+    assertThat((double) falsePositives / probes).isLessThan(2 * FALSE_POSITIVE_PROBABILITY);
+  }
+
+  @Test
+  void emptyFilterContainsNothing() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+
+    assertThat(filter.mightContain("")).isFalse();
+    assertThat(filter.mightContain("member-0")).isFalse();
+  }
+
+  @Test
+  void sizesBitsAndHashFunctionsFromTheTargetRate() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+
+    // About 9.6 bits and 7 hash functions per value for 1%, rounded up to whole words.
+    assertThat(filter.bitCount()).isBetween(95_000L, 96_000L);
+    assertThat(filter.hashFunctions()).isEqualTo(7);
+  }
+
+  @Test
+  void rejectsProbabilitiesOutsideTheOpenUnitInterval() {
+    assertThatThrownBy(() -> new BloomFilter(INSERTIONS, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BloomFilter(INSERTIONS, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
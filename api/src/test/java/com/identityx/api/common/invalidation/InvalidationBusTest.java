@@ -0,0 +1,136 @@
+package com.identityx.api.common.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InvalidationBusTest {
+
+  private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+  private static final long MAX_REMOTE_TTL_MS = 3_600_000;
+
+  private final List<Object> published = new ArrayList<>();
+  private final RecordingTransport transport = new RecordingTransport();
+  private final InvalidationBus bus = new InvalidationBus(published::add, transport, "node-a", 2,
+      60_000, MAX_REMOTE_TTL_MS, Clock.fixed(NOW, ZoneOffset.UTC), new SimpleMeterRegistry());
+
+  @AfterEach
+  void clearTransaction() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void deliversLocallyAtOnceAndRemotelyOnFlush() {
+    InvalidationEvent event = InvalidationEvent.userChanged("alice");
+
+    bus.publish(event);
+
+    assertThat(published).containsExactly(event);
+    assertThat(transport.sent).isEmpty();
+    bus.flush();
+    assertThat(transport.sent).containsExactly(new InvalidationBatch("node-a", List.of(event)));
+  }
+
+  @Test
+  void coalescesRepeatsAndKeepsTheLatestExpiry() {
+    InvalidationEvent early = InvalidationEvent.tokenRevoked("jti-1", NOW.plusSeconds(60));
+    InvalidationEvent late = InvalidationEvent.tokenRevoked("jti-1", NOW.plusSeconds(120));
+
+    bus.publish(InvalidationEvent.userChanged("alice"));
+    bus.publish(InvalidationEvent.userChanged("alice"));
+    bus.publish(late);
+    bus.publish(early);
+    bus.flush();
+
+    assertThat(published).hasSize(4);
+    assertThat(sentEvents()).containsExactlyInAnyOrder(InvalidationEvent.userChanged("alice"),
+        late);
+  }
+
+  @Test
+  void splitsFlushesIntoBatchesOfTheMaximumSize() {
+    for (int i = 0; i < 5; i++) {
+      bus.publish(InvalidationEvent.userChanged("user" + i));
+    }
+
+    bus.flush();
+
+    assertThat(transport.sent).extracting(batch -> batch.events().size())
+        .containsExactlyInAnyOrder(2, 2, 1);
+    bus.flush();
+    assertThat(transport.sent).hasSize(3);
+  }
+
+  @Test
+  void waitsForTheTransactionToCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    InvalidationEvent event = InvalidationEvent.roleChanged(7L);
+
+    bus.publish(event);
+    bus.flush();
+
+    assertThat(published).isEmpty();
+    assertThat(transport.sent).isEmpty();
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    bus.flush();
+    assertThat(published).containsExactly(event);
+    assertThat(sentEvents()).containsExactly(event);
+  }
+
+  @Test
+  void republishesBatchesFromOtherNodesButNotItsOwn() {
+    InvalidationEvent event = InvalidationEvent.userChanged("alice");
+
+    transport.listener.accept(new InvalidationBatch("node-a", List.of(event)));
+    assertThat(published).isEmpty();
+
+    transport.listener.accept(new InvalidationBatch("node-b", List.of(event)));
+    assertThat(published).containsExactly(event);
+    bus.flush();
+    assertThat(transport.sent).isEmpty();
+  }
+
+  @Test
+  void capsExpiriesReceivedFromOtherNodes() {
+    InvalidationEvent shortLived = InvalidationEvent.tokenRevoked("jti-1", NOW.plusSeconds(60));
+    InvalidationEvent farFuture =
+        new InvalidationEvent(InvalidationType.TOKENS_REVOKED, "jti-2", Long.MAX_VALUE);
+
+    transport.listener.accept(new InvalidationBatch("node-b", List.of(shortLived, farFuture)));
+
+    assertThat(published).containsExactly(shortLived, new InvalidationEvent(
+        InvalidationType.TOKENS_REVOKED, "jti-2", NOW.toEpochMilli() + MAX_REMOTE_TTL_MS));
+  }
+
+  private List<InvalidationEvent> sentEvents() {
+    return transport.sent.stream().flatMap(batch -> batch.events().stream()).toList();
+  }
+
+  private static final class RecordingTransport implements IInvalidationTransport {
+
+    private final List<InvalidationBatch> sent = new ArrayList<>();
+    private Consumer<InvalidationBatch> listener;
+
+    @Override
+    public void send(InvalidationBatch batch) {
+      sent.add(batch);
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationBatch> listener) {
+      this.listener = listener;
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.identityx.api.common.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class InvalidationCodecTest {
+
+  private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+  private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+  private final InvalidationBatch batch = new InvalidationBatch("node-a", List.of(
+      InvalidationEvent.userChanged("alice"),
+      InvalidationEvent.tokenRevoked("jti-1", NOW.plusSeconds(360)),
+      InvalidationEvent.sessionsCleared(UUID.fromString("7f1c1a57-3a6b-4c33-9a43-0d1c2a4b5e6f")),
+      InvalidationEvent.roleChanged(7L)));
+
+  @Test
+  void roundTripsABatch() throws IOException {
+    InvalidationCodec codec = codecAt(NOW);
+
+    byte[] frame = codec.encode(batch);
+
+    assertThat(codec.decode(frame, 0, frame.length)).isEqualTo(batch);
+  }
+
+  @Test
+  void decodesAFrameInsideALargerBuffer() throws IOException {
+    byte[] frame = codecAt(NOW).encode(batch);
+    byte[] buffer = new byte[frame.length + 10];
+    System.arraycopy(frame, 0, buffer, 4, frame.length);
+
+    assertThat(codecAt(NOW).decode(buffer, 4, frame.length)).isEqualTo(batch);
+  }
+
+  @Test
+  void dropsFramesSignedWithAnotherKey() throws IOException {
+    byte[] otherKey = new byte[32];
+    otherKey[0] = 1;
+    InvalidationCodec stranger =
+        new InvalidationCodec(Base64.getEncoder().encodeToString(otherKey), clockAt(NOW), 30_000);
+
+    byte[] frame = stranger.encode(batch);
+
+    assertThat(codecAt(NOW).decode(frame, 0, frame.length)).isNull();
+  }
+
+  @Test
+  void dropsTamperedFrames() throws IOException {
+    byte[] frame = codecAt(NOW).encode(batch);
+    // Flip a bit in the last event's expiry.
+    frame[frame.length - 33] ^= 1;
+
+    assertThat(codecAt(NOW).decode(frame, 0, frame.length)).isNull();
+  }
+
+  @Test
+  void dropsTruncatedFrames() throws IOException {
+    byte[] frame = codecAt(NOW).encode(batch);
+
+    assertThat(codecAt(NOW).decode(frame, 0, frame.length - 1)).isNull();
+    assertThat(codecAt(NOW).decode(frame, 0, 16)).isNull();
+  }
+
+  @Test
+  void dropsFramesSentOutsideTheAgeWindow() throws IOException {
+    byte[] frame = codecAt(NOW).encode(batch);
+
+    assertThat(codecAt(NOW.plusSeconds(30)).decode(frame, 0, frame.length)).isEqualTo(batch);
+    assertThat(codecAt(NOW.plusSeconds(31)).decode(frame, 0, frame.length)).isNull();
+    assertThat(codecAt(NOW.minusSeconds(31)).decode(frame, 0, frame.length)).isNull();
+  }
+
+  @Test
+  void rejectsAMissingOrShortKey() {
+    assertThatThrownBy(() -> new InvalidationCodec("", clockAt(NOW), 30_000))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> new InvalidationCodec(
+        Base64.getEncoder().encodeToString(new byte[16]), clockAt(NOW), 30_000))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static InvalidationCodec codecAt(Instant now) {
+    return new InvalidationCodec(KEY, clockAt(now), 30_000);
+  }
+
+  private static Clock clockAt(Instant instant) {
+    return Clock.fixed(instant, ZoneOffset.UTC);
+  }
+}
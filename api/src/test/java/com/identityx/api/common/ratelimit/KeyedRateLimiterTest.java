@@ -0,0 +1,117 @@
+package com.identityx.api.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class KeyedRateLimiterTest {
+
+  private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+  @Test
+  void allowsABurstOfCapacityThenAsksToWait() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(3, HOUR_MS);
+
+    assertThat(limiter.tryAcquire("alice")).isZero();
+    assertThat(limiter.tryAcquire("alice")).isZero();
+    assertThat(limiter.tryAcquire("alice")).isZero();
+
+    // One token comes back every period / capacity.
+    assertThat(limiter.tryAcquire("alice")).isPositive()
+        .isLessThanOrEqualTo(TimeUnit.MINUTES.toNanos(20));
+  }
+
+  @Test
+  void keysHaveSeparateBuckets() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(1, HOUR_MS);
+
+    assertThat(limiter.tryAcquire("alice")).isZero();
+    assertThat(limiter.tryAcquire("bob")).isZero();
+    assertThat(limiter.tryAcquire("alice")).isPositive();
+    assertThat(limiter.size()).isEqualTo(2);
+  }
+
+  @Test
+  void waitTimeDoesNotTakeATokenOrCreateABucket() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(1, HOUR_MS);
+
+    assertThat(limiter.waitTime("alice")).isZero();
+    assertThat(limiter.size()).isZero();
+    assertThat(limiter.tryAcquire("alice")).isZero();
+    assertThat(limiter.waitTime("alice")).isPositive();
+    assertThat(limiter.waitTime("alice")).isPositive();
+  }
+
+  @Test
+  void evictIdleKeepsBucketsThatAreStillRefilling() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(2, HOUR_MS);
+    limiter.tryAcquire("alice");
+
+    limiter.evictIdle();
+
+    assertThat(limiter.size()).isEqualTo(1);
+  }
+
+  @Test
+  void evictIdleDropsFullBuckets() throws InterruptedException {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(1, 1);
+    limiter.tryAcquire("alice");
+    Thread.sleep(5);
+
+    limiter.evictIdle();
+
+    assertThat(limiter.size()).isZero();
+    assertThat(limiter.tryAcquire("alice")).isZero();
+  }
+
+  @Test
+  void concurrentCallersNeverGetMoreThanTheBurstWhileEvictionRuns() throws Exception {
+    int capacity = 100;
+    KeyedRateLimiter limiter = new KeyedRateLimiter(capacity, HOUR_MS);
+    AtomicInteger allowed = new AtomicInteger();
+    AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    try {
+      Future<?> evictor = executor.submit(() -> {
+        while (!done.get()) {
+          limiter.evictIdle();
+        }
+      });
+      List<Future<?>> callers = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        callers.add(executor.submit(() -> {
+          for (int i = 0; i < 1_000; i++) {
+            if (limiter.tryAcquire("shared") == 0) {
+              allowed.incrementAndGet();
+            }
+          }
+        }));
+      }
+      for (Future<?> caller : callers) {
+        caller.get(10, TimeUnit.SECONDS);
+      }
+      done.set(true);
+      evictor.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(allowed.get()).isEqualTo(capacity);
+  }
+
+  @Test
+  void rejectsNonPositiveSettings() {
+    assertThatThrownBy(() -> new KeyedRateLimiter(0, HOUR_MS))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new KeyedRateLimiter(1, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
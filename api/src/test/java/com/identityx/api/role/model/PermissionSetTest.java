@@ -0,0 +1,82 @@
+package com.identityx.api.role.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class PermissionSetTest {
+
+  @Test
+  void emptySetEncodesAsOneZeroByte() {
+    assertThat(PermissionSet.EMPTY.encode()).isEqualTo("AA");
+    assertThat(PermissionSet.decode("AA")).isEqualTo(PermissionSet.EMPTY);
+  }
+
+  @Test
+  void everySingleBitRoundTripsInTheShortestEncoding() {
+    for (int bit = 0; bit < Long.SIZE; bit++) {
+      PermissionSet set = new PermissionSet(1L << bit);
+      byte[] bytes = Base64.getUrlDecoder().decode(set.encode());
+
+      assertThat(bytes).hasSize(bit / 8 + 1);
+      assertThat(PermissionSet.decode(set.encode())).isEqualTo(set);
+    }
+  }
+
+  @Test
+  void bit63UsesAllEightBytesWithoutSignExtension() {
+    PermissionSet set = new PermissionSet(Long.MIN_VALUE);
+
+    assertThat(Base64.getUrlDecoder().decode(set.encode()))
+        .containsExactly(0x80, 0, 0, 0, 0, 0, 0, 0);
+    assertThat(PermissionSet.decode(set.encode()).bits()).isEqualTo(Long.MIN_VALUE);
+  }
+
+  @Test
+  void allBitsRoundTrip() {
+    PermissionSet set = new PermissionSet(-1L);
+
+    assertThat(PermissionSet.decode(set.encode())).isEqualTo(set);
+  }
+
+  @Test
+  void decodeRejectsABitBeyond63() {
+    // Bit 64 would need a ninth byte.
+    String nineBytes = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(new byte[] {1, 0, 0, 0, 0, 0, 0, 0, 0});
+
+    assertThatThrownBy(() -> PermissionSet.decode(nineBytes))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void decodeRejectsEmptyAndMalformedInput() {
+    assertThatThrownBy(() -> PermissionSet.decode(""))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PermissionSet.decode("not base64!"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void unknownBitsSurviveARoundTripButMapToNoPermission() {
+    PermissionSet set = new PermissionSet(Permission.USER_READ.mask() | 1L << 40);
+
+    PermissionSet decoded = PermissionSet.decode(set.encode());
+
+    assertThat(decoded.bits()).isEqualTo(set.bits());
+    assertThat(decoded.toPermissions()).containsExactly(Permission.USER_READ);
+  }
+
+  @Test
+  void containsAndUnionWorkOnTheBits() {
+    PermissionSet readers = PermissionSet.of(Permission.USER_READ, Permission.ROLE_READ);
+    PermissionSet writers = PermissionSet.of(Permission.USER_WRITE);
+
+    PermissionSet union = readers.union(writers);
+
+    assertThat(union.contains(Permission.USER_WRITE)).isTrue();
+    assertThat(union.contains(Permission.ROLE_WRITE)).isFalse();
+    assertThat(readers.union(PermissionSet.EMPTY)).isSameAs(readers);
+  }
+}